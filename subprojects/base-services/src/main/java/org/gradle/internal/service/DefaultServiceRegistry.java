@@ -22,6 +22,7 @@
 
 import java.io.Closeable;
 import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
@@ -34,12 +35,13 @@
 import java.util.Collections;
 import java.util.Formatter;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -75,6 +77,24 @@ private enum State {INIT, STARTED, CLOSED}
     private final static ServiceRegistry[] NO_PARENTS = new ServiceRegistry[0];
     private final static Service[] NO_DEPENDENTS = new Service[0];
     private final static Object[] NO_PARAMS = new Object[0];
+    private final static ClassCache<Class<?>[]> TYPE_HIERARCHIES = new ClassCache<Class<?>[]>() {
+        @Override
+        protected Class<?>[] create(Class<?> serviceType) {
+            Set<Class<?>> seen = new LinkedHashSet<Class<?>>();
+            collectTypeHierarchy(serviceType, seen);
+            return seen.toArray(new Class<?>[0]);
+        }
+    };
+    private final static ClassCache<Constructor<?>> CONSTRUCTORS = new ClassCache<Constructor<?>>() {
+        @Override
+        protected Constructor<?> create(Class<?> serviceType) {
+            Constructor<?> match = InjectUtil.selectConstructor(serviceType);
+            if (InjectUtil.isPackagePrivate(match.getModifiers()) || Modifier.isPrivate(match.getModifiers())) {
+                match.setAccessible(true);
+            }
+            return match;
+        }
+    };
 
     private final OwnServices ownServices;
     private final ServiceProvider allServices;
@@ -270,9 +290,7 @@ private void serviceRequested() {
     }
 
     private void noLongerMutable() {
-        if (state.compareAndSet(State.INIT, State.STARTED)) {
-            ownServices.noLongerMutable();
-        }
+        state.compareAndSet(State.INIT, State.STARTED);
     }
 
     public boolean isClosed() {
@@ -376,7 +394,6 @@ public <T> T newInstance(Class<T> type) {
     private class OwnServices implements ServiceProvider {
         private final Map<Class<?>, List<ServiceProvider>> providersByType = new HashMap<Class<?>, List<ServiceProvider>>(16, 0.5f);
         private final CompositeStoppable stoppable = CompositeStoppable.stoppable();
-        private ProviderAnalyser analyser = new ProviderAnalyser();
 
         public OwnServices() {
             providersByType.put(ServiceRegistry.class, Collections.<ServiceProvider>singletonList(new ThisAsService()));
@@ -482,48 +499,71 @@ public void add(ServiceProvider serviceProvider) {
             if (!(serviceProvider instanceof SingletonService)) {
                 throw new UnsupportedOperationException("Unsupported service provider type: " + serviceProvider);
             }
+            Class<?>[] serviceTypes = typeHierarchyOf(((SingletonService) serviceProvider).serviceClass);
+            for (Class<?> type : serviceTypes) {
+                if (type.equals(ServiceRegistry.class)) {
+                    // Disallow custom services of type ServiceRegistry, as these are automatically provided
+                    throw new IllegalArgumentException("Cannot define a service of type ServiceRegistry: " + serviceProvider);
+                }
+            }
             stoppable.add(serviceProvider);
-            analyser.addProviderForClassHierarchy(((SingletonService) serviceProvider).serviceClass, serviceProvider);
+            for (Class<?> type : serviceTypes) {
+                putServiceType(type, serviceProvider);
+            }
         }
 
-        public void noLongerMutable() {
-            analyser = null;
+        private void putServiceType(Class<?> type, ServiceProvider serviceProvider) {
+            List<ServiceProvider> serviceProviders = providersByType.get(type);
+            if (serviceProviders == null) {
+                serviceProviders = new ArrayList<ServiceProvider>(2);
+                providersByType.put(type, serviceProviders);
+            }
+            serviceProviders.add(serviceProvider);
         }
+    }
 
-        private class ProviderAnalyser {
-            private final Set<Class<?>> seen = new HashSet<Class<?>>(4, 0.5f);
+    /**
+     * Returns the types that a service of the given type can be located by. These are the same for every registry, so they are calculated once per type.
+     */
+    private static Class<?>[] typeHierarchyOf(Class<?> serviceType) {
+        return TYPE_HIERARCHIES.get(serviceType);
+    }
 
-            public void addProviderForClassHierarchy(Class<?> serviceType, ServiceProvider serviceProvider) {
-                analyseType(serviceType, serviceProvider);
-                seen.clear();
+    private static void collectTypeHierarchy(Class<?> type, Set<Class<?>> seen) {
+        if (type == null || type == Object.class) {
+            return;
+        }
+        if (seen.add(type)) {
+            collectTypeHierarchy(type.getSuperclass(), seen);
+            for (Class<?> iface : type.getInterfaces()) {
+                collectTypeHierarchy(iface, seen);
             }
+        }
+    }
 
-            private void analyseType(Class<?> type, ServiceProvider serviceProvider) {
-                if (type == null || type == Object.class) {
-                    return;
-                }
-                if (seen.add(type)) {
-                    if (type.equals(ServiceRegistry.class)) {
-                        // Disallow custom services of type ServiceRegistry, as these are automatically provided
-                        throw new IllegalArgumentException("Cannot define a service of type ServiceRegistry: " + serviceProvider);
-                    }
-                    putServiceType(type, serviceProvider);
-                    analyseType(type.getSuperclass(), serviceProvider);
-                    for (Class<?> iface : type.getInterfaces()) {
-                        analyseType(iface, serviceProvider);
-                    }
+    /**
+     * Caches a value calculated from a class, without preventing the class from being unloaded. Classes are referenced weakly and values softly,
+     * as the values refer back to the class they were calculated from.
+     */
+    private static abstract class ClassCache<T> {
+        private final Map<Class<?>, SoftReference<T>> values = new WeakHashMap<Class<?>, SoftReference<T>>();
+
+        public T get(Class<?> type) {
+            synchronized (values) {
+                SoftReference<T> reference = values.get(type);
+                T value = reference == null ? null : reference.get();
+                if (value != null) {
+                    return value;
                 }
             }
-
-            private void putServiceType(Class<?> type, ServiceProvider serviceProvider) {
-                List<ServiceProvider> serviceProviders = providersByType.get(type);
-                if (serviceProviders == null) {
-                    serviceProviders = new ArrayList<ServiceProvider>(2);
-                    providersByType.put(type, serviceProviders);
-                }
-                serviceProviders.add(serviceProvider);
+            T value = create(type);
+            synchronized (values) {
+                values.put(type, new SoftReference<T>(value));
             }
+            return value;
         }
+
+        protected abstract T create(Class<?> type);
     }
 
     private static Class<?> unwrap(Type type) {
@@ -891,11 +931,11 @@ private ConstructorService(DefaultServiceRegistry owner, Class<?> serviceType) {
             if (serviceType.isInterface()) {
                 throw new ServiceValidationException("Cannot register an interface for construction.");
             }
-            Constructor<?> match = InjectUtil.selectConstructor(serviceType);
-            if (InjectUtil.isPackagePrivate(match.getModifiers()) || Modifier.isPrivate(match.getModifiers())) {
-                match.setAccessible(true);
-            }
-            this.constructor = match;
+            this.constructor = constructorOf(serviceType);
+        }
+
+        private static Constructor<?> constructorOf(Class<?> serviceType) {
+            return CONSTRUCTORS.get(serviceType);
         }
 
         @Override
@@ -32,8 +32,12 @@ class MethodHandleBasedServiceMethod extends AbstractServiceMethod {
 
     @Override
     public Object invoke(Object target, Object... args) {
+        // Pass the target as the first argument rather than binding the method handle to it, which creates a new method handle for every call
+        Object[] arguments = new Object[args.length + 1];
+        arguments[0] = target;
+        System.arraycopy(args, 0, arguments, 1, args.length);
         try {
-            return method.bindTo(target).invokeWithArguments(args);
+            return method.invokeWithArguments(arguments);
         } catch (Throwable e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
@@ -33,6 +33,22 @@ class AccessModifierDefaultServiceRegistryTest extends Specification {
         registry.get(ModifierStubs.PackagePrivateConstructor) instanceof ModifierStubs.PackagePrivateConstructor
     }
 
+    def "can add type that has package private constructor to multiple registries"() {
+        when:
+        def registries = (1..2).collect {
+            def registry = new DefaultServiceRegistry()
+            registry.register {
+                it.add(String, "Potato")
+                it.add(ModifierStubs.PackagePrivateConstructor)
+            }
+            registry
+        }
+
+        then:
+        registries.every { it.get(ModifierStubs.PackagePrivateConstructor) instanceof ModifierStubs.PackagePrivateConstructor }
+        registries[0].get(ModifierStubs.PackagePrivateConstructor) != registries[1].get(ModifierStubs.PackagePrivateConstructor)
+    }
+
     def "fails to register that has a package private constructor and a private constructor"() {
         when:
         def registry = new DefaultServiceRegistry()
@@ -34,6 +34,7 @@
  * Setters are expected to be called in the following order:
  * <ul>
  * <li>setProfilingStarted</li>
+ * <li>setRequestSent</li>
  * <li>setBuildStarted</li>
  * <li>setSettingsEvaluated</li>
  * <li>setProjectsLoaded</li>
@@ -49,6 +50,7 @@ public class BuildProfile {
     private final Map<String, ContinuousOperation> dependencySets = new LinkedHashMap<String, ContinuousOperation>();
     private final Map<String, FragmentedOperation> transformations = Maps.newLinkedHashMap();
     private long profilingStarted;
+    private long requestSent;
     private long buildStarted;
     private long settingsEvaluated;
     private long projectsLoaded;
@@ -159,6 +161,13 @@ public void setProfilingStarted(long profilingStarted) {
         this.profilingStarted = profilingStarted;
     }
 
+    /**
+     * Should be set with the time that the client sent the build request to the process running the build, when these are different processes.
+     */
+    public void setRequestSent(long requestSent) {
+        this.requestSent = requestSent;
+    }
+
     /**
      * Should be set with a timestamp from a {@link org.gradle.BuildListener#buildStarted}
      * callback.
@@ -206,6 +215,27 @@ public long getElapsedStartup() {
         return buildStarted - profilingStarted;
     }
 
+    /**
+     * Returns true when the build request was sent by a separate client process, so that the startup time can be split into client and build process startup.
+     */
+    public boolean hasClientStartup() {
+        return requestSent > profilingStarted && requestSent <= buildStarted;
+    }
+
+    /**
+     * Get the elapsed time (in mSec) between the start of profiling and the time that the client sent the build request.
+     */
+    public long getElapsedClientStartup() {
+        return requestSent - profilingStarted;
+    }
+
+    /**
+     * Get the elapsed time (in mSec) between the time that the client sent the build request and the buildStarted event.
+     */
+    public long getElapsedBuildProcessStartup() {
+        return buildStarted - requestSent;
+    }
+
     /**
      * Get the total elapsed time (in mSec) between the start of profiling and the buildFinished event.
      */
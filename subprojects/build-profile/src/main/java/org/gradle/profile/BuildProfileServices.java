@@ -17,6 +17,7 @@
 package org.gradle.profile;
 
 import org.gradle.api.internal.BuildDefinition;
+import org.gradle.initialization.BuildRequestMetaData;
 import org.gradle.internal.buildevents.BuildStartedTime;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.internal.logging.text.StyledTextOutputFactory;
@@ -47,8 +48,8 @@ public ReportGeneratingProfileListener createReportGeneratingProfileListener(Sty
                 return new ReportGeneratingProfileListener(styledTextOutputFactory);
             }
 
-            public ProfileEventAdapter createProfileEventAdapter(BuildStartedTime buildStartedTime, Clock clock, ListenerManager listenerManager) {
-                return new ProfileEventAdapter(buildStartedTime, clock, listenerManager.getBroadcaster(ProfileListener.class));
+            public ProfileEventAdapter createProfileEventAdapter(BuildStartedTime buildStartedTime, BuildRequestMetaData buildRequestMetaData, Clock clock, ListenerManager listenerManager) {
+                return new ProfileEventAdapter(buildStartedTime, buildRequestMetaData, clock, listenerManager.getBroadcaster(ProfileListener.class));
             }
         });
     }
@@ -29,6 +29,7 @@
 import org.gradle.api.tasks.TaskState;
 import org.gradle.execution.taskgraph.TaskListenerInternal;
 import org.gradle.initialization.BuildCompletionListener;
+import org.gradle.initialization.BuildRequestMetaData;
 import org.gradle.internal.InternalBuildListener;
 import org.gradle.internal.buildevents.BuildStartedTime;
 import org.gradle.internal.time.Clock;
@@ -38,13 +39,15 @@
  */
 public class ProfileEventAdapter implements InternalBuildListener, ProjectEvaluationListener, TaskListenerInternal, DependencyResolutionListener, BuildCompletionListener, ArtifactTransformListener {
     private final BuildStartedTime buildStartedTime;
+    private final BuildRequestMetaData buildRequestMetaData;
     private final Clock clock;
     private final ProfileListener listener;
     private final ThreadLocal<ContinuousOperation> currentTransformation = new ThreadLocal<ContinuousOperation>();
     private BuildProfile buildProfile;
 
-    public ProfileEventAdapter(BuildStartedTime buildStartedTime, Clock clock, ProfileListener listener) {
+    public ProfileEventAdapter(BuildStartedTime buildStartedTime, BuildRequestMetaData buildRequestMetaData, Clock clock, ProfileListener listener) {
         this.buildStartedTime = buildStartedTime;
+        this.buildRequestMetaData = buildRequestMetaData;
         this.clock = clock;
         this.listener = listener;
     }
@@ -57,6 +60,7 @@ public void buildStarted(Gradle gradle) {
         buildProfile = new BuildProfile(gradle.getStartParameter());
         buildProfile.setBuildStarted(now);
         buildProfile.setProfilingStarted(buildStartedTime.getStartTime());
+        buildProfile.setRequestSent(buildRequestMetaData.getRequestSentTime());
     }
 
     @Override
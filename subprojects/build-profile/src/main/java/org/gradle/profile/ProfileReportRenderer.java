@@ -90,6 +90,16 @@ public void render(BuildProfile model, SimpleHtmlWriter htmlWriter) throws IOExc
                                     htmlWriter.startElement("td").characters("Startup").endElement();
                                     htmlWriter.startElement("td").attribute("class", "numeric").characters(TimeFormatting.formatDurationVeryTerse(model.getElapsedStartup())).endElement();
                                 htmlWriter.endElement();
+                                if (model.hasClientStartup()) {
+                                    htmlWriter.startElement("tr");
+                                        htmlWriter.startElement("td").characters("Client Startup").endElement();
+                                        htmlWriter.startElement("td").attribute("class", "numeric").characters(TimeFormatting.formatDurationVeryTerse(model.getElapsedClientStartup())).endElement();
+                                    htmlWriter.endElement();
+                                    htmlWriter.startElement("tr");
+                                        htmlWriter.startElement("td").characters("Daemon Startup").endElement();
+                                        htmlWriter.startElement("td").attribute("class", "numeric").characters(TimeFormatting.formatDurationVeryTerse(model.getElapsedBuildProcessStartup())).endElement();
+                                    htmlWriter.endElement();
+                                }
                                 htmlWriter.startElement("tr");
                                     htmlWriter.startElement("td").characters("Settings and buildSrc").endElement();
                                     htmlWriter.startElement("td").attribute("class", "numeric").characters(TimeFormatting.formatDurationVeryTerse(model.getElapsedSettings())).endElement();
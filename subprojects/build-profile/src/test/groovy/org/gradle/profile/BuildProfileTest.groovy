@@ -62,6 +62,29 @@ class BuildProfileTest extends Specification {
         profile.projects == [profile.getProjectProfile("a"), profile.getProjectProfile("d"), profile.getProjectProfile("b"), profile.getProjectProfile("c")]
     }
 
+    def "splits startup into client and build process startup when request is sent by a client"() {
+        given:
+        profile.profilingStarted = 100
+        profile.requestSent = 400
+        profile.buildStarted = 500
+
+        expect:
+        profile.hasClientStartup()
+        profile.elapsedStartup == 400
+        profile.elapsedClientStartup == 300
+        profile.elapsedBuildProcessStartup == 100
+    }
+
+    def "does not split startup when build runs in client process"() {
+        given:
+        profile.profilingStarted = 100
+        profile.requestSent = 100
+        profile.buildStarted = 500
+
+        expect:
+        !profile.hasClientStartup()
+    }
+
     def "contains build description"() {
         given:
         def param = new StartParameter()
@@ -28,6 +28,7 @@ import org.gradle.cache.internal.filelock.LockOptionsBuilder
 import org.gradle.configurationcache.extensions.unsafeLazy
 import org.gradle.configurationcache.initialization.ConfigurationCacheStartParameter
 import org.gradle.internal.Factory
+import org.gradle.internal.concurrent.ExecutorFactory
 import org.gradle.internal.concurrent.Stoppable
 import org.gradle.internal.file.FileAccessTimeJournal
 import org.gradle.internal.file.impl.SingleDepthFileAccessTracker
@@ -43,7 +44,8 @@ class ConfigurationCacheRepository(
     private val cacheCleanupFactory: CleanupActionFactory,
     private val fileAccessTimeJournal: FileAccessTimeJournal,
     private val startParameter: ConfigurationCacheStartParameter,
-    private val fileSystem: FileSystem
+    private val fileSystem: FileSystem,
+    private val executorFactory: ExecutorFactory
 ) : Stoppable {
 
     fun useForFingerprintCheck(cacheKey: String, check: (File) -> String?): CheckedFingerprint =
@@ -182,7 +184,8 @@ class ConfigurationCacheRepository(
                 LeastRecentlyUsedCacheCleanup(
                     SingleDepthFilesFinder(cleanupDepth),
                     fileAccessTimeJournal,
-                    cleanupMaxAgeDays
+                    cleanupMaxAgeDays,
+                    executorFactory
                 )
             )
         )
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.execution
+
+import org.gradle.configuration.project.ConfigureProjectBuildOperationType
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.integtests.fixtures.BuildOperationsFixture
+
+class ParallelProjectConfigurationIntegrationTest extends AbstractIntegrationSpec {
+
+    def operations = new BuildOperationsFixture(executer, temporaryFolder)
+
+    def setup() {
+        settingsFile << "include 'a', 'b', 'c', 'c:d'"
+        buildFile << """
+            allprojects {
+                task foo {
+                    doLast {
+                        println "foo in \${project.path}"
+                    }
+                }
+            }
+        """
+        file("a/build.gradle") << "ext.value = 'a'"
+        file("b/build.gradle") << """
+            evaluationDependsOn(':a')
+            assert project(':a').value == 'a'
+        """
+        file("c/d/build.gradle") << "assert project(':c').state.executed"
+    }
+
+    def "configures the projects of a hierarchy in parallel"() {
+        when:
+        run("foo", "--parallel", "-D${TaskPathProjectEvaluator.PARALLEL_CONFIGURATION_PROPERTY}=true")
+
+        then:
+        assertAllProjectsConfiguredUnderSameParent()
+        output.contains("foo in :c:d")
+    }
+
+    def "configures the projects of a hierarchy one after another with configure on demand"() {
+        when:
+        run("foo", "--parallel", "--configure-on-demand", "-D${TaskPathProjectEvaluator.PARALLEL_CONFIGURATION_PROPERTY}=true")
+
+        then:
+        assertAllProjectsConfiguredUnderSameParent()
+        output.contains("foo in :c:d")
+    }
+
+    private void assertAllProjectsConfiguredUnderSameParent() {
+        def configured = operations.all(ConfigureProjectBuildOperationType)
+        assert configured*.details.projectPath as Set == [':', ':a', ':b', ':c', ':c:d'] as Set
+        // No build operation is added around the configuration of each project. Project ':a' may be configured by ':b' instead
+        assert configured.findAll { it.details.projectPath in [':b', ':c', ':c:d'] }*.parentId.unique().size() == 1
+    }
+}
@@ -628,6 +628,14 @@ public void removePending(String name) {
 
         @Override
         public void removePending(ProviderInternal<? extends T> provider) {
+            // Named providers are indexed by their name, so avoid searching all pending providers
+            if (provider instanceof Named) {
+                String name = ((Named) provider).getName();
+                if (provider.equals(pendingMap.get(name))) {
+                    pendingMap.remove(name);
+                    return;
+                }
+            }
             pendingMap.values().remove(provider);
         }
 
@@ -29,6 +29,7 @@
 
 import java.io.File;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
 import static org.gradle.internal.serialize.BaseSerializerFactory.FILE_SERIALIZER;
@@ -41,6 +42,12 @@ public class DefaultFileAccessTimeJournal implements FileAccessTimeJournal, Stop
     public static final String FILE_ACCESS_PROPERTIES_FILE_NAME = FILE_ACCESS_CACHE_NAME + ".properties";
     public static final String INCEPTION_TIMESTAMP_KEY = "inceptionTimestamp";
 
+    /**
+     * Access times are used to remove entries that have not been used for days, so an access time is not updated when it is more recent than this.
+     * This avoids writing to the journal each time a cache entry is used.
+     */
+    private static final long ACCESS_TIME_RESOLUTION = TimeUnit.HOURS.toMillis(1);
+
     private final PersistentCache cache;
     private final PersistentIndexedCache<File, Long> store;
     private final long inceptionTimestamp;
@@ -82,6 +89,10 @@ public void stop() {
 
     @Override
     public void setLastAccessTime(File file, long millis) {
+        Long previous = store.getIfPresent(file);
+        if (previous != null && previous <= millis && millis - previous < ACCESS_TIME_RESOLUTION) {
+            return;
+        }
         store.put(file, millis);
     }
 
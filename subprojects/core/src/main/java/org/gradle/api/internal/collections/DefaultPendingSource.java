@@ -25,40 +25,60 @@
 import org.gradle.api.internal.provider.Collectors.TypedCollector;
 import org.gradle.api.internal.provider.ProviderInternal;
 
-import java.util.Iterator;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class DefaultPendingSource<T> implements PendingSource<T> {
-    private final List<TypedCollector<T>> pending = Lists.newArrayList();
+    // Keyed by provider, in the order the providers were added
+    private final Map<ProviderInternal<?>, TypedCollector<T>> pending = new LinkedHashMap<>();
+    // The same collectors grouped by element type, so that the elements of a given type can be realized without looking at every pending element
+    private final Map<Class<?>, Map<ProviderInternal<?>, TypedCollector<T>>> pendingByType = new HashMap<>();
     private Action<T> flushAction;
 
     @Override
     public void realizePending() {
         if (!pending.isEmpty()) {
-            List<TypedCollector<T>> copied = Lists.newArrayList(pending);
-            realize(copied);
+            realize(Lists.newArrayList(pending.entrySet()));
         }
     }
 
     @Override
     public void realizePending(Class<?> type) {
-        if (!pending.isEmpty()) {
-            List<TypedCollector<T>> copied = Lists.newArrayList();
-            for (TypedCollector<T> collector : pending) {
-                if (collector.getType() == null || type.isAssignableFrom(collector.getType())) {
-                    copied.add(collector);
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<ProviderInternal<?>, TypedCollector<T>> matching = null;
+        int matchingTypes = 0;
+        for (Map.Entry<Class<?>, Map<ProviderInternal<?>, TypedCollector<T>>> entry : pendingByType.entrySet()) {
+            if (entry.getKey() == null || type.isAssignableFrom(entry.getKey())) {
+                matching = entry.getValue();
+                matchingTypes++;
+            }
+        }
+        if (matchingTypes == 1) {
+            realize(Lists.newArrayList(matching.entrySet()));
+        } else if (matchingTypes > 1) {
+            // Elements of several types are required, realize them in the order they were added
+            List<Map.Entry<ProviderInternal<?>, TypedCollector<T>>> copied = Lists.newArrayList();
+            for (Map.Entry<ProviderInternal<?>, TypedCollector<T>> entry : pending.entrySet()) {
+                Class<? extends T> collectorType = entry.getValue().getType();
+                if (collectorType == null || type.isAssignableFrom(collectorType)) {
+                    copied.add(entry);
                 }
             }
             realize(copied);
         }
     }
 
-    private void realize(Iterable<TypedCollector<T>> collectors) {
-        for (TypedCollector<T> collector : collectors) {
+    private void realize(Iterable<Map.Entry<ProviderInternal<?>, TypedCollector<T>>> collectors) {
+        for (Map.Entry<ProviderInternal<?>, TypedCollector<T>> entry : collectors) {
             if (flushAction != null) {
-                pending.remove(collector);
+                remove(entry.getKey());
                 ImmutableList.Builder<T> builder = ImmutableList.builder();
-                collector.collectInto(builder);
+                entry.getValue().collectInto(builder);
                 List<T> realized = builder.build();
                 for (T element : realized) {
                     flushAction.execute(element);
@@ -71,34 +91,42 @@ private void realize(Iterable<TypedCollector<T>> collectors) {
 
     @Override
     public boolean addPending(ProviderInternal<? extends T> provider) {
-        return pending.add(new TypedCollector<T>(provider.getType(), new ElementFromProvider<T>(provider)));
+        return add(provider, new TypedCollector<T>(provider.getType(), new ElementFromProvider<T>(provider)));
     }
 
     @Override
     public boolean removePending(ProviderInternal<? extends T> provider) {
-        return removeByProvider(provider);
+        return remove(provider) != null;
+    }
+
+    private boolean add(ProviderInternal<?> provider, TypedCollector<T> collector) {
+        if (pending.putIfAbsent(provider, collector) == null) {
+            pendingByType.computeIfAbsent(collector.getType(), type -> new LinkedHashMap<>()).put(provider, collector);
+        }
+        return true;
     }
 
-    private boolean removeByProvider(ProviderInternal<?> provider) {
-        Iterator<TypedCollector<T>> iterator = pending.iterator();
-        while (iterator.hasNext()) {
-            TypedCollector<T> collector = iterator.next();
-            if (collector.isProvidedBy(provider)) {
-                iterator.remove();
-                return true;
+    @Nullable
+    private TypedCollector<T> remove(ProviderInternal<?> provider) {
+        TypedCollector<T> collector = pending.remove(provider);
+        if (collector != null) {
+            Map<ProviderInternal<?>, TypedCollector<T>> sameType = pendingByType.get(collector.getType());
+            sameType.remove(provider);
+            if (sameType.isEmpty()) {
+                pendingByType.remove(collector.getType());
             }
         }
-        return false;
+        return collector;
     }
 
     @Override
     public boolean addPendingCollection(CollectionProviderInternal<T, ? extends Iterable<T>> provider) {
-        return pending.add(new TypedCollector<T>(provider.getElementType(), new ElementsFromCollectionProvider<T>(provider)));
+        return add(provider, new TypedCollector<T>(provider.getElementType(), new ElementsFromCollectionProvider<T>(provider)));
     }
 
     @Override
     public boolean removePendingCollection(CollectionProviderInternal<T, ? extends Iterable<T>> provider) {
-        return removeByProvider(provider);
+        return remove(provider) != null;
     }
 
     @Override
@@ -119,7 +147,7 @@ public boolean isEmpty() {
     @Override
     public int size() {
         int count = 0;
-        for (TypedCollector<T> collector : pending) {
+        for (TypedCollector<T> collector : pending.values()) {
             count += collector.size();
         }
         return count;
@@ -128,5 +156,6 @@ public int size() {
     @Override
     public void clear() {
         pending.clear();
+        pendingByType.clear();
     }
 }
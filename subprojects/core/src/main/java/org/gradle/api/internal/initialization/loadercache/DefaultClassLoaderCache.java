@@ -31,27 +31,47 @@
 import org.gradle.internal.classpath.ClassPath;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.hash.HashCode;
+import org.gradle.process.internal.health.memory.JvmMemoryStatus;
+import org.gradle.process.internal.health.memory.JvmMemoryStatusListener;
+import org.gradle.process.internal.health.memory.MemoryManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
-public class DefaultClassLoaderCache implements ClassLoaderCache, Stoppable, SessionLifecycleListener {
+/**
+ * Caches class loaders by the content of their class path, so that class loaders with the same class path are shared by the builds that run in this process.
+ *
+ * <p>A class loader that is no longer used by any {@link ClassLoaderId} is kept for a few build sessions, so that a later build that uses the same class path,
+ * for example a build that alternates between several included builds, can reuse the class loader and its already loaded and compiled classes.
+ * These idle class loaders are discarded when the heap of this process is almost full.</p>
+ */
+public class DefaultClassLoaderCache implements ClassLoaderCache, Stoppable, SessionLifecycleListener, JvmMemoryStatusListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultClassLoaderCache.class);
+    private static final int MAX_IDLE_SESSIONS = 5;
+    private static final double MAX_COMMITTED_HEAP_RATIO = 0.9;
 
     private final Object lock = new Object();
     private final Map<ClassLoaderId, CachedClassLoader> byId = Maps.newHashMap();
     private final Map<ClassLoaderSpec, CachedClassLoader> bySpec = Maps.newHashMap();
+    // Class loaders that are no longer used by any id, in the order they became unused
+    private final Map<ClassLoaderSpec, CachedClassLoader> idle = new LinkedHashMap<>();
     private final Set<ClassLoaderId> usedInThisBuild = Sets.newHashSet();
     private final ClasspathHasher classpathHasher;
     private final HashingClassLoaderFactory classLoaderFactory;
+    private final MemoryManager memoryManager;
+    private int sessions;
 
-    public DefaultClassLoaderCache(HashingClassLoaderFactory classLoaderFactory, ClasspathHasher classpathHasher) {
+    public DefaultClassLoaderCache(HashingClassLoaderFactory classLoaderFactory, ClasspathHasher classpathHasher, MemoryManager memoryManager) {
         this.classLoaderFactory = classLoaderFactory;
         this.classpathHasher = classpathHasher;
+        this.memoryManager = memoryManager;
+        memoryManager.addListener(this);
     }
 
     @Override
@@ -108,15 +128,22 @@ public void remove(ClassLoaderId id) {
     private CachedClassLoader getAndRetainLoader(ManagedClassLoaderSpec spec, ClassLoaderId id, Function<ManagedClassLoaderSpec, ClassLoader> factoryFunction) {
         CachedClassLoader cachedLoader = bySpec.get(spec);
         if (cachedLoader == null) {
-            ClassLoader classLoader;
             CachedClassLoader parentCachedLoader = null;
             if (spec.isFiltered()) {
                 parentCachedLoader = getAndRetainLoader(spec.unfiltered(), id, factoryFunction);
-                classLoader = classLoaderFactory.createFilteringClassLoader(parentCachedLoader.classLoader, spec.filterSpec);
+            }
+            cachedLoader = idle.remove(spec);
+            if (cachedLoader != null && cachedLoader.parent == parentCachedLoader) {
+                LOGGER.debug("Reusing idle classloader for {}", id);
             } else {
-                classLoader = factoryFunction.apply(spec);
+                ClassLoader classLoader;
+                if (spec.isFiltered()) {
+                    classLoader = classLoaderFactory.createFilteringClassLoader(parentCachedLoader.classLoader, spec.filterSpec);
+                } else {
+                    classLoader = factoryFunction.apply(spec);
+                }
+                cachedLoader = new CachedClassLoader(classLoader, spec, parentCachedLoader);
             }
-            cachedLoader = new CachedClassLoader(classLoader, spec, parentCachedLoader);
             bySpec.put(spec, cachedLoader);
         }
 
@@ -134,18 +161,42 @@ public int size() {
         }
     }
 
+    @VisibleForTesting
+    public int idleSize() {
+        synchronized (lock) {
+            return idle.size();
+        }
+    }
+
     @Override
     public void stop() {
+        memoryManager.removeListener(this);
         synchronized (lock) {
             for (CachedClassLoader cachedClassLoader : byId.values()) {
                 ClassLoaderUtils.tryClose(cachedClassLoader.classLoader);
             }
+            for (CachedClassLoader cachedClassLoader : idle.values()) {
+                ClassLoaderUtils.tryClose(cachedClassLoader.classLoader);
+            }
             byId.clear();
             bySpec.clear();
+            idle.clear();
             usedInThisBuild.clear();
         }
     }
 
+    @Override
+    public void onJvmMemoryStatus(JvmMemoryStatus jvmMemoryStatus) {
+        if (jvmMemoryStatus.getCommittedMemory() >= jvmMemoryStatus.getMaxMemory() * MAX_COMMITTED_HEAP_RATIO) {
+            synchronized (lock) {
+                if (!idle.isEmpty()) {
+                    LOGGER.debug("Discarding {} idle classloaders as the heap is almost full", idle.size());
+                    idle.clear();
+                }
+            }
+        }
+    }
+
     @Override
     public void afterStart() {
 
@@ -160,6 +211,15 @@ public void beforeComplete() {
                 remove(id);
             }
             usedInThisBuild.clear();
+            sessions++;
+            Iterator<CachedClassLoader> idleLoaders = idle.values().iterator();
+            while (idleLoaders.hasNext()) {
+                CachedClassLoader idleLoader = idleLoaders.next();
+                if (sessions - idleLoader.idleSince < MAX_IDLE_SESSIONS) {
+                    break;
+                }
+                idleLoaders.remove();
+            }
         }
         assertInternalIntegrity();
     }
@@ -220,6 +280,7 @@ private class CachedClassLoader {
         private final ClassLoaderSpec spec;
         private final CachedClassLoader parent;
         private final Multiset<ClassLoaderId> usedBy = HashMultiset.create();
+        private int idleSince;
 
         private CachedClassLoader(ClassLoader classLoader, ClassLoaderSpec spec, @Nullable CachedClassLoader parent) {
             this.classLoader = classLoader;
@@ -247,6 +308,8 @@ public void release(ClassLoaderId loaderId) {
                         parent.release(loaderId);
                     }
                     bySpec.remove(spec);
+                    idleSince = sessions;
+                    idle.put(spec, this);
                 }
             } else {
                 throw new IllegalStateException("Classloader '" + this + "' not used by '" + loaderId + "'");
@@ -41,8 +41,8 @@ enum State {
         CONFIGURED
     }
 
-    private State state = State.UNCONFIGURED;
-    private ProjectConfigurationException failure;
+    private volatile State state = State.UNCONFIGURED;
+    private volatile ProjectConfigurationException failure;
 
     @Override
     public boolean getExecuted() {
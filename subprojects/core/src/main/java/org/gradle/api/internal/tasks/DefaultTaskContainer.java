@@ -538,6 +538,11 @@ public void discoverTasks() {
         }
     }
 
+    @Override
+    public boolean hasTaskWithName(String name) {
+        return hasWithName(name) || (modelNode != null && modelNode.hasLink(name));
+    }
+
     @Override
     public void prepareForExecution(Task task) {
         assert task.getProject() == project;
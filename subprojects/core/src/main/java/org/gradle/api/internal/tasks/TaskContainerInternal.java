@@ -44,6 +44,13 @@ public interface TaskContainerInternal extends TaskContainer, TaskResolver, Poly
      */
     void discoverTasks();
 
+    /**
+     * Returns true when a task with the given name has been added or registered with this container, without creating or configuring the task.
+     *
+     * This is cheaper than checking {@link #getNames()}, which copies the names of all tasks.
+     */
+    boolean hasTaskWithName(String name);
+
     /**
      * Ensures that all configuration has been applied to the given task, and the task is ready to be added to the task graph.
      */
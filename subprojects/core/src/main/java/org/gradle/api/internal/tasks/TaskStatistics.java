@@ -17,6 +17,7 @@
 package org.gradle.api.internal.tasks;
 
 import com.google.common.collect.Maps;
+import org.gradle.api.internal.provider.ProviderMemoization;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.IoActions;
@@ -40,7 +41,10 @@ public class TaskStatistics implements Closeable {
     private final AtomicInteger lazyRealizedTasks = new AtomicInteger();
     private final Map<Class, Integer> typeCounts = Maps.newHashMap();
     private final Map<Class, Integer> realizedTypeCounts = Maps.newHashMap();
+    private final Map<String, Integer> realizationSiteCounts = Maps.newHashMap();
     private final boolean collectStatistics;
+    private final long providerChainsCalculatedAtStart = ProviderMemoization.getCalculatedCount();
+    private final long providerChainsReusedAtStart = ProviderMemoization.getReusedCount();
 
     private PrintWriter lazyTaskLog;
 
@@ -97,6 +101,11 @@ public void lazyTaskRealized(Class<?> type) {
                 }
                 realizedTypeCounts.put(type, count);
             }
+            String site = realizationSite(new Throwable().getStackTrace());
+            synchronized (realizationSiteCounts) {
+                Integer count = realizationSiteCounts.get(site);
+                realizationSiteCounts.put(site, count == null ? 1 : count + 1);
+            }
             if (lazyTaskLog != null) {
                 new Throwable().printStackTrace(lazyTaskLog);
             }
@@ -105,6 +114,10 @@ public void lazyTaskRealized(Class<?> type) {
 
     @Override
     public void close() throws IOException {
+        if (ProviderMemoization.isEnabled()) {
+            LOGGER.lifecycle("Provider chains: calculated {} times, remembered value used {} times",
+                ProviderMemoization.getCalculatedCount() - providerChainsCalculatedAtStart, ProviderMemoization.getReusedCount() - providerChainsReusedAtStart);
+        }
         if (collectStatistics) {
             int eagerTaskCount = eagerTasks.getAndSet(0);
             int lazyTaskCount = lazyTasks.getAndSet(0);
@@ -117,20 +130,35 @@ public void close() throws IOException {
 
             printTypeCounts("\nTask types that were created with the old API", typeCounts);
             printTypeCounts("\nTask types that were registered with the new API but were created anyways", realizedTypeCounts);
+            printTypeCounts("\nLocations that caused tasks registered with the new API to be created", realizationSiteCounts);
             IoActions.closeQuietly(lazyTaskLog);
         }
     }
 
-    private void printTypeCounts(String header, Map<Class, Integer> typeCounts) {
+    /**
+     * Returns the first frame outside of Gradle, Groovy and the JDK, which is usually the build logic that caused the task to be created.
+     */
+    private static String realizationSite(StackTraceElement[] stackTrace) {
+        for (StackTraceElement element : stackTrace) {
+            String className = element.getClassName();
+            if (!className.startsWith("org.gradle.") && !className.startsWith("java.") && !className.startsWith("jdk.")
+                && !className.startsWith("sun.") && !className.startsWith("groovy.") && !className.startsWith("org.codehaus.groovy.")) {
+                return element.toString();
+            }
+        }
+        return stackTrace.length > 1 ? stackTrace[1].toString() : "unknown";
+    }
+
+    private <K> void printTypeCounts(String header, Map<K, Integer> typeCounts) {
         if (!typeCounts.isEmpty()) {
             LOGGER.lifecycle(header);
-            List<Map.Entry<Class, Integer>> sorted = CollectionUtils.sort(typeCounts.entrySet(), new Comparator<Map.Entry<Class, Integer>>() {
+            List<Map.Entry<K, Integer>> sorted = CollectionUtils.sort(typeCounts.entrySet(), new Comparator<Map.Entry<K, Integer>>() {
                 @Override
-                public int compare(Map.Entry<Class, Integer> a, Map.Entry<Class, Integer> b) {
+                public int compare(Map.Entry<K, Integer> a, Map.Entry<K, Integer> b) {
                     return b.getValue().compareTo(a.getValue());
                 }
             });
-            for (Map.Entry<Class, Integer> typeCount : sorted) {
+            for (Map.Entry<K, Integer> typeCount : sorted) {
                 LOGGER.lifecycle(typeCount.getKey() + " " + typeCount.getValue());
             }
         }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal;
+
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.FileLockManager;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.cache.PersistentIndexedCacheParameters;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.instantiation.generator.GeneratedClassStore;
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.HashCodeSerializer;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * A {@link GeneratedClassStore} backed by a cache in the Gradle user home directory, so that classes generated by one daemon can be reused by the next one.
+ */
+public class PersistentGeneratedClassStore implements GeneratedClassStore, Closeable {
+    private final PersistentCache cache;
+    private final PersistentIndexedCache<HashCode, StoredClass> classes;
+
+    public PersistentGeneratedClassStore(CacheRepository cacheRepository) {
+        cache = cacheRepository
+            .cache("generatedClasses")
+            .withDisplayName("generated classes cache")
+            .withLockOptions(mode(FileLockManager.LockMode.OnDemand)) // Lock on demand
+            .open();
+        classes = cache.createCache(PersistentIndexedCacheParameters.of("classes", new HashCodeSerializer(), new StoredClassSerializer()));
+    }
+
+    @Nullable
+    @Override
+    public StoredClass load(HashCode key) {
+        return classes.getIfPresent(key);
+    }
+
+    @Override
+    public void store(HashCode key, StoredClass storedClass) {
+        classes.put(key, storedClass);
+    }
+
+    @Override
+    public void close() {
+        cache.close();
+    }
+
+    private static class StoredClassSerializer extends AbstractSerializer<StoredClass> {
+        @Override
+        public StoredClass read(Decoder decoder) throws Exception {
+            byte[] bytecode = decoder.readBinary();
+            boolean managed = decoder.readBoolean();
+            List<String> injectedServices = readNames(decoder);
+            List<String> annotationsTriggeringServiceInjection = readNames(decoder);
+            return new StoredClass(bytecode, managed, injectedServices, annotationsTriggeringServiceInjection);
+        }
+
+        @Override
+        public void write(Encoder encoder, StoredClass value) throws Exception {
+            encoder.writeBinary(value.getBytecode());
+            encoder.writeBoolean(value.isManaged());
+            writeNames(encoder, value.getInjectedServices());
+            writeNames(encoder, value.getAnnotationsTriggeringServiceInjection());
+        }
+
+        private static List<String> readNames(Decoder decoder) throws Exception {
+            int count = decoder.readSmallInt();
+            List<String> names = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                names.add(decoder.readString());
+            }
+            return names;
+        }
+
+        private static void writeNames(Encoder encoder, List<String> names) throws Exception {
+            encoder.writeSmallInt(names.size());
+            for (String name : names) {
+                encoder.writeString(name);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal;
+
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.instantiation.generator.GeneratedClassStore;
+import org.gradle.internal.service.ServiceRegistry;
+import org.gradle.internal.service.scopes.GradleUserHomeScopeServiceRegistry;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * A global {@link GeneratedClassStore} that uses the {@link PersistentGeneratedClassStore} of the Gradle user home directory currently in use, if any.
+ */
+public class UserHomeGeneratedClassStore implements GeneratedClassStore {
+    /**
+     * Opts in to reusing the classes generated by the decorating class generator between daemons.
+     */
+    public static final String ENABLED_PROPERTY = "org.gradle.internal.classgen.persistent-cache";
+
+    private final GradleUserHomeScopeServiceRegistry userHomeScopeServiceRegistry;
+
+    public UserHomeGeneratedClassStore(GradleUserHomeScopeServiceRegistry userHomeScopeServiceRegistry) {
+        this.userHomeScopeServiceRegistry = userHomeScopeServiceRegistry;
+    }
+
+    @Nullable
+    @Override
+    public StoredClass load(HashCode key) {
+        Optional<ServiceRegistry> services = userHomeScopeServiceRegistry.getCurrentServices();
+        return services.isPresent() ? services.get().get(PersistentGeneratedClassStore.class).load(key) : null;
+    }
+
+    @Override
+    public void store(HashCode key, StoredClass storedClass) {
+        userHomeScopeServiceRegistry.getCurrentServices().ifPresent(services -> services.get(PersistentGeneratedClassStore.class).store(key, storedClass));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration.project;
+
+import org.gradle.api.Project;
+import org.gradle.api.internal.initialization.ClassLoaderScope;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.configuration.CompileOperationFactory;
+import org.gradle.configuration.ProjectScriptTarget;
+import org.gradle.configuration.ScriptTarget;
+import org.gradle.groovy.scripts.CachingScriptSource;
+import org.gradle.groovy.scripts.ScriptSource;
+import org.gradle.groovy.scripts.internal.CompileOperation;
+import org.gradle.groovy.scripts.internal.CrossBuildInMemoryCachingScriptClassCache;
+import org.gradle.groovy.scripts.internal.FileCacheBackedScriptClassCompiler;
+import org.gradle.internal.Actions;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.scripts.ScriptingLanguages;
+import org.gradle.model.dsl.internal.transform.ClosureCreationInterceptingVerifier;
+import org.gradle.scripts.ScriptingLanguage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiles the Groovy build scripts of a set of projects concurrently ahead of their configuration, so that configuring the projects
+ * only has to load the compiled classes from the script cache.
+ *
+ * <p>A build script can only be compiled once the class loader scope it is compiled against is locked. For the first pass of the script
+ * that is the scope of the parent project, so a project's script can be compiled as soon as its parent has been configured.
+ * The second pass is compiled against the scope of the project itself, which is only known once the {@code buildscript {}} and
+ * {@code plugins {}} blocks have been applied. It is compiled against the scope of the parent project instead, which is what
+ * the project's scope exports when the script does not add anything to its classpath. When it does, the compiled classes are simply not used.</p>
+ *
+ * <p>A script that is already held in memory from an earlier build, which is usually the case for a warm daemon, is not compiled again
+ * and its persistent cache is not opened.</p>
+ *
+ * <p>Failures are ignored, they are reported when the script is compiled while configuring the project.</p>
+ */
+public class BuildScriptPrecompiler {
+    /**
+     * Opts in to compiling the build scripts of a project hierarchy ahead of configuration.
+     */
+    public static final String PRECOMPILE_PROPERTY = "org.gradle.internal.script.precompile";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildScriptPrecompiler.class);
+
+    private final FileCacheBackedScriptClassCompiler scriptClassCompiler;
+    private final CrossBuildInMemoryCachingScriptClassCache scriptClassCache;
+    private final CompileOperationFactory compileOperationFactory;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final boolean enabled;
+
+    public BuildScriptPrecompiler(FileCacheBackedScriptClassCompiler scriptClassCompiler, CrossBuildInMemoryCachingScriptClassCache scriptClassCache,
+                                  CompileOperationFactory compileOperationFactory, BuildOperationExecutor buildOperationExecutor, boolean enabled) {
+        this.scriptClassCompiler = scriptClassCompiler;
+        this.scriptClassCache = scriptClassCache;
+        this.compileOperationFactory = compileOperationFactory;
+        this.buildOperationExecutor = buildOperationExecutor;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Compiles the build scripts of those of the given projects that are not configured yet and whose parent project has been configured.
+     *
+     * @return the projects whose build scripts have been considered, including those that are not Groovy scripts. Empty when not enabled.
+     */
+    public List<ProjectInternal> precompile(Iterable<? extends Project> projects) {
+        if (!enabled) {
+            return Collections.emptyList();
+        }
+        List<ProjectInternal> considered = new ArrayList<ProjectInternal>();
+        final List<ProjectInternal> candidates = new ArrayList<ProjectInternal>();
+        for (Project p : projects) {
+            ProjectInternal project = (ProjectInternal) p;
+            ClassLoaderScope baseScope = project.getBaseClassLoaderScope();
+            if (project.getState().isUnconfigured() && baseScope.isLocked()) {
+                considered.add(project);
+                if (isGroovyScript(project.getBuildScriptSource())) {
+                    // Create the class loaders of the scope on this thread, the scope is not thread-safe
+                    baseScope.getExportClassLoader();
+                    candidates.add(project);
+                }
+            }
+        }
+        if (!candidates.isEmpty()) {
+            buildOperationExecutor.runAll(queue -> {
+                for (ProjectInternal project : candidates) {
+                    queue.add(new PrecompileBuildScript(project));
+                }
+            });
+        }
+        return considered;
+    }
+
+    private static boolean isGroovyScript(ScriptSource scriptSource) {
+        String fileName = scriptSource.getFileName();
+        for (ScriptingLanguage scriptingLanguage : ScriptingLanguages.all()) {
+            if (fileName.endsWith(scriptingLanguage.getExtension())) {
+                return scriptingLanguage.getProvider() == null;
+            }
+        }
+        return true;
+    }
+
+    private class PrecompileBuildScript implements RunnableBuildOperation {
+        private final ProjectInternal project;
+
+        PrecompileBuildScript(ProjectInternal project) {
+            this.project = project;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            ScriptSource scriptSource = CachingScriptSource.of(project.getBuildScriptSource());
+            ClassLoaderScope baseScope = project.getBaseClassLoaderScope();
+            ScriptTarget scriptTarget = new ProjectScriptTarget(project);
+            try {
+                CompileOperation<?> pluginsBlockOperation = compileOperationFactory.getPluginsBlockCompileOperation(scriptTarget);
+                if (!scriptClassCache.contains(scriptSource, baseScope, pluginsBlockOperation)) {
+                    scriptClassCompiler.precompile(scriptSource, baseScope, pluginsBlockOperation, scriptTarget.getScriptClass(), Actions.doNothing());
+                }
+                CompileOperation<?> scriptOperation = compileOperationFactory.getScriptCompileOperation(scriptSource, scriptTarget);
+                if (!scriptClassCache.contains(scriptSource, baseScope, scriptOperation)) {
+                    scriptClassCompiler.precompile(scriptSource, baseScope, scriptOperation, scriptTarget.getScriptClass(), ClosureCreationInterceptingVerifier.INSTANCE);
+                }
+            } catch (Exception e) {
+                LOGGER.debug("Could not compile {} ahead of configuration.", scriptSource.getDisplayName(), e);
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Precompile build script of " + project.getDisplayName());
+        }
+    }
+}
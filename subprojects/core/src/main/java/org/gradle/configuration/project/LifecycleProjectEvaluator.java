@@ -51,17 +51,40 @@
 public class LifecycleProjectEvaluator implements ProjectEvaluator {
     private final BuildOperationExecutor buildOperationExecutor;
     private final ProjectEvaluator delegate;
+    private final boolean parallelConfiguration;
 
     public LifecycleProjectEvaluator(BuildOperationExecutor buildOperationExecutor, ProjectEvaluator delegate) {
+        this(buildOperationExecutor, delegate, false);
+    }
+
+    /**
+     * @param parallelConfiguration whether projects may be configured concurrently, see {@link org.gradle.execution.TaskPathProjectEvaluator}.
+     */
+    public LifecycleProjectEvaluator(BuildOperationExecutor buildOperationExecutor, ProjectEvaluator delegate, boolean parallelConfiguration) {
         this.buildOperationExecutor = buildOperationExecutor;
         this.delegate = delegate;
+        this.parallelConfiguration = parallelConfiguration;
     }
 
     @Override
     public void evaluate(final ProjectInternal project, final ProjectStateInternal state) {
-        if (state.isUnconfigured()) {
-            buildOperationExecutor.run(new EvaluateProject(project, state));
+        if (!parallelConfiguration) {
+            if (state.isUnconfigured()) {
+                buildOperationExecutor.run(new EvaluateProject(project, state));
+            }
+            return;
         }
+        if (state.hasCompleted()) {
+            return;
+        }
+        // The project may be configured by another thread, which holds its project lock until it is done.
+        // Acquiring the lock waits for that, so the project is only used once it has been configured.
+        // Check again while holding the lock, so that the project is not configured a second time
+        project.getMutationState().applyToMutableState(p -> {
+            if (state.isUnconfigured()) {
+                buildOperationExecutor.run(new EvaluateProject(project, state));
+            }
+        });
     }
 
     private static void addConfigurationFailure(ProjectInternal project, ProjectStateInternal state, Exception e, BuildOperationContext ctx) {
@@ -19,13 +19,56 @@
 import org.gradle.api.BuildCancelledException;
 import org.gradle.api.Project;
 import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.concurrent.ParallelismConfiguration;
+import org.gradle.configuration.project.BuildScriptPrecompiler;
 import org.gradle.initialization.BuildCancellationToken;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.operations.BuildOperation;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.BuildOperationRef;
+import org.gradle.internal.operations.CurrentBuildOperationRef;
+import org.gradle.internal.operations.DefaultBuildOperationQueueFactory;
+import org.gradle.internal.work.WorkerLeaseService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 public class TaskPathProjectEvaluator implements ProjectConfigurer {
+    /**
+     * Opts in to configuring the projects of a hierarchy concurrently. This requires projects to be decoupled, like configure on demand does.
+     * Only takes effect when parallel execution is enabled, as otherwise all projects share a single lock.
+     * When the thread configuring a hierarchy already has access to the state of the subprojects, for example because it holds the
+     * state lock of all projects while selecting tasks with configure on demand, the subprojects are configured one after another.
+     */
+    public static final String PARALLEL_CONFIGURATION_PROPERTY = "org.gradle.internal.project.parallel-configuration";
+
     private final BuildCancellationToken cancellationToken;
+    private final BuildScriptPrecompiler buildScriptPrecompiler;
+    private final WorkerLeaseService workerLeaseService;
+    private final ExecutorFactory executorFactory;
+    private final ParallelismConfiguration parallelismConfiguration;
+    private final boolean parallelConfiguration;
 
-    public TaskPathProjectEvaluator(BuildCancellationToken cancellationToken) {
+    public TaskPathProjectEvaluator(
+        BuildCancellationToken cancellationToken,
+        BuildScriptPrecompiler buildScriptPrecompiler,
+        WorkerLeaseService workerLeaseService,
+        ExecutorFactory executorFactory,
+        ParallelismConfiguration parallelismConfiguration,
+        boolean parallelConfiguration
+    ) {
         this.cancellationToken = cancellationToken;
+        this.buildScriptPrecompiler = buildScriptPrecompiler;
+        this.workerLeaseService = workerLeaseService;
+        this.executorFactory = executorFactory;
+        this.parallelismConfiguration = parallelismConfiguration;
+        this.parallelConfiguration = parallelConfiguration;
     }
 
     @Override
@@ -65,8 +108,71 @@ private void bindAllModelRules(ProjectInternal project) {
     @Override
     public void configureHierarchy(ProjectInternal project) {
         configure(project);
+        if (parallelConfiguration && !hasAccessToAnySubproject(project)) {
+            configureSubprojectsConcurrently(project);
+            return;
+        }
+        Set<Project> subprojects = project.getSubprojects();
+        Set<ProjectInternal> precompiled = new HashSet<ProjectInternal>();
+        for (Project p : subprojects) {
+            ProjectInternal sub = (ProjectInternal) p;
+            if (!precompiled.contains(sub) && sub.getState().isUnconfigured()) {
+                // Compile the scripts of all projects whose parent has been configured by now, which includes the deeper levels of the hierarchy
+                precompiled.addAll(buildScriptPrecompiler.precompile(subprojects));
+            }
+            configure(sub);
+        }
+    }
+
+    private static boolean hasAccessToAnySubproject(ProjectInternal project) {
+        // Another thread cannot acquire the lock of a project while this thread has access to it
         for (Project sub : project.getSubprojects()) {
-            configure((ProjectInternal) sub);
+            if (((ProjectInternal) sub).getMutationState().hasMutableState()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Configures the subprojects one level of the hierarchy at a time, so that a project is only configured once its parent has been,
+     * like it would be when configuring them one after another. The projects of a level are configured concurrently.
+     *
+     * <p>Each project is configured while holding its project lock. A project that triggers the configuration of another project,
+     * for example using {@code evaluationDependsOn()} or through a {@link org.gradle.initialization.ProjectAccessListener},
+     * acquires the lock of the other project and so waits until that project has been configured by another thread.
+     * The project lock of the waiting project is released in the meantime. When the other project is being configured by the
+     * waiting thread itself, it is used while still being configured, as it would be when configuring projects one after another.</p>
+     *
+     * <p>Other access to the mutable state of another project, such as reading its extensions through {@code project(':other')},
+     * is not detected and is not made to wait.</p>
+     *
+     * <p>The projects are configured on the worker threads under the current build operation, so the build operations are the same
+     * as when configuring the projects one after another.</p>
+     */
+    private void configureSubprojectsConcurrently(ProjectInternal project) {
+        SortedMap<Integer, List<ProjectInternal>> projectsByDepth = new TreeMap<Integer, List<ProjectInternal>>();
+        for (Project sub : project.getSubprojects()) {
+            List<ProjectInternal> projects = projectsByDepth.get(sub.getDepth());
+            if (projects == null) {
+                projects = new ArrayList<ProjectInternal>();
+                projectsByDepth.put(sub.getDepth(), projects);
+            }
+            projects.add((ProjectInternal) sub);
+        }
+        ManagedExecutor executor = executorFactory.create("Configure projects", parallelismConfiguration.getMaxWorkerCount());
+        try {
+            ConfigureProjectWorker worker = new ConfigureProjectWorker(CurrentBuildOperationRef.instance().get());
+            for (List<ProjectInternal> projects : projectsByDepth.values()) {
+                buildScriptPrecompiler.precompile(projects);
+                BuildOperationQueue<ConfigureProject> queue = new DefaultBuildOperationQueueFactory(workerLeaseService).create(executor, true, worker);
+                for (ProjectInternal sub : projects) {
+                    queue.add(new ConfigureProject(sub));
+                }
+                queue.waitForCompletion();
+            }
+        } finally {
+            executor.stop();
         }
     }
 
@@ -77,4 +183,46 @@ public void configureHierarchyFully(ProjectInternal project) {
             configureFully((ProjectInternal) sub);
         }
     }
+
+    /**
+     * A project to configure. This is only a unit of work for the queue and does not run as a build operation itself.
+     */
+    private static class ConfigureProject implements BuildOperation {
+        private final ProjectInternal project;
+
+        ConfigureProject(ProjectInternal project) {
+            this.project = project;
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Configure " + project.getDisplayName());
+        }
+    }
+
+    private class ConfigureProjectWorker implements BuildOperationQueue.QueueWorker<ConfigureProject> {
+        private final BuildOperationRef parent;
+
+        ConfigureProjectWorker(BuildOperationRef parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void execute(ConfigureProject operation) {
+            // The calling thread also works on the queue, so restore its current build operation afterwards
+            CurrentBuildOperationRef currentBuildOperationRef = CurrentBuildOperationRef.instance();
+            BuildOperationRef previous = currentBuildOperationRef.get();
+            currentBuildOperationRef.set(parent);
+            try {
+                configure(operation.project);
+            } finally {
+                currentBuildOperationRef.set(previous);
+            }
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "project configuration worker";
+        }
+    }
 }
@@ -52,6 +52,15 @@ public <T extends Script, M> CompiledScript<T, M> getOrCompile(ScriptSource sour
         return compiledScript;
     }
 
+    /**
+     * Returns true when the given script has already been compiled against the given scope and the compiled script is still held in memory.
+     */
+    public boolean contains(ScriptSource source, ClassLoaderScope targetScope, CompileOperation<?> operation) {
+        ScriptCacheKey key = new ScriptCacheKey(source.getClassName(), targetScope.getExportClassLoader(), operation.getId());
+        CachedCompiledScript cached = cachedCompiledScripts.getIfPresent(key);
+        return cached != null && cached.hash.equals(source.getResource().getContentHash());
+    }
+
     private static class CachedCompiledScript {
         private final HashCode hash;
         private final CompiledScript<?, ?> compiledScript;
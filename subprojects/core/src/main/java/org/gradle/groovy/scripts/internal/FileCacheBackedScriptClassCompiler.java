@@ -86,14 +86,46 @@ public <T extends Script, M> CompiledScript<T, M> compile(final ScriptSource sou
             return emptyCompiledScript(operation);
         }
 
+        HashCode sourceHashCode = source.getResource().getContentHash();
+        final RemappingScriptSource remapped = new RemappingScriptSource(source);
+        final PersistentCache cache = openCache(source, remapped, targetScope, operation, scriptBaseClass, verifier);
+        try {
+            File genericClassesDir = classesDir(cache, operation);
+            File metadataDir = metadataDir(cache);
+            ClassPath remappedClasses = remapClasses(genericClassesDir, remapped);
+            return scriptCompilationHandler.loadFromDir(source, sourceHashCode, targetScope, remappedClasses, metadataDir, operation, scriptBaseClass);
+        } finally {
+            cache.close();
+        }
+    }
+
+    /**
+     * Compiles the given script into the cache, without loading it. A later {@link #compile} of the same script against a target scope with the same
+     * export class loader will find the classes in the cache.
+     */
+    public void precompile(ScriptSource source, ClassLoaderScope targetScope, CompileOperation<?> operation, Class<? extends Script> scriptBaseClass, Action<? super ClassNode> verifier) {
+        assert source.getResource().isContentCached();
+        if (source.getResource().getHasEmptyContent()) {
+            return;
+        }
+        RemappingScriptSource remapped = new RemappingScriptSource(source);
+        PersistentCache cache = openCache(source, remapped, targetScope, operation, scriptBaseClass, verifier);
+        try {
+            remapClasses(classesDir(cache, operation), remapped);
+        } finally {
+            cache.close();
+        }
+    }
+
+    private PersistentCache openCache(ScriptSource source, RemappingScriptSource remapped, ClassLoaderScope targetScope, CompileOperation<?> operation,
+                                      Class<? extends Script> scriptBaseClass, Action<? super ClassNode> verifier) {
         ClassLoader classLoader = targetScope.getExportClassLoader();
         HashCode sourceHashCode = source.getResource().getContentHash();
-        final String dslId = operation.getId();
+        String dslId = operation.getId();
         HashCode classLoaderHash = classLoaderHierarchyHasher.getClassLoaderHash(classLoader);
         if (classLoaderHash == null) {
             throw new IllegalArgumentException("Unknown classloader: " + classLoader);
         }
-        final RemappingScriptSource remapped = new RemappingScriptSource(source);
 
         PrimitiveHasher hasher = Hashing.newPrimitiveHasher();
         hasher.putString(dslId);
@@ -107,21 +139,13 @@ public <T extends Script, M> CompiledScript<T, M> compile(final ScriptSource sou
         // Both caches can be closed directly after use because:
         // For 1, if the script changes or its compile classpath changes, a different directory will be used
         // For 2, if the script changes, a different cache is used. If the classpath changes, the cache is invalidated, but classes are remapped to 1. anyway so never directly used
-        final PersistentCache cache = cacheRepository.cache("scripts/" + key)
+        return cacheRepository.cache("scripts/" + key)
             .withDisplayName(dslId + " generic class cache for " + source.getDisplayName())
             .withInitializer(new ProgressReportingInitializer(
                 progressLoggerFactory,
                 new CompileToCrossBuildCacheAction(remapped, classLoader, operation, verifier, scriptBaseClass),
                 "Compiling " + source.getShortDisplayName()))
             .open();
-        try {
-            File genericClassesDir = classesDir(cache, operation);
-            File metadataDir = metadataDir(cache);
-            ClassPath remappedClasses = remapClasses(genericClassesDir, remapped);
-            return scriptCompilationHandler.loadFromDir(source, sourceHashCode, targetScope, remappedClasses, metadataDir, operation, scriptBaseClass);
-        } finally {
-            cache.close();
-        }
     }
 
     private <T extends Script, M> CompiledScript<T, M> emptyCompiledScript(CompileOperation<M> operation) {
@@ -174,8 +198,8 @@ private class CompileToCrossBuildCacheAction implements Action<PersistentCache>
         private final CompileOperation<?> operation;
         private final ScriptSource source;
 
-        public <T extends Script> CompileToCrossBuildCacheAction(ScriptSource source, ClassLoader classLoader, CompileOperation<?> operation,
-                                                                 Action<? super ClassNode> verifier, Class<T> scriptBaseClass) {
+        public CompileToCrossBuildCacheAction(ScriptSource source, ClassLoader classLoader, CompileOperation<?> operation,
+                                              Action<? super ClassNode> verifier, Class<? extends Script> scriptBaseClass) {
             this.source = source;
             this.classLoader = classLoader;
             this.operation = operation;
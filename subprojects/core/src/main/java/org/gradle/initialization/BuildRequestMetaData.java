@@ -34,5 +34,11 @@ public interface BuildRequestMetaData {
      */
     long getStartTime();
 
+    /**
+     * The time that the client sent the request to the process that runs the build, once the client had started up.
+     * This is the same as the start time when the client runs the build in its own process.
+     */
+    long getRequestSentTime();
+
     boolean isInteractive();
 }
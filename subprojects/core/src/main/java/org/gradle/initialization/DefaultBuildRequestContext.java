@@ -50,6 +50,11 @@ public long getStartTime() {
         return metaData.getStartTime();
     }
 
+    @Override
+    public long getRequestSentTime() {
+        return metaData.getRequestSentTime();
+    }
+
     @Override
     public boolean isInteractive() {
         return metaData.isInteractive();
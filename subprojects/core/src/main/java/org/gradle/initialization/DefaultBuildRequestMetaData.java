@@ -21,14 +21,20 @@
 public class DefaultBuildRequestMetaData implements BuildRequestMetaData {
     private final BuildClientMetaData clientMetaData;
     private final long startTime;
+    private final long requestSentTime;
     private final boolean interactive;
 
-    public DefaultBuildRequestMetaData(BuildClientMetaData clientMetaData, long startTime, boolean interactive) {
+    public DefaultBuildRequestMetaData(BuildClientMetaData clientMetaData, long startTime, long requestSentTime, boolean interactive) {
         this.clientMetaData = clientMetaData;
         this.startTime = startTime;
+        this.requestSentTime = requestSentTime;
         this.interactive = interactive;
     }
 
+    public DefaultBuildRequestMetaData(BuildClientMetaData clientMetaData, long startTime, boolean interactive) {
+        this(clientMetaData, startTime, startTime, interactive);
+    }
+
     public DefaultBuildRequestMetaData(long startTime) {
         this(new GradleLauncherMetaData(), startTime, false);
     }
@@ -51,6 +57,11 @@ public long getStartTime() {
         return startTime;
     }
 
+    @Override
+    public long getRequestSentTime() {
+        return requestSentTime;
+    }
+
     @Override
     public boolean isInteractive() {
         return interactive;
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.histogram;
+
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationListener;
+import org.gradle.internal.operations.BuildOperationListenerManager;
+import org.gradle.internal.operations.OperationFinishEvent;
+import org.gradle.internal.operations.OperationIdentifier;
+import org.gradle.internal.operations.OperationProgressEvent;
+import org.gradle.internal.operations.OperationStartEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects a histogram of the durations of the build operations of each type run by a build session.
+ * The type of an operation is the name of the type of its details. Operations without details are not collected.
+ * Types are tracked by name, so that the histograms do not keep the classes of the build and its plugins alive.
+ *
+ * <p>When stopped, the operation types that took the most time are logged at info level.</p>
+ */
+public class BuildOperationHistograms implements BuildOperationListener, Stoppable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildOperationHistograms.class);
+    private static final int REPORTED_TYPES = 10;
+
+    private final ConcurrentMap<String, OperationDurationHistogram> histograms = new ConcurrentHashMap<>();
+    private final BuildOperationListenerManager listenerManager;
+
+    public BuildOperationHistograms(BuildOperationListenerManager listenerManager) {
+        this.listenerManager = listenerManager;
+        listenerManager.addListener(this);
+    }
+
+    @Override
+    public void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
+    }
+
+    @Override
+    public void progress(OperationIdentifier operationIdentifier, OperationProgressEvent progressEvent) {
+    }
+
+    @Override
+    public void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
+        Object details = buildOperation.getDetails();
+        if (details == null) {
+            return;
+        }
+        String operationType = details.getClass().getName();
+        OperationDurationHistogram histogram = histograms.get(operationType);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(operationType, OperationDurationHistogram::new);
+        }
+        histogram.record(finishEvent.getEndTime() - finishEvent.getStartTime());
+    }
+
+    /**
+     * Returns the histogram of each operation type, the types that took the most time first.
+     */
+    public List<OperationDurationHistogram> getHistograms() {
+        List<OperationDurationHistogram> result = new ArrayList<>(histograms.values());
+        result.sort(Comparator.comparingLong(OperationDurationHistogram::getTotalTime).reversed());
+        return result;
+    }
+
+    @Override
+    public void stop() {
+        listenerManager.removeListener(this);
+        if (!histograms.isEmpty() && LOGGER.isInfoEnabled()) {
+            List<OperationDurationHistogram> histograms = getHistograms();
+            StringBuilder builder = new StringBuilder("Build operation types that took the most time:");
+            for (OperationDurationHistogram histogram : histograms.subList(0, Math.min(REPORTED_TYPES, histograms.size()))) {
+                builder.append("\n  ").append(histogram);
+            }
+            LOGGER.info(builder.toString());
+        }
+    }
+}
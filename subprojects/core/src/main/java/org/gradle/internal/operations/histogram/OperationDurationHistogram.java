@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The distribution of the durations of the build operations of one type.
+ *
+ * <p>Durations are counted in buckets whose bounds are powers of two milliseconds, so that recording a duration needs no allocation and no locking.</p>
+ */
+public class OperationDurationHistogram {
+    private static final int BUCKETS = 32;
+
+    private final String operationType;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalTime = new AtomicLong();
+    private final AtomicLong maxTime = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public OperationDurationHistogram(String operationType) {
+        this.operationType = operationType;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public void record(long duration) {
+        long value = Math.max(0, duration);
+        count.incrementAndGet();
+        totalTime.addAndGet(value);
+        long max = maxTime.get();
+        while (value > max && !maxTime.compareAndSet(max, value)) {
+            max = maxTime.get();
+        }
+        buckets.incrementAndGet(bucketOf(value));
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * The total time spent in operations of this type, in milliseconds. Operations that run in parallel are all counted.
+     */
+    public long getTotalTime() {
+        return totalTime.get();
+    }
+
+    public long getMaxTime() {
+        return maxTime.get();
+    }
+
+    /**
+     * Returns an upper bound, in milliseconds, of the duration of the given share of the operations of this type.
+     */
+    public long getPercentile(double percentile) {
+        long target = (long) Math.ceil(getCount() * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target && seen > 0) {
+                return Math.min(upperBoundOf(i), getMaxTime());
+            }
+        }
+        return getMaxTime();
+    }
+
+    private static int bucketOf(long duration) {
+        // Bucket 0 holds durations of 0ms, bucket i holds durations in [2^(i-1), 2^i)
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(duration));
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket == 0 ? 0 : (1L << bucket) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return operationType + ": " + getCount() + " operations, total " + getTotalTime() + "ms, p50 " + getPercentile(0.5) + "ms, p99 " + getPercentile(0.99) + "ms, max " + getMaxTime() + "ms";
+    }
+}
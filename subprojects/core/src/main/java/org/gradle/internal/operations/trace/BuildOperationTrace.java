@@ -24,6 +24,8 @@
 import groovy.json.JsonSlurper;
 import org.gradle.StartParameter;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationListener;
@@ -51,6 +53,11 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.gradle.internal.Cast.uncheckedCast;
 import static org.gradle.internal.Cast.uncheckedNonnullCast;
@@ -74,6 +81,17 @@
  * The «path-base» param is optional.
  * If invoked as `-Dorg.gradle.internal.operations.trace`, a base value of "operations" will be used.
  *
+ * Events are converted to JSON by the thread that reports them, and written to the log by a dedicated writer thread.
+ * When the writer falls behind, threads reporting events wait for it, so that pending events do not pile up in memory.
+ * Events reported after the trace has been stopped are not written. When the writer fails, the trace stops and the failure is reported when the build finishes.
+ *
+ * The log is intentionally written as JSON rather than in a binary format. The trace is a tool for developing and debugging build operations,
+ * it is read by people and by the test fixtures, and it only costs anything when enabled. Converting events to JSON happens on the reporting
+ * threads, so the writer thread only copies bytes.
+ * The tree files are created from the log at the end of the build, which requires holding the whole tree in memory.
+ * For large builds, this can be skipped with `-Dorg.gradle.internal.operations.trace.tree=false`,
+ * and the tree files can later be created from the log by running the {@link #main(String[])} method of this class with «path-base» as argument.
+ *
  * The “trace” produced here is different to the trace produced by Gradle Profiler.
  * There, the focus is analyzing the performance profile.
  * Here, the focus is debugging/developing the information structure of build operations.
@@ -83,11 +101,20 @@
 public class BuildOperationTrace implements Stoppable {
 
     public static final String SYSPROP = "org.gradle.internal.operations.trace";
+    public static final String TREE_SYSPROP = "org.gradle.internal.operations.trace.tree";
 
     private static final byte[] NEWLINE = "\n".getBytes();
+    private static final byte[] END_OF_LOG = new byte[0];
+    private static final int MAX_PENDING_EVENTS = 10000;
 
     private final String basePath;
+    private final boolean writeTree;
     private final OutputStream logOutputStream;
+    private final ManagedExecutor logWriter;
+    private final BlockingQueue<byte[]> pendingEvents = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+    private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+    private volatile boolean stopped;
+    private volatile boolean writerFailed;
 
     private final BuildOperationListenerManager buildOperationListenerManager;
 
@@ -108,18 +135,16 @@ public void finished(BuildOperationDescriptor buildOperation, OperationFinishEve
         }
     };
 
-    public BuildOperationTrace(StartParameter startParameter, BuildOperationListenerManager buildOperationListenerManager) {
+    public BuildOperationTrace(StartParameter startParameter, BuildOperationListenerManager buildOperationListenerManager, ExecutorFactory executorFactory) {
         this.buildOperationListenerManager = buildOperationListenerManager;
 
         Map<String, String> sysProps = startParameter.getSystemPropertiesArgs();
-        String basePath = sysProps.get(SYSPROP);
-        if (basePath == null) {
-            basePath = System.getProperty(SYSPROP);
-        }
-
+        String basePath = getProperty(sysProps, SYSPROP);
         this.basePath = basePath;
+        this.writeTree = !Boolean.FALSE.toString().equals(getProperty(sysProps, TREE_SYSPROP));
         if (this.basePath == null || basePath.equals(Boolean.FALSE.toString())) {
             this.logOutputStream = null;
+            this.logWriter = null;
             return;
         }
 
@@ -136,22 +161,43 @@ public BuildOperationTrace(StartParameter startParameter, BuildOperationListener
         } catch (IOException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
+        this.logWriter = executorFactory.create("Build operation trace writer", 1);
+        logWriter.execute(this::writePendingEvents);
 
         buildOperationListenerManager.addListener(listener);
     }
 
+    private static String getProperty(Map<String, String> sysProps, String name) {
+        String value = sysProps.get(name);
+        if (value == null) {
+            value = System.getProperty(name);
+        }
+        return value;
+    }
+
     @Override
     public void stop() {
         buildOperationListenerManager.removeListener(listener);
         if (logOutputStream != null) {
+            stopLock.writeLock().lock();
             try {
-                synchronized (logOutputStream) {
+                // Waits for events that are currently being reported, later events are not written
+                stopped = true;
+                enqueue(END_OF_LOG);
+            } finally {
+                stopLock.writeLock().unlock();
+            }
+            try {
+                try {
+                    // Waits for the pending events to be written, and rethrows any failure of the writer
+                    logWriter.stop();
+                } finally {
                     logOutputStream.close();
                 }
 
-                final List<BuildOperationRecord> roots = readLogToTreeRoots(logFile(basePath));
-                writeDetailTree(roots);
-                writeSummaryTree(roots);
+                if (writeTree) {
+                    writeTrees(basePath);
+                }
             } catch (IOException e) {
                 throw UncheckedException.throwAsUncheckedException(e);
             }
@@ -159,19 +205,73 @@ public void stop() {
     }
 
     private void write(SerializedOperation operation) {
-        String json = JsonOutput.toJson(operation.toMap());
+        // Convert on the calling thread, as the details and results of operations may not be safe to use later or from other threads
+        byte[] json = JsonOutput.toJson(operation.toMap()).getBytes(StandardCharsets.UTF_8);
+        stopLock.readLock().lock();
         try {
-            synchronized (logOutputStream) {
-                logOutputStream.write(json.getBytes(StandardCharsets.UTF_8));
-                logOutputStream.write(NEWLINE);
-                logOutputStream.flush();
+            if (!stopped) {
+                enqueue(json);
             }
-        } catch (IOException e) {
+        } finally {
+            stopLock.readLock().unlock();
+        }
+    }
+
+    private void enqueue(byte[] event) {
+        try {
+            // Blocks while the writer is behind, until the writer has failed
+            while (!pendingEvents.offer(event, 100, TimeUnit.MILLISECONDS)) {
+                if (writerFailed) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
     }
 
-    private void writeDetailTree(List<BuildOperationRecord> roots) throws IOException {
+    private void writePendingEvents() {
+        IOException failure = null;
+        try {
+            byte[] event = pendingEvents.take();
+            while (event != END_OF_LOG) {
+                if (failure == null) {
+                    try {
+                        logOutputStream.write(event);
+                        logOutputStream.write(NEWLINE);
+                    } catch (IOException e) {
+                        // Keep taking events, so that threads reporting events are not blocked
+                        failure = e;
+                    }
+                }
+                event = pendingEvents.take();
+            }
+        } catch (Throwable t) {
+            // Stop taking events, and release any threads that are waiting to report one
+            stopped = true;
+            writerFailed = true;
+            pendingEvents.clear();
+            throw UncheckedException.throwAsUncheckedException(t);
+        }
+        if (failure != null) {
+            throw UncheckedException.throwAsUncheckedException(failure);
+        }
+    }
+
+    /**
+     * Creates the tree files from the log written by a previous build, for builds where this was skipped.
+     */
+    public static void main(String[] args) throws IOException {
+        writeTrees(args.length == 0 ? null : args[0]);
+    }
+
+    private static void writeTrees(String basePath) throws IOException {
+        List<BuildOperationRecord> roots = readLogToTreeRoots(logFile(basePath));
+        writeDetailTree(basePath, roots);
+        writeSummaryTree(basePath, roots);
+    }
+
+    private static void writeDetailTree(String basePath, List<BuildOperationRecord> roots) throws IOException {
         try {
             String rawJson = JsonOutput.toJson(BuildOperationTree.serialize(roots));
             String prettyJson = JsonOutput.prettyPrint(rawJson);
@@ -181,7 +281,7 @@ private void writeDetailTree(List<BuildOperationRecord> roots) throws IOExceptio
         }
     }
 
-    private void writeSummaryTree(final List<BuildOperationRecord> roots) throws IOException {
+    private static void writeSummaryTree(String basePath, final List<BuildOperationRecord> roots) throws IOException {
         Files.asCharSink(file(basePath, "-tree.txt"), Charsets.UTF_8).writeLines(new Iterable<String>() {
             @Override
             @Nonnull
@@ -83,6 +83,7 @@
 import org.gradle.cache.CacheRepository;
 import org.gradle.cache.FileLockManager;
 import org.gradle.caching.internal.BuildCacheServices;
+import org.gradle.concurrent.ParallelismConfiguration;
 import org.gradle.configuration.BuildOperationFiringProjectsPreparer;
 import org.gradle.configuration.BuildTreePreparingProjectsPreparer;
 import org.gradle.configuration.CompileOperationFactory;
@@ -94,6 +95,7 @@
 import org.gradle.configuration.ScriptPluginFactory;
 import org.gradle.configuration.ScriptPluginFactorySelector;
 import org.gradle.configuration.internal.UserCodeApplicationContext;
+import org.gradle.configuration.project.BuildScriptPrecompiler;
 import org.gradle.configuration.project.BuildScriptProcessor;
 import org.gradle.configuration.project.ConfigureActionsProjectEvaluator;
 import org.gradle.configuration.project.DefaultCompileOperationFactory;
@@ -181,6 +183,7 @@
 import org.gradle.internal.service.CachingServiceLocator;
 import org.gradle.internal.service.DefaultServiceRegistry;
 import org.gradle.internal.service.ServiceRegistry;
+import org.gradle.internal.work.WorkerLeaseService;
 import org.gradle.model.internal.inspect.ModelRuleSourceDetector;
 import org.gradle.plugin.management.internal.autoapply.AutoAppliedPluginHandler;
 import org.gradle.plugin.use.internal.PluginRequestApplicator;
@@ -355,13 +358,13 @@ protected BuildLoader createBuildLoader(GradleProperties gradleProperties, IProj
         );
     }
 
-    protected ProjectEvaluator createProjectEvaluator(BuildOperationExecutor buildOperationExecutor, CachingServiceLocator cachingServiceLocator, ScriptPluginFactory scriptPluginFactory) {
+    protected ProjectEvaluator createProjectEvaluator(BuildOperationExecutor buildOperationExecutor, CachingServiceLocator cachingServiceLocator, ScriptPluginFactory scriptPluginFactory, StartParameter startParameter) {
         ConfigureActionsProjectEvaluator withActionsEvaluator = new ConfigureActionsProjectEvaluator(
             PluginsProjectConfigureActions.from(cachingServiceLocator),
             new BuildScriptProcessor(scriptPluginFactory),
             new DelayedConfigurationActions()
         );
-        return new LifecycleProjectEvaluator(buildOperationExecutor, withActionsEvaluator);
+        return new LifecycleProjectEvaluator(buildOperationExecutor, withActionsEvaluator, isParallelConfiguration(startParameter));
     }
 
     protected ITaskFactory createITaskFactory(Instantiator instantiator, TaskClassInfoStore taskClassInfoStore) {
@@ -511,8 +514,25 @@ protected ScriptHandlerFactory createScriptHandlerFactory(DependencyManagementSe
             instantiator);
     }
 
-    protected ProjectConfigurer createProjectConfigurer(BuildCancellationToken cancellationToken) {
-        return new TaskPathProjectEvaluator(cancellationToken);
+    protected BuildScriptPrecompiler createBuildScriptPrecompiler(FileCacheBackedScriptClassCompiler scriptClassCompiler, CrossBuildInMemoryCachingScriptClassCache scriptClassCache,
+                                                                  CompileOperationFactory compileOperationFactory, BuildOperationExecutor buildOperationExecutor) {
+        return new BuildScriptPrecompiler(scriptClassCompiler, scriptClassCache, compileOperationFactory, buildOperationExecutor, Boolean.getBoolean(BuildScriptPrecompiler.PRECOMPILE_PROPERTY));
+    }
+
+    protected ProjectConfigurer createProjectConfigurer(
+        BuildCancellationToken cancellationToken,
+        BuildScriptPrecompiler buildScriptPrecompiler,
+        WorkerLeaseService workerLeaseService,
+        ExecutorFactory executorFactory,
+        ParallelismConfiguration parallelismConfiguration,
+        StartParameter startParameter
+    ) {
+        return new TaskPathProjectEvaluator(cancellationToken, buildScriptPrecompiler, workerLeaseService, executorFactory, parallelismConfiguration, isParallelConfiguration(startParameter));
+    }
+
+    private static boolean isParallelConfiguration(StartParameter startParameter) {
+        // Without parallel execution, all projects share the same lock, so they cannot be configured concurrently
+        return startParameter.isParallelProjectExecutionEnabled() && Boolean.getBoolean(TaskPathProjectEvaluator.PARALLEL_CONFIGURATION_PROPERTY);
     }
 
     protected ProjectsPreparer createBuildConfigurer(ProjectConfigurer projectConfigurer, BuildSourceBuilder buildSourceBuilder, BuildStateRegistry buildStateRegistry, BuildLoader buildLoader, ListenerManager listenerManager, BuildOperationExecutor buildOperationExecutor) {
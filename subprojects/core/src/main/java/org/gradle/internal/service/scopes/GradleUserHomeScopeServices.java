@@ -40,6 +40,7 @@
 import org.gradle.cache.internal.FileContentCacheFactory;
 import org.gradle.cache.internal.GradleUserHomeCleanupServices;
 import org.gradle.cache.internal.InMemoryCacheDecoratorFactory;
+import org.gradle.cache.internal.PersistentGeneratedClassStore;
 import org.gradle.cache.internal.UsedGradleVersions;
 import org.gradle.groovy.scripts.internal.CrossBuildInMemoryCachingScriptClassCache;
 import org.gradle.groovy.scripts.internal.DefaultScriptSourceHasher;
@@ -77,6 +78,7 @@
 import org.gradle.process.internal.health.memory.MemoryManager;
 import org.gradle.process.internal.worker.DefaultWorkerProcessFactory;
 import org.gradle.process.internal.worker.WorkerProcessFactory;
+import org.gradle.process.internal.worker.child.WorkerClassDataSharing;
 import org.gradle.process.internal.worker.child.WorkerProcessClassPathProvider;
 import org.gradle.util.GradleVersion;
 
@@ -122,6 +124,10 @@ CrossBuildInMemoryCachingScriptClassCache createCachingScriptCompiler(CrossBuild
         return new CrossBuildInMemoryCachingScriptClassCache(cacheFactory);
     }
 
+    PersistentGeneratedClassStore createPersistentGeneratedClassStore(CacheRepository cacheRepository) {
+        return new PersistentGeneratedClassStore(cacheRepository);
+    }
+
     ClassLoaderHierarchyHasher createClassLoaderHierarchyHasher(ClassLoaderRegistry registry, HashingClassLoaderFactory classLoaderFactory) {
         return new RegistryAwareClassLoaderHierarchyHasher(registry, classLoaderFactory);
     }
@@ -130,19 +136,21 @@ HashingClassLoaderFactory createClassLoaderFactory(ClasspathHasher classpathHash
         return new DefaultHashingClassLoaderFactory(classpathHasher);
     }
 
-    ClassLoaderCache createClassLoaderCache(HashingClassLoaderFactory classLoaderFactory, ClasspathHasher classpathHasher, ListenerManager listenerManager) {
-        DefaultClassLoaderCache cache = new DefaultClassLoaderCache(classLoaderFactory, classpathHasher);
+    ClassLoaderCache createClassLoaderCache(HashingClassLoaderFactory classLoaderFactory, ClasspathHasher classpathHasher, ListenerManager listenerManager, MemoryManager memoryManager) {
+        DefaultClassLoaderCache cache = new DefaultClassLoaderCache(classLoaderFactory, classpathHasher, memoryManager);
         listenerManager.addListener(cache);
         return cache;
     }
 
     ClasspathTransformerCacheFactory createClasspathTransformerCache(
         CacheScopeMapping cacheScopeMapping,
-        UsedGradleVersions usedGradleVersions
+        UsedGradleVersions usedGradleVersions,
+        ExecutorFactory executorFactory
     ) {
         return new DefaultClasspathTransformerCacheFactory(
             cacheScopeMapping,
-            usedGradleVersions
+            usedGradleVersions,
+            executorFactory
         );
     }
 
@@ -177,7 +185,8 @@ ExecFactory createExecFactory(ExecFactory parent, FileResolver fileResolver, Fil
 
     WorkerProcessFactory createWorkerProcessFactory(LoggingManagerInternal loggingManagerInternal, MessagingServer messagingServer, ClassPathRegistry classPathRegistry,
                                                     TemporaryFileProvider temporaryFileProvider, JavaExecHandleFactory execHandleFactory, JvmVersionDetector jvmVersionDetector,
-                                                    MemoryManager memoryManager, GradleUserHomeDirProvider gradleUserHomeDirProvider, OutputEventListener outputEventListener) {
+                                                    WorkerClassDataSharing classDataSharing, MemoryManager memoryManager, GradleUserHomeDirProvider gradleUserHomeDirProvider,
+                                                    OutputEventListener outputEventListener) {
         return new DefaultWorkerProcessFactory(
             loggingManagerInternal,
             messagingServer,
@@ -187,11 +196,16 @@ WorkerProcessFactory createWorkerProcessFactory(LoggingManagerInternal loggingMa
             temporaryFileProvider,
             execHandleFactory,
             jvmVersionDetector,
+            classDataSharing,
             outputEventListener,
             memoryManager
         );
     }
 
+    WorkerClassDataSharing createWorkerClassDataSharing(CacheRepository cacheRepository, FileAccessTimeJournal fileAccessTimeJournal, ExecutorFactory executorFactory) {
+        return new WorkerClassDataSharing(cacheRepository, fileAccessTimeJournal, executorFactory);
+    }
+
     ClassPathRegistry createClassPathRegistry(ModuleRegistry moduleRegistry, WorkerProcessClassPathProvider workerProcessClassPathProvider) {
         return new DefaultClassPathRegistry(
             new DefaultClassPathProvider(moduleRegistry),
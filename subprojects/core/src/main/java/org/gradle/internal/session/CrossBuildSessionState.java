@@ -38,6 +38,7 @@
 import org.gradle.internal.operations.BuildOperationProgressEventEmitter;
 import org.gradle.internal.operations.DefaultBuildOperationExecutor;
 import org.gradle.internal.operations.DefaultBuildOperationQueueFactory;
+import org.gradle.internal.operations.histogram.BuildOperationHistograms;
 import org.gradle.internal.operations.logging.LoggingBuildOperationProgressBroadcaster;
 import org.gradle.internal.operations.notify.BuildOperationNotificationBridge;
 import org.gradle.internal.operations.notify.BuildOperationNotificationValve;
@@ -73,6 +74,7 @@ public CrossBuildSessionState(ServiceRegistry parent, StartParameter startParame
             .build();
         // Trigger listener to wire itself in
         services.get(BuildOperationTrace.class);
+        services.get(BuildOperationHistograms.class);
     }
 
     public ServiceRegistry getServices() {
@@ -143,8 +145,12 @@ LoggingBuildOperationProgressBroadcaster createLoggingBuildOperationProgressBroa
             return new LoggingBuildOperationProgressBroadcaster(outputEventListenerManager, buildOperationProgressEventEmitter);
         }
 
-        BuildOperationTrace createBuildOperationTrace(BuildOperationListenerManager buildOperationListenerManager) {
-            return new BuildOperationTrace(startParameter, buildOperationListenerManager);
+        BuildOperationTrace createBuildOperationTrace(BuildOperationListenerManager buildOperationListenerManager, ExecutorFactory executorFactory) {
+            return new BuildOperationTrace(startParameter, buildOperationListenerManager, executorFactory);
+        }
+
+        BuildOperationHistograms createBuildOperationHistograms(BuildOperationListenerManager buildOperationListenerManager) {
+            return new BuildOperationHistograms(buildOperationListenerManager);
         }
 
         BuildOperationNotificationBridge createBuildOperationNotificationBridge(BuildOperationListenerManager buildOperationListenerManager, ListenerManager generalListenerManager) {
@@ -73,13 +73,15 @@ public class ApplicationClassesInSystemClassLoaderWorkerImplementationFactory im
     private final TemporaryFileProvider temporaryFileProvider;
     private final JvmVersionDetector jvmVersionDetector;
     private final File gradleUserHomeDir;
+    private final WorkerClassDataSharing classDataSharing;
 
     public ApplicationClassesInSystemClassLoaderWorkerImplementationFactory(ClassPathRegistry classPathRegistry, TemporaryFileProvider temporaryFileProvider,
-                                                                            JvmVersionDetector jvmVersionDetector, File gradleUserHomeDir) {
+                                                                            JvmVersionDetector jvmVersionDetector, File gradleUserHomeDir, WorkerClassDataSharing classDataSharing) {
         this.classPathRegistry = classPathRegistry;
         this.temporaryFileProvider = temporaryFileProvider;
         this.jvmVersionDetector = jvmVersionDetector;
         this.gradleUserHomeDir = gradleUserHomeDir;
+        this.classDataSharing = classDataSharing;
     }
 
     @Override
@@ -94,11 +96,13 @@ public void prepareJavaCommand(long workerId, String displayName, WorkerProcessB
         execSpec.getMainModule().set("gradle.worker");
         execSpec.getMainClass().set("worker." + GradleWorkerMain.class.getName());
 
-        boolean useOptionsFile = shouldUseOptionsFile(execSpec);
+        JavaVersion executableVersion = jvmVersionDetector.getJavaVersion(execSpec.getExecutable());
+        boolean useOptionsFile = executableVersion != null && executableVersion.isJava9Compatible();
         if (useOptionsFile) {
             // Use an options file to pass across application classpath
             File optionsFile = temporaryFileProvider.createTemporaryFile("gradle-worker-classpath", "txt");
-            List<String> jvmArgs = writeOptionsFile(execSpec.getModularity().getInferModulePath().get(), workerMainClassPath, implementationModulePath, applicationClasspath, applicationModulePath, optionsFile);
+            boolean useClassDataSharing = WorkerClassDataSharing.isSupported(executableVersion);
+            List<String> jvmArgs = writeOptionsFile(execSpec, useClassDataSharing, workerMainClassPath, implementationModulePath, applicationClasspath, applicationModulePath, optionsFile);
             execSpec.jvmArgs(jvmArgs);
         } else {
             // Use a dummy security manager, which hacks the application classpath into the system ClassLoader
@@ -165,12 +169,8 @@ public void prepareJavaCommand(long workerId, String displayName, WorkerProcessB
         execSpec.setStandardInput(buffer.getInputStream());
     }
 
-    private boolean shouldUseOptionsFile(JavaExecHandleBuilder execSpec) {
-        JavaVersion executableVersion = jvmVersionDetector.getJavaVersion(execSpec.getExecutable());
-        return executableVersion != null && executableVersion.isJava9Compatible();
-    }
-
-    private List<String> writeOptionsFile(boolean runAsModule, Collection<File> workerMainClassPath, Collection<URL> implementationModulePath, Collection<File> applicationClasspath, Set<File> applicationModulePath, File optionsFile) {
+    private List<String> writeOptionsFile(JavaExecHandleBuilder execSpec, boolean useClassDataSharing, Collection<File> workerMainClassPath, Collection<URL> implementationModulePath, Collection<File> applicationClasspath, Set<File> applicationModulePath, File optionsFile) {
+        boolean runAsModule = execSpec.getModularity().getInferModulePath().get();
         List<File> classpath = new ArrayList<>();
         List<File> modulePath = new ArrayList<>();
 
@@ -199,6 +199,10 @@ private List<String> writeOptionsFile(boolean runAsModule, Collection<File> work
         }
         if (!classpath.isEmpty()) {
             argumentList.addAll(Arrays.asList("-cp", Joiner.on(File.pathSeparator).join(classpath)));
+            if (useClassDataSharing && modulePath.isEmpty()) {
+                // Archives can only be shared when all application classes are loaded from jars on the classpath
+                argumentList.addAll(classDataSharing.jvmArgsFor(execSpec, classpath));
+            }
         }
         return ArgWriter.argsFileGenerator(optionsFile, ArgWriter.javaStyleFactory()).transform(argumentList);
     }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal.worker.child;
+
+import org.gradle.api.JavaVersion;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.FileLockManager;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.internal.LeastRecentlyUsedCacheCleanup;
+import org.gradle.cache.internal.SingleDepthFilesFinder;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.file.FileAccessTimeJournal;
+import org.gradle.internal.file.FileAccessTracker;
+import org.gradle.internal.file.impl.SingleDepthFileAccessTracker;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.process.ExecResult;
+import org.gradle.process.internal.ExecHandle;
+import org.gradle.process.internal.ExecHandleListener;
+import org.gradle.process.internal.JavaExecHandleBuilder;
+import org.gradle.util.GFileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.gradle.cache.internal.LeastRecentlyUsedCacheCleanup.DEFAULT_MAX_AGE_IN_DAYS_FOR_RECREATABLE_CACHE_ENTRIES;
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * Maintains application class data sharing (AppCDS) archives for worker processes, so that workers with the same classpath
+ * can map the classes loaded by earlier workers instead of loading and verifying them again.
+ *
+ * <p>Archives are kept in a cache in the Gradle user home and are keyed by a hash of the worker classpath, the Java executable
+ * and the JVM options that affect the archive layout. When no archive exists for a key, the next worker process is asked to
+ * dump its loaded classes on exit, using the dynamic archiving support of Java 13 and later. The archive is only published
+ * once that worker has exited successfully. A changed classpath produces a different key, so the archive is regenerated
+ * automatically, and archives that have not been used for some time are removed by the cleanup of the cache.</p>
+ *
+ * <p>Only one worker of this process creates a given archive at a time. Workers of different processes may create the same
+ * archive concurrently, in which case the archive of the first worker to finish is kept.</p>
+ *
+ * <p>The JVM can only archive and map classes loaded from jars, and refuses to start when a non-empty directory appears on the
+ * classpath, so archives are only used for workers whose classpath consists of jars only. A worker that has a directory on its
+ * classpath, such as a test worker with the compiled test classes, does not use class data sharing. This is disabled by default
+ * and can be enabled using the {@value #ENABLED_PROPERTY} system property.</p>
+ */
+public class WorkerClassDataSharing implements Closeable {
+    public static final String ENABLED_PROPERTY = "org.gradle.internal.worker.class-data-sharing";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkerClassDataSharing.class);
+    private static final int FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP = 1;
+
+    private final CacheRepository cacheRepository;
+    private final FileAccessTimeJournal fileAccessTimeJournal;
+    private final ExecutorFactory executorFactory;
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+    private PersistentCache cache;
+    private FileAccessTracker fileAccessTracker;
+
+    public WorkerClassDataSharing(CacheRepository cacheRepository, FileAccessTimeJournal fileAccessTimeJournal, ExecutorFactory executorFactory) {
+        this.cacheRepository = cacheRepository;
+        this.fileAccessTimeJournal = fileAccessTimeJournal;
+        this.executorFactory = executorFactory;
+    }
+
+    public static boolean isSupported(JavaVersion javaVersion) {
+        return javaVersion.isCompatibleWith(JavaVersion.VERSION_13) && Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "false"));
+    }
+
+    /**
+     * Returns the JVM arguments that make the given worker process use the archive for its classpath, or create it when it does not exist yet.
+     * Returns no arguments when the classpath cannot be archived.
+     */
+    public List<String> jvmArgsFor(JavaExecHandleBuilder execSpec, List<File> classpath) {
+        if (!isJarsOnly(classpath)) {
+            return Collections.emptyList();
+        }
+        String key = archiveKey(execSpec, classpath);
+        PersistentCache cache = getCache();
+        File archive = new File(cache.getBaseDir(), key + ".jsa");
+        return cache.useCache(() -> {
+            if (archive.isFile()) {
+                fileAccessTracker.markAccessed(archive);
+                return Collections.singletonList("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+            }
+            if (!pendingKeys.add(key)) {
+                // Another worker is currently creating the archive
+                return Collections.emptyList();
+            }
+            File pendingArchive;
+            try {
+                pendingArchive = File.createTempFile(key, ".jsa.tmp", cache.getBaseDir());
+            } catch (IOException e) {
+                LOGGER.debug("Could not create class data sharing archive {}.", archive, e);
+                pendingKeys.remove(key);
+                return Collections.emptyList();
+            }
+            execSpec.listener(new PublishArchiveOnExit(key, pendingArchive, archive));
+            return Collections.singletonList("-XX:ArchiveClassesAtExit=" + pendingArchive.getAbsolutePath());
+        });
+    }
+
+    private PersistentCache getCache() {
+        synchronized (lock) {
+            if (cache == null) {
+                cache = cacheRepository
+                    .cache("worker-cds")
+                    .withDisplayName("worker class data sharing archives")
+                    .withLockOptions(mode(FileLockManager.LockMode.OnDemand))
+                    .withCleanup(new LeastRecentlyUsedCacheCleanup(new SingleDepthFilesFinder(FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP), fileAccessTimeJournal, DEFAULT_MAX_AGE_IN_DAYS_FOR_RECREATABLE_CACHE_ENTRIES, executorFactory))
+                    .open();
+                fileAccessTracker = new SingleDepthFileAccessTracker(fileAccessTimeJournal, cache.getBaseDir(), FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP);
+            }
+            return cache;
+        }
+    }
+
+    private static boolean isJarsOnly(List<File> classpath) {
+        for (File file : classpath) {
+            if (!file.isFile() || !file.getName().endsWith(".jar")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String archiveKey(JavaExecHandleBuilder execSpec, List<File> classpath) {
+        Hasher hasher = Hashing.newHasher();
+        File executable = new File(execSpec.getExecutable());
+        hasher.putString(executable.getAbsolutePath());
+        hasher.putLong(executable.lastModified());
+        for (String jvmArg : execSpec.getAllJvmArgs()) {
+            // Heap and GC settings determine whether the archive can be mapped, system properties are irrelevant
+            if (jvmArg.startsWith("-X")) {
+                hasher.putString(jvmArg);
+            }
+        }
+        for (File file : classpath) {
+            // The JVM validates the archived jars in the same way, and rejects the archive when one of them changed
+            hasher.putString(file.getAbsolutePath());
+            hasher.putLong(file.length());
+            hasher.putLong(file.lastModified());
+        }
+        return hasher.hash().toString();
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            try {
+                if (cache != null) {
+                    cache.close();
+                }
+            } finally {
+                cache = null;
+                fileAccessTracker = null;
+            }
+        }
+    }
+
+    private class PublishArchiveOnExit implements ExecHandleListener {
+        private final String key;
+        private final File pendingArchive;
+        private final File archive;
+
+        PublishArchiveOnExit(String key, File pendingArchive, File archive) {
+            this.key = key;
+            this.pendingArchive = pendingArchive;
+            this.archive = archive;
+        }
+
+        @Override
+        public void executionStarted(ExecHandle execHandle) {
+        }
+
+        @Override
+        public void executionFinished(ExecHandle execHandle, ExecResult execResult) {
+            try {
+                // The archive is written while the JVM shuts down, so it is only complete when the process exited normally
+                if (execResult.getExitValue() == 0 && pendingArchive.length() > 0) {
+                    getCache().useCache(() -> {
+                        if (!archive.isFile() && !pendingArchive.renameTo(archive)) {
+                            LOGGER.debug("Could not publish class data sharing archive {}.", archive);
+                        }
+                    });
+                }
+            } finally {
+                GFileUtils.deleteQuietly(pendingArchive);
+                pendingKeys.remove(key);
+            }
+        }
+    }
+}
@@ -66,16 +66,25 @@ public ToolingModelBuilder getBuilder(String modelName) throws UnsupportedOperat
     @Override
     public Builder locateForClientOperation(String modelName, boolean parameter, GradleInternal target) throws UnknownModelException {
         ProjectInternal project = target.getDefaultProject();
-        return new BuildOperationWrappingBuilder(new LockAllProjectsBuilder(locateForClientOperation(modelName, project, parameter), projectStateRegistry), modelName, project, buildOperationExecutor);
+        ToolingModelBuilder builder = get(modelName);
+        Builder delegate = locateForClientOperation(builder, modelName, project, parameter);
+        if (!(builder instanceof ProjectLockAwareToolingModelBuilder)) {
+            delegate = new LockAllProjectsBuilder(delegate, projectStateRegistry);
+        }
+        return new BuildOperationWrappingBuilder(delegate, modelName, project, buildOperationExecutor);
     }
 
     @Override
     public Builder locateForClientOperation(String modelName, boolean parameter, ProjectInternal target) throws UnknownModelException {
-        return new BuildOperationWrappingBuilder(new LockSingleProjectBuilder(locateForClientOperation(modelName, target, parameter), target, projectStateRegistry), modelName, target, buildOperationExecutor);
+        ToolingModelBuilder builder = get(modelName);
+        Builder delegate = locateForClientOperation(builder, modelName, target, parameter);
+        if (!(builder instanceof ProjectLockAwareToolingModelBuilder)) {
+            delegate = new LockSingleProjectBuilder(delegate, target, projectStateRegistry);
+        }
+        return new BuildOperationWrappingBuilder(delegate, modelName, target, buildOperationExecutor);
     }
 
-    private Builder locateForClientOperation(String modelName, ProjectInternal project, boolean parameter) throws UnknownModelException {
-        ToolingModelBuilder builder = get(modelName);
+    private Builder locateForClientOperation(ToolingModelBuilder builder, String modelName, ProjectInternal project, boolean parameter) throws UnknownModelException {
         if (builder instanceof ParameterizedToolingModelBuilder) {
             return new BuilderWithParameter(modelName, project, (ParameterizedToolingModelBuilder) builder);
         }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.tooling.provider.model.internal;
+
+import org.gradle.tooling.provider.model.ToolingModelBuilder;
+
+/**
+ * A {@link ToolingModelBuilder} that acquires the state locks of the projects that it queries itself, when it is used to build a model for a tooling API client.
+ * Such a builder is not run while holding the state lock for all projects of the build or for the target project, which allows it to query several projects in parallel.
+ *
+ * <p>A builder must still be able to run when the calling thread can already access the state of all projects, for example when it is used by some other builder.</p>
+ */
+public interface ProjectLockAwareToolingModelBuilder extends ToolingModelBuilder {
+}
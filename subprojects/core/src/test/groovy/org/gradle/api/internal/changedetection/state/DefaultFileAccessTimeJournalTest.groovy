@@ -29,6 +29,8 @@ import org.junit.Rule
 import spock.lang.Specification
 import spock.lang.Subject
 
+import java.util.concurrent.TimeUnit
+
 import static org.gradle.api.internal.changedetection.state.DefaultFileAccessTimeJournal.CACHE_KEY
 import static org.gradle.api.internal.changedetection.state.DefaultFileAccessTimeJournal.FILE_ACCESS_PROPERTIES_FILE_NAME
 import static org.gradle.api.internal.changedetection.state.DefaultFileAccessTimeJournal.INCEPTION_TIMESTAMP_KEY
@@ -63,12 +65,32 @@ class DefaultFileAccessTimeJournalTest extends Specification {
     }
 
     def "overwrites existing value"() {
+        def later = 23 + TimeUnit.HOURS.toMillis(2)
+
+        when:
+        journal.setLastAccessTime(file, 23)
+        journal.setLastAccessTime(file, later)
+
+        then:
+        journal.getLastAccessTime(file) == later
+    }
+
+    def "does not overwrite existing value with a slightly later access time"() {
         when:
         journal.setLastAccessTime(file, 23)
         journal.setLastAccessTime(file, 42)
 
         then:
-        journal.getLastAccessTime(file) == 42
+        journal.getLastAccessTime(file) == 23
+    }
+
+    def "overwrites existing value with an earlier access time"() {
+        when:
+        journal.setLastAccessTime(file, 42)
+        journal.setLastAccessTime(file, 23)
+
+        then:
+        journal.getLastAccessTime(file) == 23
     }
 
     def "deletes last access time when asked to do so"() {
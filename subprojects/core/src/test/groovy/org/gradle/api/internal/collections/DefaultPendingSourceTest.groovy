@@ -71,6 +71,30 @@ class DefaultPendingSourceTest extends Specification {
         pending.size() == 1
     }
 
+    def "realizes pending elements of several matching types in the order they were added"() {
+        _ * provider1.getType() >> SomeType.class
+        _ * provider2.getType() >> SomeOtherType.class
+        _ * provider3.getType() >> SomeType.class
+
+        when:
+        pending.addPending(provider1)
+        pending.addPending(provider2)
+        pending.addPending(provider3)
+        pending.realizePending(BaseType.class)
+
+        then:
+        1 * realize.execute("provider1")
+
+        then:
+        1 * realize.execute("provider2")
+
+        then:
+        1 * realize.execute("provider3")
+
+        and:
+        pending.isEmpty()
+    }
+
     def "cannot realize pending elements when realize action is not set"() {
         given:
         pending.onRealize(null)
@@ -22,6 +22,8 @@ import org.gradle.internal.classloader.FilteringClassLoader
 import org.gradle.internal.classpath.ClassPath
 import org.gradle.internal.classpath.DefaultClassPath
 import org.gradle.internal.hash.HashCode
+import org.gradle.process.internal.health.memory.JvmMemoryStatus
+import org.gradle.process.internal.health.memory.MemoryManager
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
@@ -32,7 +34,8 @@ import java.util.function.Function
 class DefaultClassLoaderCacheTest extends Specification {
 
     def classpathHasher = new FileClasspathHasher()
-    def cache = new DefaultClassLoaderCache(new DefaultHashingClassLoaderFactory(classpathHasher), classpathHasher)
+    def memoryManager = Mock(MemoryManager)
+    def cache = new DefaultClassLoaderCache(new DefaultHashingClassLoaderFactory(classpathHasher), classpathHasher, memoryManager)
     def id1 = new ClassLoaderId() {
         @Override
         String getDisplayName() { "id1" }
@@ -184,6 +187,113 @@ class DefaultClassLoaderCacheTest extends Specification {
         cache.size() == 0
     }
 
+    def "reuses class loader that is no longer used by any id"() {
+        def root = classLoader(classPath("root"))
+        def loader = cache.get(id1, classPath("c1"), root, null)
+
+        when:
+        cache.remove(id1)
+
+        then:
+        cache.size() == 0
+        cache.idleSize() == 1
+
+        when:
+        cache.beforeComplete()
+        def reused = cache.get(id2, classPath("c1"), root, null)
+
+        then:
+        reused.is(loader)
+        cache.size() == 1
+        cache.idleSize() == 0
+    }
+
+    def "reuses filtered class loader that is no longer used by any id"() {
+        def root = classLoader(classPath("root"))
+        def f1 = new FilteringClassLoader.Spec(["1"], [], [], [], [], [], [])
+        def loader = cache.get(id1, classPath("c1"), root, f1)
+
+        when:
+        cache.remove(id1)
+
+        then:
+        cache.size() == 0
+        cache.idleSize() == 2
+
+        when:
+        def reused = cache.get(id2, classPath("c1"), root, f1)
+
+        then:
+        reused.is(loader)
+        cache.size() == 2
+        cache.idleSize() == 0
+    }
+
+    def "discards idle class loaders after some build sessions"() {
+        def root = classLoader(classPath("root"))
+        cache.get(id1, classPath("c1"), root, null)
+        cache.get(id2, classPath("c2"), root, null)
+
+        when:
+        cache.beforeComplete()
+
+        then:
+        cache.size() == 2
+        cache.idleSize() == 0
+
+        when:
+        cache.beforeComplete()
+
+        then:
+        cache.size() == 0
+        cache.idleSize() == 2
+
+        when:
+        3.times { cache.beforeComplete() }
+
+        then:
+        cache.idleSize() == 2
+
+        when:
+        cache.beforeComplete()
+
+        then:
+        cache.idleSize() == 0
+    }
+
+    def "discards idle class loaders when heap is almost full"() {
+        def root = classLoader(classPath("root"))
+        cache.get(id1, classPath("c1"), root, null)
+        cache.remove(id1)
+
+        when:
+        cache.onJvmMemoryStatus(memoryStatus(100, 50))
+
+        then:
+        cache.idleSize() == 1
+
+        when:
+        cache.onJvmMemoryStatus(memoryStatus(100, 95))
+
+        then:
+        cache.idleSize() == 0
+    }
+
+    def "stops listening to memory status when stopped"() {
+        when:
+        cache.stop()
+
+        then:
+        1 * memoryManager.removeListener(cache)
+    }
+
+    def memoryStatus(long max, long committed) {
+        return Stub(JvmMemoryStatus) {
+            getMaxMemory() >> max
+            getCommittedMemory() >> committed
+        }
+    }
+
     def "can add specialized loaders"() {
         def parent = Stub(ClassLoader)
         def loader = Stub(ClassLoader)
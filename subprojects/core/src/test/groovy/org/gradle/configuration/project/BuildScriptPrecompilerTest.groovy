@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration.project
+
+import org.gradle.api.internal.initialization.ClassLoaderScope
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.project.ProjectStateInternal
+import org.gradle.configuration.CompileOperationFactory
+import org.gradle.groovy.scripts.ScriptSource
+import org.gradle.groovy.scripts.internal.CompileOperation
+import org.gradle.groovy.scripts.internal.CrossBuildInMemoryCachingScriptClassCache
+import org.gradle.groovy.scripts.internal.FileCacheBackedScriptClassCompiler
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.resource.TextResource
+import spock.lang.Specification
+
+class BuildScriptPrecompilerTest extends Specification {
+    def scriptClassCompiler = Mock(FileCacheBackedScriptClassCompiler)
+    def scriptClassCache = Mock(CrossBuildInMemoryCachingScriptClassCache)
+    def compileOperationFactory = Mock(CompileOperationFactory)
+    def buildOperationExecutor = new TestBuildOperationExecutor()
+    def pluginsBlockOperation = Mock(CompileOperation)
+    def bodyOperation = Mock(CompileOperation)
+
+    def "setup"() {
+        _ * compileOperationFactory.getPluginsBlockCompileOperation(_) >> pluginsBlockOperation
+        _ * compileOperationFactory.getScriptCompileOperation(_, _) >> bodyOperation
+    }
+
+    def "compiles both passes of the build script against the scope of the parent project"() {
+        def baseScope = scope(true)
+        def project = project("build.gradle", baseScope, true)
+
+        when:
+        precompiler(true).precompile([project])
+
+        then:
+        1 * scriptClassCompiler.precompile(_, baseScope, pluginsBlockOperation, _, _)
+        1 * scriptClassCompiler.precompile(_, baseScope, bodyOperation, _, _)
+        buildOperationExecutor.operations.size() == 1
+    }
+
+    def "does not compile scripts of projects that cannot be compiled yet"() {
+        def configured = project("build.gradle", scope(true), false)
+        def parentNotConfigured = project("build.gradle", scope(false), true)
+        def kotlinScript = project("build.gradle.kts", scope(true), true)
+
+        when:
+        def considered = precompiler(true).precompile([configured, parentNotConfigured, kotlinScript])
+
+        then:
+        0 * scriptClassCompiler._
+        buildOperationExecutor.operations.empty
+        considered == [kotlinScript]
+    }
+
+    def "does not compile scripts that are already held in memory"() {
+        def baseScope = scope(true)
+        def project = project("build.gradle", baseScope, true)
+
+        when:
+        def considered = precompiler(true).precompile([project])
+
+        then:
+        1 * scriptClassCache.contains(_, baseScope, pluginsBlockOperation) >> true
+        1 * scriptClassCache.contains(_, baseScope, bodyOperation) >> false
+        0 * scriptClassCompiler.precompile(_, _, pluginsBlockOperation, _, _)
+        1 * scriptClassCompiler.precompile(_, baseScope, bodyOperation, _, _)
+        considered == [project]
+    }
+
+    def "ignores failures to compile a script"() {
+        def project = project("build.gradle", scope(true), true)
+
+        when:
+        precompiler(true).precompile([project])
+
+        then:
+        1 * scriptClassCompiler.precompile(_, _, pluginsBlockOperation, _, _) >> { throw new RuntimeException("broken") }
+        noExceptionThrown()
+    }
+
+    def "does nothing when not enabled"() {
+        def project = Mock(ProjectInternal)
+
+        when:
+        def considered = precompiler(false).precompile([project])
+
+        then:
+        0 * project._
+        0 * scriptClassCompiler._
+        considered.empty
+    }
+
+    def precompiler(boolean enabled) {
+        return new BuildScriptPrecompiler(scriptClassCompiler, scriptClassCache, compileOperationFactory, buildOperationExecutor, enabled)
+    }
+
+    def scope(boolean locked) {
+        return Stub(ClassLoaderScope) {
+            isLocked() >> locked
+        }
+    }
+
+    def project(String fileName, ClassLoaderScope baseScope, boolean unconfigured) {
+        def resource = Stub(TextResource) {
+            isContentCached() >> true
+        }
+        def scriptSource = Stub(ScriptSource) {
+            getFileName() >> fileName
+            getResource() >> resource
+        }
+        def state = Stub(ProjectStateInternal) {
+            isUnconfigured() >> unconfigured
+        }
+        return Stub(ProjectInternal) {
+            getBuildScriptSource() >> scriptSource
+            getBaseClassLoaderScope() >> baseScope
+            getState() >> state
+        }
+    }
+}
@@ -75,6 +75,57 @@ class LifecycleProjectEvaluatorTest extends Specification {
         operations.empty
     }
 
+    void "nothing happens if project was configured by another thread while waiting for the project lock"() {
+        given:
+        evaluator = new LifecycleProjectEvaluator(buildOperationExecutor, delegate, true)
+
+        when:
+        evaluate()
+
+        then:
+        1 * mutationState.applyToMutableState(_) >> { Consumer consumer ->
+            state.configured()
+            consumer.accept(project)
+        }
+        0 * delegate._
+
+        and:
+        operations.empty
+    }
+
+    void "waits for the project lock when project is being configured by another thread"() {
+        given:
+        evaluator = new LifecycleProjectEvaluator(buildOperationExecutor, delegate, true)
+        state.toBeforeEvaluate()
+
+        when:
+        evaluate()
+
+        then:
+        1 * mutationState.applyToMutableState(_) >> { Consumer consumer ->
+            state.toEvaluate()
+            state.toAfterEvaluate()
+            state.configured()
+            consumer.accept(project)
+        }
+        0 * delegate._
+
+        and:
+        operations.empty
+    }
+
+    void "does not acquire the project lock when project is being configured and not configuring in parallel"() {
+        given:
+        state.toBeforeEvaluate()
+
+        when:
+        evaluate()
+
+        then:
+        0 * mutationState.applyToMutableState(_)
+        0 * delegate._
+    }
+
     void "nothing happens if project is being configured now"() {
         given:
         state.toBeforeEvaluate()
@@ -40,7 +40,7 @@ class TaskNameResolverTest extends Specification {
 
         then:
         1 * tasks.discoverTasks()
-        1 * tasks.names >> (['task'] as SortedSet)
+        1 * tasks.hasTaskWithName('task') >> true
         0 * tasks._
 
         when:
@@ -56,7 +56,7 @@ class TaskNameResolverTest extends Specification {
 
     def "returns null when no task with given name for single project"() {
         given:
-        tasks.names >> (['not-a-task'] as SortedSet)
+        tasks.hasTaskWithName('task') >> false
 
         expect:
         resolver.selectWithName('task', project, false) == null
@@ -80,8 +80,8 @@ class TaskNameResolverTest extends Specification {
         then:
         1 * tasks.discoverTasks()
         1 * childTasks.discoverTasks()
-        1 * tasks.names >> (['task'] as SortedSet)
-        1 * childTasks.names >> (['task'] as SortedSet)
+        1 * tasks.hasTaskWithName('task') >> true
+        1 * childTasks.hasTaskWithName('task') >> true
         1 * tasks.getByName('task') >> task1
         1 * childTasks.getByName('task') >> task2
         0 * tasks._
@@ -115,7 +115,7 @@ class TaskNameResolverTest extends Specification {
 
         then:
         1 * tasks.discoverTasks()
-        1 * tasks.names >> (['task'] as SortedSet)
+        1 * tasks.hasTaskWithName('task') >> true
         1 * tasks.getByName('task') >> task1
         0 * tasks._
         0 * childTasks._
@@ -147,9 +147,9 @@ class TaskNameResolverTest extends Specification {
         then:
         1 * tasks.discoverTasks()
         1 * childTasks.discoverTasks()
-        1 * tasks.names >> (['not-a-task'] as SortedSet)
+        1 * tasks.hasTaskWithName('task') >> false
         1 * tasks.findByName('task') >> null
-        1 * childTasks.names >> (['task'] as SortedSet)
+        1 * childTasks.hasTaskWithName('task') >> true
         1 * childTasks.getByName('task') >> task1
         0 * tasks._
         0 * childTasks._
@@ -223,9 +223,9 @@ class TaskNameResolverTest extends Specification {
         matches == [task1, task2]
 
         and:
-        1 * tasks.names >> (['task1', 'task2'] as SortedSet)
+        1 * tasks.hasTaskWithName('task1') >> true
         1 * tasks.getByName('task1') >> task1
-        1 * childTasks.names >> (['task1', 'task3'] as SortedSet)
+        1 * childTasks.hasTaskWithName('task1') >> true
         1 * childTasks.getByName('task1') >> task2
         0 * tasks._
         0 * childTasks._
@@ -263,7 +263,7 @@ class TaskNameResolverTest extends Specification {
         matches == [task1]
 
         and:
-        1 * tasks.names >> (['task1', 'task2'] as SortedSet)
+        1 * tasks.hasTaskWithName('task1') >> true
         1 * tasks.getByName('task1') >> task1
         0 * tasks._
         0 * childTasks._
@@ -18,13 +18,25 @@ package org.gradle.execution
 
 import org.gradle.api.BuildCancelledException
 import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.project.ProjectState
+import org.gradle.api.internal.project.ProjectStateInternal
+import org.gradle.configuration.project.BuildScriptPrecompiler
 import org.gradle.initialization.BuildCancellationToken
-import spock.lang.Specification
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.concurrent.DefaultParallelismConfiguration
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.operations.BuildOperationRef
+import org.gradle.internal.operations.CurrentBuildOperationRef
+import org.gradle.internal.resources.DefaultResourceLockCoordinationService
+import org.gradle.internal.work.DefaultWorkerLeaseService
+import org.gradle.internal.work.WorkerLeaseService
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
 
-class TaskPathProjectEvaluatorTest extends Specification {
+class TaskPathProjectEvaluatorTest extends ConcurrentSpec {
     private cancellationToken = Mock(BuildCancellationToken)
     private project = Mock(ProjectInternal)
-    private evaluator = new TaskPathProjectEvaluator(cancellationToken)
+    private buildScriptPrecompiler = Mock(BuildScriptPrecompiler)
+    private evaluator = new TaskPathProjectEvaluator(cancellationToken, buildScriptPrecompiler, Stub(WorkerLeaseService), Stub(ExecutorFactory), new DefaultParallelismConfiguration(false, 1), false)
 
     def "project configuration fails when cancelled"() {
         given:
@@ -43,10 +55,13 @@ class TaskPathProjectEvaluatorTest extends Specification {
     def "project hierarchy configuration fails when cancelled"() {
         def child1 = Mock(ProjectInternal)
         def child2 = Mock(ProjectInternal)
-        def subprojects = [child1, child2]
+        def subprojects = new LinkedHashSet([child1, child2])
 
         given:
         project.subprojects >> subprojects
+        child1.state >> Stub(ProjectStateInternal) { isUnconfigured() >> true }
+        child2.state >> Stub(ProjectStateInternal) { isUnconfigured() >> true }
+        buildScriptPrecompiler.precompile(_) >> []
         cancellationToken.cancellationRequested >>> [false, false, true]
 
         when:
@@ -60,4 +75,155 @@ class TaskPathProjectEvaluatorTest extends Specification {
         1 * child1.evaluate()
         0 * child2._
     }
+
+    def "configures the projects of each level of the hierarchy concurrently when configuring in parallel"() {
+        def parallelismConfiguration = new DefaultParallelismConfiguration(true, 4)
+        def workerLeaseService = new DefaultWorkerLeaseService(new DefaultResourceLockCoordinationService(), parallelismConfiguration)
+        def parallelEvaluator = new TaskPathProjectEvaluator(cancellationToken, buildScriptPrecompiler, workerLeaseService, new DefaultExecutorFactory(), parallelismConfiguration, true)
+        def child1 = Mock(ProjectInternal)
+        def child2 = Mock(ProjectInternal)
+        def grandChild = Mock(ProjectInternal)
+        def currentOperation = Stub(BuildOperationRef)
+        def operations = [].asSynchronized()
+
+        given:
+        project.subprojects >> [child1, grandChild, child2]
+        project.evaluate() >> project
+        child1.depth >> 1
+        child1.parent >> project
+        child1.mutationState >> Stub(ProjectState)
+        child1.evaluate() >> {
+            operations << CurrentBuildOperationRef.instance().get()
+            instant.child1Started
+            thread.blockUntil.child2Started
+            child1
+        }
+        child2.depth >> 1
+        child2.parent >> project
+        child2.mutationState >> Stub(ProjectState)
+        child2.evaluate() >> {
+            operations << CurrentBuildOperationRef.instance().get()
+            instant.child2Started
+            thread.blockUntil.child1Started
+            child2
+        }
+        grandChild.depth >> 2
+        grandChild.parent >> child1
+        grandChild.mutationState >> Stub(ProjectState)
+        grandChild.evaluate() >> {
+            operations << CurrentBuildOperationRef.instance().get()
+            instant.grandChildStarted
+            grandChild
+        }
+        def completion = workerLeaseService.getWorkerLease().start()
+        CurrentBuildOperationRef.instance().set(currentOperation)
+
+        when:
+        try {
+            parallelEvaluator.configureHierarchy(project)
+        } finally {
+            CurrentBuildOperationRef.instance().clear()
+            completion.leaseFinish()
+            workerLeaseService.stop()
+        }
+
+        then:
+        instant.grandChildStarted > instant.child1Started
+        instant.grandChildStarted > instant.child2Started
+        1 * buildScriptPrecompiler.precompile([child1, child2])
+        1 * buildScriptPrecompiler.precompile([grandChild])
+
+        and:
+        // No build operation is added around the configuration of each project
+        operations.size() == 3
+        operations.every { it.is(currentOperation) }
+    }
+
+    def "configures the subprojects one after another when the current thread already has access to them"() {
+        def workerLeaseService = Mock(WorkerLeaseService)
+        def executorFactory = Mock(ExecutorFactory)
+        def parallelEvaluator = new TaskPathProjectEvaluator(cancellationToken, buildScriptPrecompiler, workerLeaseService, executorFactory, new DefaultParallelismConfiguration(true, 4), true)
+        def child1 = Mock(ProjectInternal)
+        def child2 = Mock(ProjectInternal)
+        def subprojects = new LinkedHashSet([child1, child2])
+        def state = Stub(ProjectState)
+
+        given:
+        project.subprojects >> subprojects
+        state.hasMutableState() >> true
+        child1.mutationState >> state
+        child1.state >> Stub(ProjectStateInternal) { isUnconfigured() >> true }
+        child2.mutationState >> state
+        child2.state >> Stub(ProjectStateInternal) { isUnconfigured() >> true }
+
+        when:
+        parallelEvaluator.configureHierarchy(project)
+
+        then:
+        1 * project.evaluate()
+
+        then:
+        1 * buildScriptPrecompiler.precompile(subprojects) >> [child1, child2]
+
+        then:
+        1 * child1.evaluate()
+
+        then:
+        1 * child2.evaluate()
+        0 * executorFactory._
+        0 * workerLeaseService._
+    }
+
+    def "precompiles build scripts of subprojects once the root project is configured"() {
+        def child1 = Mock(ProjectInternal)
+        def child2 = Mock(ProjectInternal)
+        def subprojects = new LinkedHashSet([child1, child2])
+
+        given:
+        project.subprojects >> subprojects
+        child1.state >> Stub(ProjectStateInternal) { isUnconfigured() >> true }
+        child2.state >> Stub(ProjectStateInternal) { isUnconfigured() >> true }
+
+        when:
+        evaluator.configureHierarchy(project)
+
+        then:
+        1 * project.evaluate()
+
+        then:
+        1 * buildScriptPrecompiler.precompile(subprojects) >> [child1, child2]
+
+        then:
+        1 * child1.evaluate()
+        1 * child2.evaluate()
+    }
+
+    def "precompiles build scripts of deeper levels of the hierarchy once their parent is configured"() {
+        def child = Mock(ProjectInternal)
+        def grandChild = Mock(ProjectInternal)
+        def subprojects = new LinkedHashSet([child, grandChild])
+
+        given:
+        project.subprojects >> subprojects
+        child.state >> Stub(ProjectStateInternal) { isUnconfigured() >> true }
+        grandChild.state >> Stub(ProjectStateInternal) { isUnconfigured() >> true }
+
+        when:
+        evaluator.configureHierarchy(project)
+
+        then:
+        1 * project.evaluate()
+
+        then:
+        1 * buildScriptPrecompiler.precompile(subprojects) >> [child]
+
+        then:
+        1 * child.evaluate()
+
+        then:
+        1 * buildScriptPrecompiler.precompile(subprojects) >> [grandChild]
+
+        then:
+        1 * grandChild.evaluate()
+    }
 }
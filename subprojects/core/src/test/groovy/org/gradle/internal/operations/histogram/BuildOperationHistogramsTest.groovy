@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.histogram
+
+import org.gradle.internal.operations.BuildOperationDescriptor
+import org.gradle.internal.operations.BuildOperationListenerManager
+import org.gradle.internal.operations.OperationFinishEvent
+import spock.lang.Specification
+
+class BuildOperationHistogramsTest extends Specification {
+    def listenerManager = Mock(BuildOperationListenerManager)
+
+    def "collects the durations of operations by type of details"() {
+        def histograms = new BuildOperationHistograms(listenerManager)
+
+        when:
+        finish(histograms, "details", 0, 10)
+        finish(histograms, "details", 100, 102)
+        finish(histograms, 12, 0, 1000)
+        finish(histograms, null, 0, 5000)
+
+        then:
+        histograms.histograms*.operationType == [Integer.name, String.name]
+        def strings = histograms.histograms[1]
+        strings.count == 2
+        strings.totalTime == 12
+        strings.maxTime == 10
+    }
+
+    def "approximates percentiles by powers of two"() {
+        def histogram = new OperationDurationHistogram("type")
+
+        when:
+        (1..98).each { histogram.record(5) }
+        histogram.record(100)
+        histogram.record(3000)
+
+        then:
+        histogram.getPercentile(0.5) == 7
+        histogram.getPercentile(0.99) == 127
+        histogram.getPercentile(1) == 3000
+        histogram.maxTime == 3000
+    }
+
+    def "stops collecting when stopped"() {
+        when:
+        def histograms = new BuildOperationHistograms(listenerManager)
+
+        then:
+        1 * listenerManager.addListener(_)
+
+        when:
+        finish(histograms, "details", 0, 1)
+        histograms.stop()
+
+        then:
+        1 * listenerManager.removeListener(histograms)
+    }
+
+    private static void finish(BuildOperationHistograms histograms, Object details, long start, long end) {
+        def descriptor = BuildOperationDescriptor.displayName("operation").details(details).build()
+        histograms.finished(descriptor, new OperationFinishEvent(start, end, null, null))
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.operations.trace
+
+import groovy.json.JsonSlurper
+import org.gradle.StartParameter
+import org.gradle.internal.UncheckedException
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.ManagedExecutor
+import org.gradle.internal.operations.BuildOperationDescriptor
+import org.gradle.internal.operations.BuildOperationListener
+import org.gradle.internal.operations.BuildOperationListenerManager
+import org.gradle.internal.operations.OperationFinishEvent
+import org.gradle.internal.operations.OperationIdentifier
+import org.gradle.internal.operations.OperationProgressEvent
+import org.gradle.internal.operations.OperationStartEvent
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class BuildOperationTraceTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def executorFactory = new DefaultExecutorFactory()
+    def listenerManager = Mock(BuildOperationListenerManager)
+    def basePath = tmpDir.file("operations").absolutePath
+    def startTime = System.currentTimeMillis()
+    BuildOperationListener listener
+
+    def setup() {
+        listenerManager.addListener(_) >> { BuildOperationListener l -> listener = l }
+    }
+
+    def cleanup() {
+        executorFactory.stop()
+    }
+
+    def "writes events to the log in the order they are reported"() {
+        def trace = trace()
+        def parent = operation(1, null)
+        def child = operation(2, 1)
+
+        when:
+        listener.started(parent, new OperationStartEvent(startTime))
+        listener.started(child, new OperationStartEvent(startTime + 1))
+        listener.progress(child.id, new OperationProgressEvent(startTime + 2, [message: "progress"]))
+        listener.finished(child, new OperationFinishEvent(startTime + 1, startTime + 3, null, null))
+        listener.finished(parent, new OperationFinishEvent(startTime, startTime + 4, null, [result: "ok"]))
+        trace.stop()
+
+        then:
+        logEvents().collect { eventName(it) } == ["start 1", "start 2", "progress 2", "finish 2", "finish 1"]
+    }
+
+    def "does not write events that are reported after the trace has been stopped"() {
+        def trace = trace()
+        def first = operation(1, null)
+        def second = operation(2, null)
+
+        when:
+        listener.started(first, new OperationStartEvent(startTime))
+        listener.finished(first, new OperationFinishEvent(startTime, startTime + 1, null, null))
+        trace.stop()
+        listener.started(second, new OperationStartEvent(startTime + 2))
+        listener.finished(second, new OperationFinishEvent(startTime + 2, startTime + 3, null, null))
+
+        then:
+        1 * listenerManager.removeListener(_)
+        logEvents().collect { eventName(it) } == ["start 1", "finish 1"]
+    }
+
+    def "writes all events when more events are reported than can be pending"() {
+        def trace = trace()
+        def count = 25000
+
+        when:
+        count.times { i ->
+            def operation = operation(i + 1, null)
+            listener.started(operation, new OperationStartEvent(startTime + i))
+            listener.finished(operation, new OperationFinishEvent(startTime + i, startTime + i + 1, null, null))
+        }
+        trace.stop()
+
+        then:
+        BuildOperationTrace.read(basePath).roots.size() == count
+    }
+
+    def "does not block threads reporting events when the writer fails"() {
+        def writer = executorFactory.create("writer", 1)
+        def failingExecutorFactory = Stub(ExecutorFactory) {
+            create(_, _) >> Stub(ManagedExecutor) {
+                execute(_) >> { Runnable action ->
+                    writer.execute {
+                        Thread.currentThread().interrupt()
+                        action.run()
+                    }
+                }
+                stop() >> { writer.stop() }
+            }
+        }
+        def trace = trace([:], failingExecutorFactory)
+
+        when:
+        25000.times { i ->
+            def operation = operation(i + 1, null)
+            listener.started(operation, new OperationStartEvent(startTime + i))
+            listener.finished(operation, new OperationFinishEvent(startTime + i, startTime + i + 1, null, null))
+        }
+        trace.stop()
+
+        then:
+        def e = thrown(UncheckedException)
+        e.cause instanceof InterruptedException
+    }
+
+    def "writes tree files when the trace is stopped"() {
+        def trace = trace()
+        def operation = operation(1, null)
+
+        when:
+        listener.started(operation, new OperationStartEvent(startTime))
+        listener.finished(operation, new OperationFinishEvent(startTime, startTime + 1, null, null))
+        trace.stop()
+
+        then:
+        tmpDir.file("operations-log.txt").file
+        tmpDir.file("operations-tree.json").file
+        tmpDir.file("operations-tree.txt").text.startsWith("operation 1")
+    }
+
+    def "can skip writing tree files and write them later from the log"() {
+        def trace = trace((BuildOperationTrace.TREE_SYSPROP): "false")
+        def operation = operation(1, null)
+
+        when:
+        listener.started(operation, new OperationStartEvent(startTime))
+        listener.finished(operation, new OperationFinishEvent(startTime, startTime + 1, null, null))
+        trace.stop()
+
+        then:
+        tmpDir.file("operations-log.txt").file
+        !tmpDir.file("operations-tree.json").exists()
+        !tmpDir.file("operations-tree.txt").exists()
+
+        when:
+        BuildOperationTrace.main([basePath] as String[])
+
+        then:
+        tmpDir.file("operations-tree.json").file
+        tmpDir.file("operations-tree.txt").text.startsWith("operation 1")
+    }
+
+    private BuildOperationTrace trace(Map<String, String> systemProperties = [:], ExecutorFactory executorFactory = this.executorFactory) {
+        def startParameter = new StartParameter()
+        startParameter.systemPropertiesArgs = [(BuildOperationTrace.SYSPROP): basePath] + systemProperties
+        return new BuildOperationTrace(startParameter, listenerManager, executorFactory)
+    }
+
+    private static BuildOperationDescriptor operation(long id, Long parentId) {
+        return BuildOperationDescriptor.displayName("operation $id").build(new OperationIdentifier(id), parentId == null ? null : new OperationIdentifier(parentId))
+    }
+
+    private List<Map<String, ?>> logEvents() {
+        def slurper = new JsonSlurper()
+        return tmpDir.file("operations-log.txt").readLines().collect { slurper.parseText(it) as Map<String, ?> }
+    }
+
+    private static String eventName(Map<String, ?> event) {
+        if (event.containsKey("startTime")) {
+            return "start ${event.id}"
+        }
+        if (event.containsKey("time")) {
+            return "progress ${event.id}"
+        }
+        return "finish ${event.id}"
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal.worker.child
+
+import org.gradle.api.JavaVersion
+import org.gradle.cache.internal.DefaultCacheRepository
+import org.gradle.cache.internal.DefaultCacheScopeMapping
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.file.FileAccessTimeJournal
+import org.gradle.process.ExecResult
+import org.gradle.process.internal.ExecHandle
+import org.gradle.process.internal.ExecHandleListener
+import org.gradle.process.internal.JavaExecHandleBuilder
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.testfixtures.internal.TestInMemoryCacheFactory
+import org.gradle.util.GradleVersion
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
+import spock.lang.Specification
+
+class WorkerClassDataSharingTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
+
+    def userHome = tmpDir.createDir("user-home")
+    def cacheRepository = new DefaultCacheRepository(new DefaultCacheScopeMapping(userHome, null, GradleVersion.current()), new TestInMemoryCacheFactory())
+    def journal = Mock(FileAccessTimeJournal)
+    def executorFactory = new DefaultExecutorFactory()
+    def classpath = [tmpDir.file("worker.jar").createFile()]
+    def classDataSharing = new WorkerClassDataSharing(cacheRepository, journal, executorFactory)
+
+    def cleanup() {
+        classDataSharing.close()
+    }
+
+    def "is disabled by default"() {
+        expect:
+        !WorkerClassDataSharing.isSupported(JavaVersion.VERSION_13)
+    }
+
+    def "is only supported on Java 13 and later"() {
+        given:
+        System.setProperty(WorkerClassDataSharing.ENABLED_PROPERTY, "true")
+
+        expect:
+        !WorkerClassDataSharing.isSupported(JavaVersion.VERSION_11)
+        WorkerClassDataSharing.isSupported(JavaVersion.VERSION_13)
+    }
+
+    def "creates archive on first use and uses it afterwards"() {
+        ExecHandleListener listener = null
+        def first = execSpec { listener = it }
+
+        when:
+        def args = classDataSharing.jvmArgsFor(first, classpath)
+
+        then:
+        args.size() == 1
+        args[0].startsWith("-XX:ArchiveClassesAtExit=")
+
+        when:
+        def pendingArchive = new File(args[0] - "-XX:ArchiveClassesAtExit=")
+        pendingArchive.text = "archive"
+        listener.executionFinished(Stub(ExecHandle), Stub(ExecResult) { getExitValue() >> 0 })
+
+        then:
+        !pendingArchive.exists()
+
+        when:
+        def archiveArgs = classDataSharing.jvmArgsFor(execSpec(), classpath)
+
+        then:
+        archiveArgs.size() == 1
+        def archive = new File(archiveArgs[0] - "-XX:SharedArchiveFile=")
+        archive.text == "archive"
+        archive.parentFile == pendingArchive.parentFile
+        archive.parentFile.parentFile == new File(userHome, "caches/${GradleVersion.current().version}")
+        1 * journal.setLastAccessTime(archive, _)
+    }
+
+    def "another process can create an archive that this process has not finished creating"() {
+        given:
+        classDataSharing.jvmArgsFor(execSpec(), classpath)
+
+        when:
+        def otherProcess = new WorkerClassDataSharing(cacheRepository, journal, executorFactory)
+        def args = otherProcess.jvmArgsFor(execSpec(), classpath)
+
+        then:
+        args[0].startsWith("-XX:ArchiveClassesAtExit=")
+
+        cleanup:
+        otherProcess?.close()
+    }
+
+    def "only one worker creates an archive at a time"() {
+        given:
+        classDataSharing.jvmArgsFor(execSpec(), classpath)
+
+        expect:
+        classDataSharing.jvmArgsFor(execSpec(), classpath).empty
+    }
+
+    def "does not publish archive when worker fails"() {
+        ExecHandleListener listener = null
+        def args = classDataSharing.jvmArgsFor(execSpec { listener = it }, classpath)
+        new File(args[0] - "-XX:ArchiveClassesAtExit=").text = "partial archive"
+
+        when:
+        listener.executionFinished(Stub(ExecHandle), Stub(ExecResult) { getExitValue() >> 1 })
+
+        then:
+        classDataSharing.jvmArgsFor(execSpec(), classpath)[0].startsWith("-XX:ArchiveClassesAtExit=")
+    }
+
+    def "does not use an archive when the classpath contains a directory"() {
+        given:
+        def classesDir = tmpDir.createDir("classes")
+        classesDir.file("Thing.class").createFile()
+
+        expect:
+        classDataSharing.jvmArgsFor(execSpec(), [classesDir] + classpath).empty
+        classDataSharing.jvmArgsFor(execSpec(), classpath + [classesDir]).empty
+        !new File(userHome, "caches").exists()
+    }
+
+    def "does not use an archive when a classpath entry does not exist"() {
+        expect:
+        classDataSharing.jvmArgsFor(execSpec(), classpath + [tmpDir.file("missing.jar")]).empty
+    }
+
+    def "uses a different archive when the classpath changes"() {
+        ExecHandleListener listener = null
+        def args = classDataSharing.jvmArgsFor(execSpec { listener = it }, classpath)
+        new File(args[0] - "-XX:ArchiveClassesAtExit=").text = "archive"
+        listener.executionFinished(Stub(ExecHandle), Stub(ExecResult) { getExitValue() >> 0 })
+
+        when:
+        classpath[0] << "changed"
+
+        then:
+        classDataSharing.jvmArgsFor(execSpec(), classpath)[0].startsWith("-XX:ArchiveClassesAtExit=")
+    }
+
+    private JavaExecHandleBuilder execSpec(Closure onListener = {}) {
+        return Mock(JavaExecHandleBuilder) {
+            getExecutable() >> "/jdk/bin/java"
+            getAllJvmArgs() >> ["-Xmx512m", "-Dworker.id=1"]
+            listener(_) >> { ExecHandleListener listener -> onListener(listener); null }
+        }
+    }
+}
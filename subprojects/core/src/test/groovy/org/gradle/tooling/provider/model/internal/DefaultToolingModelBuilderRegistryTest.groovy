@@ -201,4 +201,35 @@ class DefaultToolingModelBuilderRegistryTest extends Specification {
         1 * builder.buildAll("model", "param", project) >> "result"
         0 * _
     }
+
+    def "does not lock projects for builder that locks projects itself"() {
+        def builder = Mock(ProjectLockAwareToolingModelBuilder)
+        def project = Stub(ProjectInternal)
+        def gradle = Stub(GradleInternal) {
+            getDefaultProject() >> project
+        }
+
+        given:
+        registry.register(builder)
+
+        and:
+        builder.canBuild("model") >> true
+
+        expect:
+        def buildScopedBuilder = registry.locateForClientOperation("model", false, gradle)
+        def projectScopedBuilder = registry.locateForClientOperation("model", false, project)
+
+        when:
+        def result1 = buildScopedBuilder.build(null)
+        def result2 = projectScopedBuilder.build(null)
+
+        then:
+        result1 == "result1"
+        result2 == "result2"
+
+        and:
+        1 * builder.buildAll("model", project) >> "result1"
+        1 * builder.buildAll("model", project) >> "result2"
+        0 * _
+    }
 }
@@ -30,6 +30,7 @@
 import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
 import org.gradle.cache.internal.InMemoryCacheDecoratorFactory;
 import org.gradle.cache.internal.UsedGradleVersions;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.internal.execution.history.ExecutionHistoryCacheAccess;
 import org.gradle.internal.execution.history.ExecutionHistoryStore;
@@ -39,7 +40,7 @@
 
 public class DependencyManagementGradleUserHomeScopeServices {
 
-    DefaultArtifactCaches.WritableArtifactCacheLockingParameters createWritableArtifactCacheLockingParameters(FileAccessTimeJournal fileAccessTimeJournal, UsedGradleVersions usedGradleVersions) {
+    DefaultArtifactCaches.WritableArtifactCacheLockingParameters createWritableArtifactCacheLockingParameters(FileAccessTimeJournal fileAccessTimeJournal, UsedGradleVersions usedGradleVersions, ExecutorFactory executorFactory) {
         return new DefaultArtifactCaches.WritableArtifactCacheLockingParameters() {
             @Override
             public FileAccessTimeJournal getFileAccessTimeJournal() {
@@ -50,6 +51,11 @@ public FileAccessTimeJournal getFileAccessTimeJournal() {
             public UsedGradleVersions getUsedGradleVersions() {
                 return usedGradleVersions;
             }
+
+            @Override
+            public ExecutorFactory getExecutorFactory() {
+                return executorFactory;
+            }
         };
     }
 
@@ -91,7 +97,8 @@ ImmutableTransformationWorkspaceServices createTransformerWorkspaceServices(
         CacheRepository cacheRepository,
         CrossBuildInMemoryCacheFactory crossBuildInMemoryCacheFactory,
         FileAccessTimeJournal fileAccessTimeJournal,
-        ExecutionHistoryStore executionHistoryStore
+        ExecutionHistoryStore executionHistoryStore,
+        ExecutorFactory executorFactory
     ) {
         return new ImmutableTransformationWorkspaceServices(
             cacheRepository
@@ -100,7 +107,8 @@ ImmutableTransformationWorkspaceServices createTransformerWorkspaceServices(
                 .withDisplayName("Artifact transforms cache"),
             fileAccessTimeJournal,
             executionHistoryStore,
-            crossBuildInMemoryCacheFactory.newCacheRetainingDataFromPreviousBuild()
+            crossBuildInMemoryCacheFactory.newCacheRetainingDataFromPreviousBuild(),
+            executorFactory
         );
     }
 }
@@ -25,6 +25,7 @@
 import org.gradle.cache.internal.CacheScopeMapping;
 import org.gradle.cache.internal.UsedGradleVersions;
 import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.file.FileAccessTimeJournal;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.util.IncubationLogger;
@@ -50,7 +51,7 @@ public DefaultArtifactCaches(CacheScopeMapping cacheScopeMapping,
         writableCacheMetadata = new DefaultArtifactCacheMetadata(cacheScopeMapping);
         writableArtifactCacheLockingManager = new LateInitWritableArtifactCacheLockingManager(() -> {
             WritableArtifactCacheLockingParameters params = writableArtifactCacheLockingParametersFactory.create();
-            return new WritableArtifactCacheLockingManager(cacheRepository, writableCacheMetadata, params.getFileAccessTimeJournal(), params.getUsedGradleVersions());
+            return new WritableArtifactCacheLockingManager(cacheRepository, writableCacheMetadata, params.getFileAccessTimeJournal(), params.getUsedGradleVersions(), params.getExecutorFactory());
         });
         String roCache = System.getenv(READONLY_CACHE_ENV_VAR);
         if (StringUtils.isNotEmpty(roCache)) {
@@ -126,6 +127,8 @@ public interface WritableArtifactCacheLockingParameters {
         FileAccessTimeJournal getFileAccessTimeJournal();
 
         UsedGradleVersions getUsedGradleVersions();
+
+        ExecutorFactory getExecutorFactory();
     }
 
     private static class LateInitWritableArtifactCacheLockingManager implements ArtifactCacheLockingManager, Closeable {
@@ -18,6 +18,7 @@ package org.gradle.api.internal.artifacts.ivyservice
 
 import org.gradle.cache.internal.DefaultCacheRepository
 import org.gradle.cache.internal.UsedGradleVersions
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.internal.resource.local.ModificationTimeFileAccessTimeJournal
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.testfixtures.internal.TestInMemoryCacheFactory
@@ -44,7 +45,7 @@ class DefaultArtifactCacheLockingManagerTest extends Specification {
     def usedGradleVersions = Stub(UsedGradleVersions)
 
     @Subject @AutoCleanup
-    def cacheLockingManager = new WritableArtifactCacheLockingManager(cacheRepository, artifactCacheMetadata, fileAccessTimeJournal, usedGradleVersions)
+    def cacheLockingManager = new WritableArtifactCacheLockingManager(cacheRepository, artifactCacheMetadata, fileAccessTimeJournal, usedGradleVersions, new DefaultExecutorFactory())
 
     def "cleans up resources"() {
         given:
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.plugins.ide.tooling.r68
+
+import org.gradle.integtests.tooling.fixture.TargetGradleVersion
+import org.gradle.integtests.tooling.fixture.ToolingApiSpecification
+import org.gradle.integtests.tooling.fixture.ToolingApiVersion
+import org.gradle.test.fixtures.maven.MavenFileRepository
+import org.gradle.tooling.model.idea.IdeaModuleDependency
+import org.gradle.tooling.model.idea.IdeaProject
+import org.gradle.tooling.model.idea.IdeaSingleEntryLibraryDependency
+
+@ToolingApiVersion(">=3.1")
+@TargetGradleVersion(">=6.8")
+class ToolingApiIdeaModelParallelCrossVersionSpec extends ToolingApiSpecification {
+
+    def "builds the same model when modules are built in parallel"() {
+        given:
+        def repo = new MavenFileRepository(file("repo"))
+        repo.module("foo.bar", "coolLib", "1.0").publish()
+        repo.module("foo.bar", "otherLib", "2.0").publish()
+
+        settingsFile << """
+            rootProject.name = 'root'
+            include 'api', 'impl', 'app', 'docs'
+        """
+        buildFile << """
+            allprojects {
+                apply plugin: 'idea'
+                repositories {
+                    maven { url "${repo.uri}" }
+                }
+            }
+            configure(subprojects - project(':docs')) {
+                apply plugin: 'java-library'
+            }
+            project(':api') {
+                sourceCompatibility = '1.7'
+                targetCompatibility = '1.7'
+                dependencies {
+                    api 'foo.bar:coolLib:1.0'
+                }
+            }
+            project(':impl') {
+                sourceCompatibility = '1.8'
+                targetCompatibility = '1.8'
+                dependencies {
+                    implementation project(':api')
+                    testImplementation 'foo.bar:otherLib:2.0'
+                }
+            }
+            project(':app') {
+                dependencies {
+                    implementation project(':impl')
+                }
+            }
+            idea.project.languageLevel = '1.6'
+        """
+
+        when:
+        def serial = describe(withConnection { connection -> connection.model(IdeaProject).get() })
+        def parallel = describe(withConnection { connection -> connection.model(IdeaProject).withArguments('--parallel').get() })
+
+        then:
+        parallel == serial
+        parallel.languageLevel == 'JDK_1_6'
+        parallel.modules.keySet() == ['root', 'api', 'impl', 'app', 'docs'] as Set
+        parallel.modules.api.sourceLanguageLevel == '1.7'
+        parallel.modules.impl.sourceLanguageLevel == '1.8'
+        parallel.modules.docs.sourceLanguageLevel == null
+        parallel.modules.impl.dependencies.contains('module api COMPILE')
+        parallel.modules.impl.dependencies.contains('library otherLib-2.0.jar TEST')
+        parallel.modules.app.dependencies.contains('module impl COMPILE')
+    }
+
+    private static Map describe(IdeaProject project) {
+        [
+            name: project.name,
+            languageLevel: project.languageLevel.level,
+            modules: project.modules.collectEntries { module ->
+                [(module.name): [
+                    gradleProject: module.gradleProject.path,
+                    contentRoots: module.contentRoots*.rootDirectory,
+                    sourceLanguageLevel: module.javaLanguageSettings?.languageLevel?.toString(),
+                    targetBytecodeVersion: module.javaLanguageSettings?.targetBytecodeVersion?.toString(),
+                    dependencies: module.dependencies.collect { dependency ->
+                        if (dependency instanceof IdeaModuleDependency) {
+                            "module ${dependency.targetModuleName} ${dependency.scope.scope}".toString()
+                        } else {
+                            "library ${(dependency as IdeaSingleEntryLibraryDependency).file.name} ${dependency.scope.scope}".toString()
+                        }
+                    } as Set
+                ]]
+            }
+        ]
+    }
+}
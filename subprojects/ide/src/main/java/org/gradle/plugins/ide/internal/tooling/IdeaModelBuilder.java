@@ -21,8 +21,14 @@
 import org.gradle.api.Project;
 import org.gradle.api.initialization.IncludedBuild;
 import org.gradle.api.internal.GradleInternal;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.internal.project.ProjectStateRegistry;
 import org.gradle.api.plugins.JavaPluginConvention;
 import org.gradle.internal.build.IncludedBuildState;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.RunnableBuildOperation;
 import org.gradle.internal.service.ServiceRegistry;
 import org.gradle.plugins.ide.idea.IdeaPlugin;
 import org.gradle.plugins.ide.idea.model.Dependency;
@@ -46,7 +52,7 @@
 import org.gradle.plugins.ide.internal.tooling.java.DefaultInstalledJdk;
 import org.gradle.plugins.ide.internal.tooling.model.DefaultGradleModuleVersion;
 import org.gradle.plugins.ide.internal.tooling.model.DefaultGradleProject;
-import org.gradle.tooling.provider.model.ToolingModelBuilder;
+import org.gradle.tooling.provider.model.internal.ProjectLockAwareToolingModelBuilder;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -56,7 +62,14 @@
 import java.util.List;
 import java.util.Set;
 
-public class IdeaModelBuilder implements ToolingModelBuilder {
+/**
+ * Builds the {@link org.gradle.tooling.model.idea.IdeaProject} model.
+ *
+ * <p>When parallel project execution is enabled and the calling thread does not already have access to the state of all projects, the dependencies of the modules,
+ * which are the bulk of the work, are resolved in parallel, each while holding the state lock of its project. Everything else, including the language levels
+ * that are derived from the state of other projects, is calculated up front while holding the state lock of all projects.</p>
+ */
+public class IdeaModelBuilder implements ProjectLockAwareToolingModelBuilder {
     private final GradleProjectBuilder gradleProjectBuilder;
 
     private boolean offlineDependencyResolution;
@@ -72,12 +85,52 @@ public boolean canBuild(String modelName) {
 
     @Override
     public DefaultIdeaProject buildAll(String modelName, Project project) {
-        Project root = project.getRootProject();
+        ProjectInternal root = (ProjectInternal) project.getRootProject();
+        if (root.getMutationState().hasMutableState()) {
+            // Already have access to the projects, for example when used by some other builder
+            return buildAll(root, project);
+        }
+        ProjectStateRegistry projectStateRegistry = root.getServices().get(ProjectStateRegistry.class);
+        if (!root.getGradle().getStartParameter().isParallelProjectExecutionEnabled()) {
+            return projectStateRegistry.withMutableStateOfAllProjects(() -> buildAll(root, project));
+        }
+        return buildInParallel(root, project, projectStateRegistry, root.getServices().get(BuildOperationExecutor.class));
+    }
+
+    private DefaultIdeaProject buildAll(Project root, Project project) {
         applyIdeaPlugin(root, new ArrayList<>());
         DefaultGradleProject rootGradleProject = gradleProjectBuilder.buildAll(project);
         return build(root, rootGradleProject);
     }
 
+    private DefaultIdeaProject buildInParallel(Project root, Project project, ProjectStateRegistry projectStateRegistry, BuildOperationExecutor buildOperationExecutor) {
+        List<ResolveModuleDependencies> operations = new ArrayList<>();
+        DefaultIdeaProject out = projectStateRegistry.withMutableStateOfAllProjects(() -> {
+            applyIdeaPlugin(root, new ArrayList<>());
+            DefaultGradleProject rootGradleProject = gradleProjectBuilder.buildAll(project);
+            IdeaProject projectModel = ideaPluginFor(root).getModel().getProject();
+            DefaultIdeaProject ideaProject = createProject(projectModel);
+            // The language levels of the modules are derived from the state of other projects, so calculate everything except the dependencies up front
+            for (IdeaModule module : projectModel.getModules()) {
+                operations.add(new ResolveModuleDependencies(module, createModule(module, ideaProject, rootGradleProject), projectStateRegistry));
+            }
+            return ideaProject;
+        });
+
+        buildOperationExecutor.runAllWithAccessToProjectState(queue -> {
+            for (ResolveModuleDependencies operation : operations) {
+                queue.add(operation);
+            }
+        });
+
+        List<DefaultIdeaModule> ideaModules = new LinkedList<>();
+        for (ResolveModuleDependencies operation : operations) {
+            ideaModules.add(operation.tapiModule);
+        }
+        out.setChildren(ideaModules);
+        return out;
+    }
+
     private void applyIdeaPlugin(Project root, List<GradleInternal> alreadyProcessed) {
         Set<Project> allProjects = root.getAllprojects();
         for (Project p : allProjects) {
@@ -97,6 +150,19 @@ private void applyIdeaPlugin(Project root, List<GradleInternal> alreadyProcessed
     private DefaultIdeaProject build(Project project, DefaultGradleProject rootGradleProject) {
         IdeaModel ideaModel = ideaPluginFor(project).getModel();
         IdeaProject projectModel = ideaModel.getProject();
+        DefaultIdeaProject out = createProject(projectModel);
+
+        List<DefaultIdeaModule> ideaModules = Lists.newArrayList();
+        for (IdeaModule module : projectModel.getModules()) {
+            DefaultIdeaModule tapiModule = createModule(module, out, rootGradleProject);
+            buildDependencies(tapiModule, module);
+            ideaModules.add(tapiModule);
+        }
+        out.setChildren(new LinkedList<DefaultIdeaModule>(ideaModules));
+        return out;
+    }
+
+    private DefaultIdeaProject createProject(IdeaProject projectModel) {
         JavaVersion projectSourceLanguageLevel = convertIdeaLanguageLevelToJavaVersion(projectModel.getLanguageLevel());
         JavaVersion projectTargetBytecodeLevel = projectModel.getTargetBytecodeVersion();
 
@@ -108,12 +174,6 @@ private DefaultIdeaProject build(Project project, DefaultGradleProject rootGradl
                 .setSourceLanguageLevel(projectSourceLanguageLevel)
                 .setTargetBytecodeVersion(projectTargetBytecodeLevel)
                 .setJdk(DefaultInstalledJdk.current()));
-
-        List<DefaultIdeaModule> ideaModules = Lists.newArrayList();
-        for (IdeaModule module : projectModel.getModules()) {
-            ideaModules.add(createModule(module, out, rootGradleProject));
-        }
-        out.setChildren(new LinkedList<DefaultIdeaModule>(ideaModules));
         return out;
     }
 
@@ -182,8 +242,6 @@ private DefaultIdeaModule createModule(IdeaModule ideaModule, DefaultIdeaProject
                 .setSourceLanguageLevel(moduleSourceLanguageLevel)
                 .setTargetBytecodeVersion(moduleTargetBytecodeVersion));
         }
-        buildDependencies(defaultIdeaModule, ideaModule);
-
         return defaultIdeaModule;
     }
 
@@ -211,4 +269,26 @@ private JavaVersion convertIdeaLanguageLevelToJavaVersion(IdeaLanguageLevel idea
         String languageLevel = ideaLanguageLevel.getLevel();
         return JavaVersion.valueOf(languageLevel.replaceFirst("JDK", "VERSION"));
     }
+
+    private class ResolveModuleDependencies implements RunnableBuildOperation {
+        private final IdeaModule module;
+        private final DefaultIdeaModule tapiModule;
+        private final ProjectStateRegistry projectStateRegistry;
+
+        ResolveModuleDependencies(IdeaModule module, DefaultIdeaModule tapiModule, ProjectStateRegistry projectStateRegistry) {
+            this.module = module;
+            this.tapiModule = tapiModule;
+            this.projectStateRegistry = projectStateRegistry;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            projectStateRegistry.stateFor(module.getProject()).applyToMutableState(p -> buildDependencies(tapiModule, module));
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Resolve IDEA module dependencies for " + module.getProject().getDisplayName());
+        }
+    }
 }
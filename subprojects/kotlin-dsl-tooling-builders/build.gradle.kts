@@ -30,6 +30,7 @@ dependencies {
     implementation(project(":core-api"))
     implementation(project(":model-core"))
     implementation(project(":core"))
+    implementation(project(":persistent-cache"))
     implementation(project(":resources"))
     implementation(project(":platform-base"))
     implementation(project(":platform-jvm"))
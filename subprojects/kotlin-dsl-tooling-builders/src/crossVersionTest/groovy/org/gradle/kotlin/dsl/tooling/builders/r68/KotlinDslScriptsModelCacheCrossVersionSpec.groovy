@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.kotlin.dsl.tooling.builders.r68
+
+import org.gradle.integtests.fixtures.BuildOperationTreeFixture
+import org.gradle.integtests.tooling.fixture.TargetGradleVersion
+import org.gradle.internal.operations.trace.BuildOperationRecord
+import org.gradle.internal.operations.trace.BuildOperationTrace
+import org.gradle.kotlin.dsl.tooling.builders.AbstractKotlinScriptModelCrossVersionTest
+import org.gradle.kotlin.dsl.tooling.builders.KotlinDslScriptsModelClient
+import org.gradle.kotlin.dsl.tooling.builders.KotlinDslScriptsModelRequest
+import org.gradle.test.fixtures.file.LeaksFileHandles
+import org.gradle.tooling.model.kotlin.dsl.KotlinDslScriptsModel
+
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+import static org.gradle.integtests.tooling.fixture.TextUtil.escapeString
+
+
+@TargetGradleVersion(">=6.8")
+@LeaksFileHandles("Kotlin Compiler Daemon taking time to shut down")
+class KotlinDslScriptsModelCacheCrossVersionSpec extends AbstractKotlinScriptModelCrossVersionTest {
+
+    private int requestCount
+
+    def "only rebuilds the model of the edited script"() {
+
+        given:
+        withSettings("""
+            include("a", "b")
+        """)
+        withBuildScript()
+        def a = withBuildScriptIn("a")
+        withBuildScriptIn("b")
+
+        when:
+        def first = fetchModelAndBuildOperation()
+
+        then:
+        first.operation.details.scriptCount == 4
+        first.operation.result.cachedScriptModelCount == 0
+        first.operation.result.builtScriptModelCount == 4
+
+        when:
+        def unchanged = fetchModelAndBuildOperation()
+
+        then:
+        unchanged.operation.result.cachedScriptModelCount == 4
+        unchanged.operation.result.builtScriptModelCount == 0
+        unchanged.model.scriptModels.keySet() == first.model.scriptModels.keySet()
+        unchanged.model.scriptModels.each { script, model ->
+            assert model.classPath == first.model.scriptModels[script].classPath
+            assert model.sourcePath == first.model.scriptModels[script].sourcePath
+        }
+
+        when:
+        a << """
+            println("edited")
+        """
+        def edited = fetchModelAndBuildOperation()
+
+        then:
+        edited.operation.result.cachedScriptModelCount == 3
+        edited.operation.result.builtScriptModelCount == 1
+    }
+
+    def "rebuilds the models of the scripts whose classpath changed"() {
+
+        given:
+        def jar = withJar("libs/lib.jar", "first")
+        withSettings("""
+            include("a")
+        """)
+        withBuildScript("""
+            buildscript {
+                dependencies {
+                    classpath(files("${escapeString(jar)}"))
+                }
+            }
+        """)
+        withBuildScriptIn("a")
+
+        when:
+        def first = fetchModelAndBuildOperation()
+
+        then:
+        first.operation.result.cachedScriptModelCount == 0
+        first.operation.result.builtScriptModelCount == 3
+
+        when:
+        withJar("libs/lib.jar", "second")
+        def changed = fetchModelAndBuildOperation()
+
+        then:
+        // The settings script does not see the classpath of the root project
+        changed.operation.result.cachedScriptModelCount == 1
+        changed.operation.result.builtScriptModelCount == 2
+    }
+
+    private File withJar(String path, String entryName) {
+        return file(path).tap { jarFile ->
+            jarFile.parentFile.mkdirs()
+            new ZipOutputStream(jarFile.newOutputStream()).withCloseable { zip ->
+                zip.putNextEntry(new ZipEntry(entryName))
+                zip.closeEntry()
+            }
+        }
+    }
+
+    private Map fetchModelAndBuildOperation() {
+        def tracePath = file("trace-${++requestCount}").absolutePath
+        KotlinDslScriptsModel model = withConnection { connection ->
+            new KotlinDslScriptsModelClient().fetchKotlinDslScriptsModel(
+                connection,
+                new KotlinDslScriptsModelRequest(
+                    [],
+                    null, null, [], ["-D${BuildOperationTrace.SYSPROP}=$tracePath".toString()]
+                )
+            )
+        }
+        BuildOperationRecord operation = new BuildOperationTreeFixture(BuildOperationTrace.read(tracePath)).only(~/Build Kotlin DSL scripts model/)
+        return [model: model, operation: operation]
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.tooling.builders
+
+import org.gradle.internal.operations.BuildOperationType
+
+
+/**
+ * Building the [org.gradle.tooling.model.kotlin.dsl.KotlinDslScriptsModel] requested by an IDE.
+ */
+internal
+class BuildKotlinDslScriptsModelBuildOperationType private constructor() :
+    BuildOperationType<BuildKotlinDslScriptsModelBuildOperationType.Details, BuildKotlinDslScriptsModelBuildOperationType.Result> {
+
+    interface Details {
+
+        /**
+         * The number of scripts whose models have been requested.
+         */
+        fun getScriptCount(): Int
+    }
+
+    interface Result {
+
+        /**
+         * The number of script models reused from a previous request.
+         */
+        fun getCachedScriptModelCount(): Int
+
+        /**
+         * The number of script models that could have been reused from a previous request but had to be built.
+         */
+        fun getBuiltScriptModelCount(): Int
+    }
+}
@@ -45,6 +45,7 @@ import org.gradle.kotlin.dsl.provider.KotlinScriptClassPathProvider
 import org.gradle.kotlin.dsl.provider.KotlinScriptEvaluator
 import org.gradle.kotlin.dsl.provider.ignoringErrors
 import org.gradle.kotlin.dsl.resolver.EditorReports
+import org.gradle.kotlin.dsl.resolver.SourceDistributionProvider
 import org.gradle.kotlin.dsl.resolver.SourceDistributionResolver
 import org.gradle.kotlin.dsl.resolver.SourcePathProvider
 import org.gradle.kotlin.dsl.support.ImplicitImports
@@ -115,8 +116,12 @@ object KotlinBuildScriptModelBuilder : ToolingModelBuilder {
     }
 
     internal
-    fun kotlinBuildScriptModelFor(modelRequestProject: Project, parameter: KotlinBuildScriptModelParameter) =
-        scriptModelBuilderFor(modelRequestProject as ProjectInternal, parameter).buildModel()
+    fun kotlinBuildScriptModelFor(
+        modelRequestProject: Project,
+        parameter: KotlinBuildScriptModelParameter,
+        cacheSession: KotlinScriptModelCacheSession? = null
+    ) =
+        scriptModelBuilderFor(modelRequestProject as ProjectInternal, parameter).buildModel(cacheSession)
 
     private
     fun scriptModelBuilderFor(
@@ -400,8 +405,7 @@ data class KotlinScriptTargetModelBuilder(
     val additionalImports: () -> List<String> = { emptyList() }
 ) {
 
-    fun buildModel(): KotlinBuildScriptModel {
-        val classpathSources = sourcePathFor(sourceLookupScriptHandlers)
+    fun buildModel(cacheSession: KotlinScriptModelCacheSession? = null): KotlinBuildScriptModel {
         val classPathModeExceptionCollector = project.serviceOf<ClassPathModeExceptionCollector>()
         val accessorsClassPath =
             classPathModeExceptionCollector.ignoringErrors {
@@ -413,23 +417,43 @@ data class KotlinScriptTargetModelBuilder(
                 additionalImports()
             } ?: emptyList()
 
+        val sourceDistribution = cacheSession?.sourceDistribution ?: SourceDistributionResolver(project)
+        val gradleSource = gradleSource(sourceDistribution)
+
+        // The editor reports of a model cover all the failures collected so far, so only models without any can be reused
+        val cacheKey = cacheSession
+            ?.takeIf { classPathModeExceptionCollector.exceptions.isEmpty() }
+            ?.keyFor(scriptFile, scriptClassPath, accessorsClassPath, gradleSource, additionalImports, rootDir, enclosingScriptProjectDir)
+        if (cacheSession != null && cacheKey != null) {
+            cacheSession.cachedModelFor(cacheKey)?.let {
+                return it
+            }
+        }
+
+        val classpathSources = sourcePathFor(sourceLookupScriptHandlers)
+
         return StandardKotlinBuildScriptModel(
             (scriptClassPath + accessorsClassPath.bin).asFiles,
-            (gradleSource() + classpathSources + accessorsClassPath.src).asFiles,
+            (gradleSource + classpathSources.sourcePath + accessorsClassPath.src).asFiles,
             implicitImports + additionalImports,
             buildEditorReportsFor(classPathModeExceptionCollector.exceptions),
             classPathModeExceptionCollector.exceptions.map(::exceptionToString),
             enclosingScriptProjectDir
-        )
+        ).also { model ->
+            // Sources that could not be resolved, for example when offline, may be available for the next request
+            if (cacheSession != null && cacheKey != null && classpathSources.isComplete && classPathModeExceptionCollector.exceptions.isEmpty()) {
+                cacheSession.modelBuilt(cacheKey, model)
+            }
+        }
     }
 
     private
-    fun gradleSource() =
+    fun gradleSource(sourceDistribution: SourceDistributionProvider) =
         SourcePathProvider.sourcePathFor(
             scriptClassPath,
             rootDir,
             gradleHomeDir,
-            SourceDistributionResolver(project)
+            sourceDistribution
         )
 
     val gradleHomeDir
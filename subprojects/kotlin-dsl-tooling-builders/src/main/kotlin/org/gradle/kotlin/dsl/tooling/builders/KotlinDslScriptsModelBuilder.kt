@@ -18,6 +18,10 @@ package org.gradle.kotlin.dsl.tooling.builders
 
 import org.gradle.api.Project
 import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.internal.operations.BuildOperationContext
+import org.gradle.internal.operations.BuildOperationDescriptor
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.CallableBuildOperation
 import org.gradle.internal.time.Time
 import org.gradle.kotlin.dsl.provider.PrecompiledScriptPluginsSupport
 import org.gradle.kotlin.dsl.support.serviceOf
@@ -132,16 +136,32 @@ object KotlinDslScriptsModelBuilder : ToolingModelBuilder {
         }
 
     private
-    fun buildFor(parameter: KotlinDslScriptsParameter, project: Project): KotlinDslScriptsModel {
-        val scriptModels = parameter.scriptFiles.associateWith { scriptFile ->
-            KotlinBuildScriptModelBuilder.kotlinBuildScriptModelFor(
-                project,
-                KotlinBuildScriptModelParameter(scriptFile, parameter.correlationId)
-            )
-        }
-        val (commonModel, dehydratedScriptModels) = dehydrateScriptModels(scriptModels)
-        return StandardKotlinDslScriptsModel(parameter.scriptFiles, commonModel, dehydratedScriptModels)
-    }
+    fun buildFor(parameter: KotlinDslScriptsParameter, project: Project): KotlinDslScriptsModel =
+        project.serviceOf<BuildOperationExecutor>().call(object : CallableBuildOperation<KotlinDslScriptsModel> {
+
+            override fun call(context: BuildOperationContext): KotlinDslScriptsModel {
+                val cacheSession = KotlinScriptModelCacheSession(project.serviceOf(), project.serviceOf(), project)
+                val scriptModels = parameter.scriptFiles.associateWith { scriptFile ->
+                    KotlinBuildScriptModelBuilder.kotlinBuildScriptModelFor(
+                        project,
+                        KotlinBuildScriptModelParameter(scriptFile, parameter.correlationId),
+                        cacheSession
+                    )
+                }
+                log("$parameter => ${cacheSession.hits} script models reused, ${cacheSession.misses} built")
+                context.setResult(object : BuildKotlinDslScriptsModelBuildOperationType.Result {
+                    override fun getCachedScriptModelCount() = cacheSession.hits
+                    override fun getBuiltScriptModelCount() = cacheSession.misses
+                })
+                val (commonModel, dehydratedScriptModels) = dehydrateScriptModels(scriptModels)
+                return StandardKotlinDslScriptsModel(parameter.scriptFiles, commonModel, dehydratedScriptModels)
+            }
+
+            override fun description(): BuildOperationDescriptor.Builder =
+                BuildOperationDescriptor.displayName("Build Kotlin DSL scripts model").details(object : BuildKotlinDslScriptsModelBuildOperationType.Details {
+                    override fun getScriptCount() = parameter.scriptFiles.size
+                })
+        })
 }
 
 
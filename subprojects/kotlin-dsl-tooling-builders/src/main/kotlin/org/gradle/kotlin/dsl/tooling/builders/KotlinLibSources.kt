@@ -21,6 +21,8 @@ import org.gradle.api.artifacts.component.ModuleComponentIdentifier
 import org.gradle.api.artifacts.dsl.DependencyHandler
 import org.gradle.api.artifacts.query.ArtifactResolutionQuery
 import org.gradle.api.artifacts.result.ResolvedArtifactResult
+import org.gradle.api.artifacts.result.UnresolvedArtifactResult
+import org.gradle.api.artifacts.result.UnresolvedComponentResult
 
 import org.gradle.api.initialization.dsl.ScriptHandler
 import org.gradle.api.initialization.dsl.ScriptHandler.CLASSPATH_CONFIGURATION
@@ -36,9 +38,25 @@ import org.gradle.kotlin.dsl.get
 import org.gradle.language.base.artifact.SourcesArtifact
 
 
+/**
+ * The resolved sources of the classpath of a script, and whether the sources of all of its dependencies could be resolved.
+ * Sources that are not published are not a resolution failure.
+ */
 internal
-fun sourcePathFor(scriptHandlers: List<ScriptHandler>): ClassPath {
-    var sourcePath = ClassPath.EMPTY
+data class ClasspathSources(val sourcePath: ClassPath, val isComplete: Boolean) {
+
+    operator fun plus(other: ClasspathSources) =
+        ClasspathSources(sourcePath + other.sourcePath, isComplete && other.isComplete)
+
+    companion object {
+        val EMPTY = ClasspathSources(ClassPath.EMPTY, true)
+    }
+}
+
+
+internal
+fun sourcePathFor(scriptHandlers: List<ScriptHandler>): ClasspathSources {
+    var sourcePath = ClasspathSources.EMPTY
 
     val resolvedDependencies = hashSetOf<ComponentIdentifier>()
     for (buildscript in scriptHandlers.asReversed()) {
@@ -81,16 +99,24 @@ fun classpathDependenciesOf(buildscript: ScriptHandler): List<ComponentIdentifie
 
 
 internal
-fun kotlinLibSourcesFor(scriptHandlers: List<ScriptHandler>): ClassPath =
-    scriptHandlers
-        .asSequence()
-        .filter { it.repositories.isNotEmpty() }
-        .map { resolveKotlinLibSourcesUsing(it.dependencies) }
-        .find { !it.isEmpty } ?: ClassPath.EMPTY
+fun kotlinLibSourcesFor(scriptHandlers: List<ScriptHandler>): ClasspathSources {
+    var isComplete = true
+    for (scriptHandler in scriptHandlers) {
+        if (scriptHandler.repositories.isEmpty()) {
+            continue
+        }
+        val sources = resolveKotlinLibSourcesUsing(scriptHandler.dependencies)
+        if (!sources.sourcePath.isEmpty) {
+            return sources
+        }
+        isComplete = isComplete && sources.isComplete
+    }
+    return ClasspathSources(ClassPath.EMPTY, isComplete)
+}
 
 
 private
-fun resolveKotlinLibSourcesUsing(dependencyHandler: DependencyHandler): ClassPath =
+fun resolveKotlinLibSourcesUsing(dependencyHandler: DependencyHandler): ClasspathSources =
     resolveSourcesUsing(dependencyHandler) {
         builtinKotlinModules.forEach { kotlinModule ->
             forModule("org.jetbrains.kotlin", kotlinModule, embeddedKotlinVersion)
@@ -99,19 +125,25 @@ fun resolveKotlinLibSourcesUsing(dependencyHandler: DependencyHandler): ClassPat
 
 
 private
-fun resolveSourcesUsing(dependencyHandler: DependencyHandler, query: ArtifactResolutionQuery.() -> Unit): ClassPath =
-    DefaultClassPath.of(
-        dependencyHandler
-            .createArtifactResolutionQuery()
-            .apply(query)
-            .withArtifacts(JvmLibrary::class.java, SourcesArtifact::class.java)
-            .execute()
-            .resolvedComponents
-            .flatMap { it.getArtifacts(SourcesArtifact::class.java) }
-            .filterIsInstance<ResolvedArtifactResult>()
-            .map { it.file }
-            .sorted()
-    ) // TODO remove sorting once https://github.com/gradle/gradle/issues/5507 is fixed
+fun resolveSourcesUsing(dependencyHandler: DependencyHandler, query: ArtifactResolutionQuery.() -> Unit): ClasspathSources {
+    val result = dependencyHandler
+        .createArtifactResolutionQuery()
+        .apply(query)
+        .withArtifacts(JvmLibrary::class.java, SourcesArtifact::class.java)
+        .execute()
+    val artifacts = result
+        .resolvedComponents
+        .flatMap { it.getArtifacts(SourcesArtifact::class.java) }
+    return ClasspathSources(
+        DefaultClassPath.of(
+            artifacts
+                .filterIsInstance<ResolvedArtifactResult>()
+                .map { it.file }
+                .sorted()
+        ), // TODO remove sorting once https://github.com/gradle/gradle/issues/5507 is fixed
+        result.components.none { it is UnresolvedComponentResult } && artifacts.none { it is UnresolvedArtifactResult }
+    )
+}
 
 
 private
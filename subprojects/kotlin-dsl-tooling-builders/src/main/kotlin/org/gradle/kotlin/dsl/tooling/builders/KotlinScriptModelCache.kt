@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.tooling.builders
+
+import org.gradle.api.Project
+import org.gradle.cache.internal.CrossBuildInMemoryCache
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory
+import org.gradle.internal.classloader.ClasspathHasher
+import org.gradle.internal.classpath.ClassPath
+import org.gradle.internal.hash.HashCode
+import org.gradle.internal.hash.Hashing
+import org.gradle.kotlin.dsl.accessors.AccessorsClassPath
+import org.gradle.kotlin.dsl.resolver.SourceDistributionProvider
+import org.gradle.kotlin.dsl.resolver.SourceDistributionResolver
+import org.gradle.kotlin.dsl.tooling.models.KotlinBuildScriptModel
+import java.io.File
+import javax.inject.Inject
+
+
+/**
+ * Keeps the models of Kotlin DSL scripts across builds, so that an IDE requesting the models of all scripts
+ * after editing one of them only pays for building the models of the scripts whose inputs have changed.
+ */
+internal
+class KotlinScriptModelCache @Inject constructor(
+    cacheFactory: CrossBuildInMemoryCacheFactory
+) {
+
+    private
+    val cache: CrossBuildInMemoryCache<KotlinScriptModelKey, KotlinBuildScriptModel> = cacheFactory.newCache()
+
+    fun get(key: KotlinScriptModelKey): KotlinBuildScriptModel? =
+        cache.getIfPresent(key)
+
+    fun put(key: KotlinScriptModelKey, model: KotlinBuildScriptModel) {
+        cache.put(key, model)
+    }
+}
+
+
+/**
+ * The inputs of the model of a script that are not already known to be the same for all scripts of a build.
+ */
+internal
+data class KotlinScriptModelKey(
+    val scriptFile: File?,
+    val scriptHash: HashCode?,
+    val classPathHash: HashCode,
+    val accessorsSourcePath: List<File>,
+    val gradleSourcePath: List<File>,
+    val additionalImports: List<String>,
+    val rootDir: File,
+    val enclosingScriptProjectDir: File?
+)
+
+
+/**
+ * The state shared by the script models built for a single [org.gradle.tooling.model.kotlin.dsl.KotlinDslScriptsModel] request.
+ */
+internal
+class KotlinScriptModelCacheSession(
+    private val cache: KotlinScriptModelCache,
+    private val classpathHasher: ClasspathHasher,
+    rootProject: Project
+) {
+
+    /**
+     * The sources of the Gradle distribution are the same for all scripts, so only look them up once.
+     */
+    val sourceDistribution: SourceDistributionProvider = SharedSourceDistribution(SourceDistributionResolver(rootProject))
+
+    var hits = 0
+        private set
+
+    var misses = 0
+        private set
+
+    fun keyFor(
+        scriptFile: File?,
+        scriptClassPath: ClassPath,
+        accessorsClassPath: AccessorsClassPath,
+        gradleSourcePath: ClassPath,
+        additionalImports: List<String>,
+        rootDir: File,
+        enclosingScriptProjectDir: File?
+    ) = KotlinScriptModelKey(
+        scriptFile,
+        scriptFile?.takeIf { it.isFile }?.let { Hashing.hashBytes(it.readBytes()) },
+        classpathHasher.hash(scriptClassPath + accessorsClassPath.bin),
+        accessorsClassPath.src.asFiles,
+        gradleSourcePath.asFiles,
+        additionalImports,
+        rootDir,
+        enclosingScriptProjectDir
+    )
+
+    fun cachedModelFor(key: KotlinScriptModelKey): KotlinBuildScriptModel? =
+        cache.get(key).also {
+            if (it != null) hits++ else misses++
+        }
+
+    fun modelBuilt(key: KotlinScriptModelKey, model: KotlinBuildScriptModel) {
+        cache.put(key, model)
+    }
+}
+
+
+private
+class SharedSourceDistribution(private val delegate: SourceDistributionProvider) : SourceDistributionProvider {
+
+    private
+    val sourceDirs by lazy(LazyThreadSafetyMode.NONE) { delegate.sourceDirs() }
+
+    override fun sourceDirs(): Collection<File> = sourceDirs
+}
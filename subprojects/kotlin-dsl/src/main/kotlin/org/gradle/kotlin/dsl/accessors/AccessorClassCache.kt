@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.accessors
+
+import org.gradle.cache.internal.CrossBuildInMemoryCache
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory
+import org.gradle.internal.hash.HashCode
+import org.gradle.internal.hash.Hasher
+import org.gradle.internal.hash.Hashing
+import org.gradle.kotlin.dsl.support.bytecode.InternalName
+
+
+/**
+ * The bytecode and source code emitted for a single [Accessor].
+ */
+internal
+class AccessorClass(
+    val className: InternalName,
+    val classBytes: ByteArray?,
+    val sourceFragments: List<String>
+)
+
+
+/**
+ * Keeps the accessor classes emitted by this process, addressed by the content of the accessor they were emitted for.
+ *
+ * Projects with different schemas usually have most of their accessors in common, so when the schema of a project changes,
+ * or when a project has a schema similar to the one of a project seen before, only the accessors that differ need to be generated.
+ *
+ * The cached classes are only valid for the default [AccessorFormat].
+ */
+class AccessorClassCache(
+    cacheFactory: CrossBuildInMemoryCacheFactory
+) {
+
+    private
+    val cache: CrossBuildInMemoryCache<HashCode, AccessorClass> = cacheFactory.newCache()
+
+    internal
+    fun accessorClassFor(
+        accessor: Accessor,
+        outputPackage: OutputPackage,
+        moduleName: String,
+        withBytecode: Boolean,
+        generate: () -> AccessorClass
+    ): AccessorClass {
+        val key = hashCodeFor(accessor, outputPackage, moduleName, withBytecode)
+        return cache.getIfPresent(key)
+            ?: generate().also { cache.put(key, it) }
+    }
+}
+
+
+private
+fun hashCodeFor(accessor: Accessor, outputPackage: OutputPackage, moduleName: String, withBytecode: Boolean): HashCode =
+    Hashing.newHasher().run {
+        putString(outputPackage.name)
+        putString(moduleName)
+        putBoolean(withBytecode)
+        putAccessor(accessor)
+        hash()
+    }
+
+
+private
+fun Hasher.putAccessor(accessor: Accessor) {
+    when (accessor) {
+        is Accessor.ForConfiguration -> {
+            putString("configuration")
+            putString(accessor.config.target.original)
+            putInt(accessor.config.dependencyDeclarationAlternatives.size)
+            accessor.config.dependencyDeclarationAlternatives.forEach(::putString)
+        }
+        is Accessor.ForExtension -> {
+            putString("extension")
+            putSpec(accessor.spec)
+        }
+        is Accessor.ForConvention -> {
+            putString("convention")
+            putSpec(accessor.spec)
+        }
+        is Accessor.ForContainerElement -> {
+            putString("containerElement")
+            putSpec(accessor.spec)
+        }
+        is Accessor.ForTask -> {
+            putString("task")
+            putSpec(accessor.spec)
+        }
+    }
+}
+
+
+private
+fun Hasher.putSpec(spec: TypedAccessorSpec) {
+    putTypeAccessibility(spec.receiver)
+    putString(spec.name.original)
+    putTypeAccessibility(spec.type)
+}
+
+
+private
+fun Hasher.putTypeAccessibility(typeAccessibility: TypeAccessibility) {
+    when (typeAccessibility) {
+        is TypeAccessibility.Accessible -> {
+            putString("accessible")
+            putString(typeAccessibility.type.kotlinString)
+        }
+        is TypeAccessibility.Inaccessible -> {
+            putString("inaccessible")
+            putString(typeAccessibility.type.kotlinString)
+            putInt(typeAccessibility.reasons.size)
+            typeAccessibility.reasons.forEach { putString(it.explanation) }
+        }
+    }
+}
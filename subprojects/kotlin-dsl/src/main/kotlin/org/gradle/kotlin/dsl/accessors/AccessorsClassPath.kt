@@ -64,7 +64,8 @@ class ProjectAccessorsClassPathGenerator @Inject constructor(
     private val fileCollectionFactory: FileCollectionFactory,
     private val projectSchemaProvider: ProjectSchemaProvider,
     private val executionEngine: ExecutionEngine,
-    private val workspaceProvider: KotlinDslWorkspaceProvider
+    private val workspaceProvider: KotlinDslWorkspaceProvider,
+    private val accessorClassCache: AccessorClassCache
 ) {
 
     fun projectAccessorsClassPath(project: Project, classPath: ClassPath): AccessorsClassPath =
@@ -83,7 +84,8 @@ class ProjectAccessorsClassPathGenerator @Inject constructor(
                 classPath,
                 classpathFingerprinter,
                 fileCollectionFactory,
-                workspaceProvider
+                workspaceProvider,
+                accessorClassCache
             )
             val result = executionEngine.execute(work)
             result.executionResult.get().output as AccessorsClassPath
@@ -108,7 +110,8 @@ class GenerateProjectAccessors(
     private val classPath: ClassPath,
     private val classpathFingerprinter: ClasspathFingerprinter,
     private val fileCollectionFactory: FileCollectionFactory,
-    private val workspaceProvider: KotlinDslWorkspaceProvider
+    private val workspaceProvider: KotlinDslWorkspaceProvider,
+    private val accessorClassCache: AccessorClassCache? = null
 ) : UnitOfWork {
 
     companion object {
@@ -124,7 +127,8 @@ class GenerateProjectAccessors(
                 projectSchema,
                 classPath,
                 srcDir = getSourcesOutputDir(context.workspace),
-                binDir = getClassesOutputDir(context.workspace)
+                binDir = getClassesOutputDir(context.workspace),
+                accessorClassCache = accessorClassCache
             )
         }
         return object : UnitOfWork.WorkOutput {
@@ -192,7 +196,8 @@ fun IO.buildAccessorsFor(
     srcDir: File,
     binDir: File?,
     packageName: String = kotlinDslPackageName,
-    format: AccessorFormat = AccessorFormats.default
+    format: AccessorFormat = AccessorFormats.default,
+    accessorClassCache: AccessorClassCache? = null
 ) {
     val availableSchema = availableProjectSchemaFor(projectSchema, classPath)
     emitAccessorsFor(
@@ -200,7 +205,8 @@ fun IO.buildAccessorsFor(
         srcDir,
         binDir,
         OutputPackage(packageName),
-        format
+        format,
+        accessorClassCache?.takeIf { format === AccessorFormats.default }
     )
 }
 
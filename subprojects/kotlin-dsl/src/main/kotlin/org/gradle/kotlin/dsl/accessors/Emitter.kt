@@ -39,7 +39,8 @@ fun IO.emitAccessorsFor(
     srcDir: File,
     binDir: File?,
     outputPackage: OutputPackage,
-    format: AccessorFormat
+    format: AccessorFormat,
+    accessorClassCache: AccessorClassCache? = null
 ): List<InternalName> {
 
     makeAccessorOutputDirs(srcDir, binDir, outputPackage.path)
@@ -53,7 +54,8 @@ fun IO.emitAccessorsFor(
                 binDir,
                 outputPackage,
                 format,
-                moduleName
+                moduleName,
+                accessorClassCache
             )
         }.toList()
 
@@ -94,34 +96,25 @@ fun IO.emitClassFor(
     binDir: File?,
     outputPackage: OutputPackage,
     format: AccessorFormat,
-    moduleName: String
+    moduleName: String,
+    accessorClassCache: AccessorClassCache?
 ): InternalName {
 
-    val (simpleClassName, fragments) = fragmentsFor(accessor)
-    val className = InternalName("${outputPackage.path}/$simpleClassName")
-    val sourceCode = mutableListOf<String>()
-
-    fun collectSourceFragment(source: String) {
-        sourceCode.add(format(source))
-    }
+    val withBytecode = binDir != null
+    val accessorClass = accessorClassCache
+        ?.accessorClassFor(accessor, outputPackage, moduleName, withBytecode) {
+            accessorClassFor(accessor, outputPackage, format, moduleName, withBytecode)
+        }
+        ?: accessorClassFor(accessor, outputPackage, format, moduleName, withBytecode)
+    val className = accessorClass.className
 
     if (binDir != null) {
-        writeAccessorsBytecodeTo(
-            binDir,
-            className,
-            fragments,
-            ::collectSourceFragment,
-            moduleName
-        )
-    } else {
-        for ((source, _, _, _) in fragments) {
-            collectSourceFragment(source)
-        }
+        writeFile(binDir.resolve("$className.class"), accessorClass.classBytes!!)
     }
 
     writeAccessorsTo(
         sourceFileFor(className, srcDir),
-        sourceCode,
+        accessorClass.sourceFragments,
         importsRequiredBy(accessor),
         outputPackage.name
     )
@@ -130,19 +123,54 @@ fun IO.emitClassFor(
 }
 
 
+private
+fun accessorClassFor(
+    accessor: Accessor,
+    outputPackage: OutputPackage,
+    format: AccessorFormat,
+    moduleName: String,
+    withBytecode: Boolean
+): AccessorClass {
+
+    val (simpleClassName, fragments) = fragmentsFor(accessor)
+    val className = InternalName("${outputPackage.path}/$simpleClassName")
+    val sourceCode = mutableListOf<String>()
+
+    fun collectSourceFragment(source: String) {
+        sourceCode.add(format(source))
+    }
+
+    val classBytes =
+        if (withBytecode) {
+            accessorsBytecodeFor(
+                className,
+                fragments,
+                ::collectSourceFragment,
+                moduleName
+            )
+        } else {
+            for ((source, _, _, _) in fragments) {
+                collectSourceFragment(source)
+            }
+            null
+        }
+
+    return AccessorClass(className, classBytes, sourceCode)
+}
+
+
 private
 fun sourceFileFor(className: InternalName, srcDir: File) =
     srcDir.resolve("${className.value.removeSuffix("Kt")}.kt")
 
 
 private
-fun IO.writeAccessorsBytecodeTo(
-    binDir: File,
+fun accessorsBytecodeFor(
     className: InternalName,
     fragments: Sequence<AccessorFragment>,
     collectSourceFragment: (String) -> Unit,
     moduleName: String
-) {
+): ByteArray {
 
     val metadataWriter = beginFileFacadeClassHeader()
     val classWriter = beginPublicClass(className)
@@ -154,9 +182,7 @@ fun IO.writeAccessorsBytecodeTo(
     }
 
     val classHeader = metadataWriter.closeHeader(moduleName)
-    val classBytes = classWriter.endKotlinClass(classHeader)
-    val classFile = binDir.resolve("$className.class")
-    writeFile(classFile, classBytes)
+    return classWriter.endKotlinClass(classHeader)
 }
 
 
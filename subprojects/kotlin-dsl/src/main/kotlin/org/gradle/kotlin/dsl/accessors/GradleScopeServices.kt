@@ -45,12 +45,14 @@ object GradleScopeServices {
         fileCollectionFactory: FileCollectionFactory,
         projectSchemaProvider: ProjectSchemaProvider,
         executionEngine: ExecutionEngine,
-        workspaceProvider: KotlinDslWorkspaceProvider
+        workspaceProvider: KotlinDslWorkspaceProvider,
+        accessorClassCache: AccessorClassCache
     ) = ProjectAccessorsClassPathGenerator(
         classpathFingerprinter,
         fileCollectionFactory,
         projectSchemaProvider,
         executionEngine,
-        workspaceProvider
+        workspaceProvider,
+        accessorClassCache
     )
 }
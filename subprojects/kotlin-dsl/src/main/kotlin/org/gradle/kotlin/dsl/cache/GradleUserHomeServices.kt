@@ -20,6 +20,7 @@ import org.gradle.api.internal.cache.StringInterner
 import org.gradle.cache.CacheRepository
 import org.gradle.cache.internal.CacheScopeMapping
 import org.gradle.cache.internal.InMemoryCacheDecoratorFactory
+import org.gradle.internal.concurrent.ExecutorFactory
 import org.gradle.internal.file.FileAccessTimeJournal
 
 
@@ -32,14 +33,16 @@ object GradleUserHomeServices {
         cacheScopeMapping: CacheScopeMapping,
         fileAccessTimeJournal: FileAccessTimeJournal,
         inMemoryCacheDecoratorFactory: InMemoryCacheDecoratorFactory,
-        stringInterner: StringInterner
+        stringInterner: StringInterner,
+        executorFactory: ExecutorFactory
     ): KotlinDslWorkspaceProvider {
         return KotlinDslWorkspaceProvider(
             cacheRepository,
             cacheScopeMapping,
             fileAccessTimeJournal,
             inMemoryCacheDecoratorFactory,
-            stringInterner
+            stringInterner,
+            executorFactory
         )
     }
 }
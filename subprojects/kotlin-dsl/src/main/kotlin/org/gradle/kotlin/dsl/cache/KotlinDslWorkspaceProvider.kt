@@ -21,6 +21,7 @@ import org.gradle.cache.CacheRepository
 import org.gradle.cache.internal.CacheScopeMapping
 import org.gradle.cache.internal.InMemoryCacheDecoratorFactory
 import org.gradle.cache.internal.VersionStrategy
+import org.gradle.internal.concurrent.ExecutorFactory
 import org.gradle.internal.execution.workspace.WorkspaceProvider
 import org.gradle.internal.execution.workspace.impl.DefaultImmutableWorkspaceProvider
 import org.gradle.internal.file.FileAccessTimeJournal
@@ -32,7 +33,8 @@ class KotlinDslWorkspaceProvider(
     cacheScopeMapping: CacheScopeMapping,
     fileAccessTimeJournal: FileAccessTimeJournal,
     inMemoryCacheDecoratorFactory: InMemoryCacheDecoratorFactory,
-    stringInterner: StringInterner
+    stringInterner: StringInterner,
+    executorFactory: ExecutorFactory
 ) : Closeable {
 
     private
@@ -42,7 +44,8 @@ class KotlinDslWorkspaceProvider(
             .withDisplayName("kotlin-dsl"),
         fileAccessTimeJournal,
         inMemoryCacheDecoratorFactory,
-        stringInterner
+        stringInterner,
+        executorFactory
     )
 
     val accessors = subWorkspace("accessors")
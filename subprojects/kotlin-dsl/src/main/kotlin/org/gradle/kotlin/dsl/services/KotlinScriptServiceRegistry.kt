@@ -37,6 +37,7 @@ class KotlinScriptServiceRegistry : AbstractPluginServiceRegistry() {
     }
 
     override fun registerGradleUserHomeServices(registration: ServiceRegistration) {
+        registration.addProvider(org.gradle.kotlin.dsl.accessors.GradleUserHomeServices)
         registration.addProvider(org.gradle.kotlin.dsl.cache.GradleUserHomeServices)
         registration.addProvider(org.gradle.kotlin.dsl.support.GradleUserHomeServices)
         registration.addProvider(org.gradle.kotlin.dsl.provider.GradleUserHomeServices)
@@ -47,8 +47,12 @@ import org.gradle.api.tasks.SourceSetContainer
 import org.gradle.api.tasks.TaskContainer
 import org.gradle.api.tasks.TaskProvider
 
+import org.gradle.cache.internal.DefaultCrossBuildInMemoryCacheFactory
+
 import org.gradle.internal.classpath.ClassPath
 import org.gradle.internal.classpath.DefaultClassPath
+import org.gradle.internal.event.DefaultListenerManager
+import org.gradle.internal.service.scopes.Scope
 
 import org.gradle.kotlin.dsl.concurrent.withSynchronousIO
 import org.gradle.kotlin.dsl.fixtures.AbstractDslTest
@@ -128,6 +132,41 @@ class ProjectAccessorsClassPathTest : AbstractDslTest() {
         testAccessorsBuiltBy(::buildAccessorsFor)
     }
 
+    @Test
+    fun `#buildAccessorsFor emits the same accessors when reusing the accessors of another schema`() {
+
+        // given:
+        fun schemaWith(vararg extensions: ProjectSchemaEntry<SchemaType>) =
+            TypedProjectSchema(
+                extensions = extensions.asList(),
+                containerElements = listOf(),
+                conventions = listOf(),
+                tasks = listOf(entry<TaskContainer, Delete>("clean")),
+                configurations = listOf(ConfigurationEntry("api"))
+            )
+
+        val sourceSets = entry<Project, SourceSetContainer>("sourceSets")
+        val buildTypes = entry<Project, NamedDomainObjectContainer<BuildType>>("buildTypes")
+        val accessorClassCache = AccessorClassCache(DefaultCrossBuildInMemoryCacheFactory(DefaultListenerManager(Scope.Global::class.java)))
+
+        // when:
+        withSynchronousIO {
+            buildAccessorsFor(schemaWith(sourceSets), testRuntimeClassPath, newFolder("first", "src"), newFolder("first", "bin"), accessorClassCache = accessorClassCache)
+            buildAccessorsFor(schemaWith(sourceSets, buildTypes), testRuntimeClassPath, newFolder("second", "src"), newFolder("second", "bin"), accessorClassCache = accessorClassCache)
+            buildAccessorsFor(schemaWith(sourceSets, buildTypes), testRuntimeClassPath, newFolder("fresh", "src"), newFolder("fresh", "bin"))
+        }
+
+        // then:
+        assertEquals(
+            contentsOf(file("fresh")),
+            contentsOf(file("second"))
+        )
+    }
+
+    private
+    fun contentsOf(dir: File): Map<String, List<Byte>> =
+        dir.walkTopDown().filter { it.isFile }.associate { it.relativeTo(dir).path to it.readBytes().toList() }
+
     @Test
     fun `#buildAccessorsFor (source)`() {
 
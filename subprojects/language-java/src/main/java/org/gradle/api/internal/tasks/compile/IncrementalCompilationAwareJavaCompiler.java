@@ -20,4 +20,9 @@
 
 public interface IncrementalCompilationAwareJavaCompiler extends JavaCompiler {
     JavaCompiler.CompilationTask makeIncremental(JavaCompiler.CompilationTask task, File mappingFile, CompilationSourceDirs compilationSourceDirs);
+
+    /**
+     * Returns the type of the compiler that does the actual work. File managers can be shared by compilers of the same type.
+     */
+    Class<? extends JavaCompiler> getCompilerType();
 }
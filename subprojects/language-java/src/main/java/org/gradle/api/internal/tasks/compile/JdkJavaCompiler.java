@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.tasks.compile;
 
+import com.google.common.collect.Iterables;
 import org.gradle.api.JavaVersion;
 import org.gradle.api.internal.tasks.compile.processing.AnnotationProcessorDeclaration;
 import org.gradle.api.internal.tasks.compile.reflect.GradleStandardJavaFileManager;
@@ -30,6 +31,7 @@
 import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
+import java.io.Closeable;
 import java.io.File;
 import java.io.Serializable;
 import java.nio.charset.Charset;
@@ -64,7 +66,17 @@ private JavaCompiler.CompilationTask createCompileTask(JavaCompileSpec spec, Jdk
         JavaCompiler compiler = javaHomeBasedJavaCompilerFactory.create();
         MinimalJavaCompileOptions compileOptions = spec.getCompileOptions();
         Charset charset = compileOptions.getEncoding() != null ? Charset.forName(compileOptions.getEncoding()) : null;
-        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(null, null, charset);
+        Closeable fileManagerResources;
+        StandardJavaFileManager standardFileManager;
+        boolean reuseFileManager = StandardJavaFileManagerPool.isReusable(options);
+        if (reuseFileManager) {
+            StandardJavaFileManagerPool.PooledFileManager pooledFileManager = StandardJavaFileManagerPool.getInstance().acquire(compiler, charset, options, archivesOf(spec));
+            standardFileManager = pooledFileManager.getFileManager();
+            fileManagerResources = pooledFileManager;
+        } else {
+            standardFileManager = compiler.getStandardFileManager(null, null, charset);
+            fileManagerResources = standardFileManager;
+        }
         Iterable<? extends JavaFileObject> compilationUnits = standardFileManager.getJavaFileObjectsFromFiles(spec.getSourceFiles());
         boolean hasEmptySourcepaths = JavaVersion.current().isJava9Compatible() && emptySourcepathIn(options);
         JavaFileManager fileManager = GradleStandardJavaFileManager.wrap(standardFileManager, DefaultClassPath.of(spec.getAnnotationProcessorPath()), hasEmptySourcepaths);
@@ -75,10 +87,14 @@ private JavaCompiler.CompilationTask createCompileTask(JavaCompileSpec spec, Jdk
         }
         Set<AnnotationProcessorDeclaration> annotationProcessors = spec.getEffectiveAnnotationProcessors();
         task = new AnnotationProcessingCompileTask(task, annotationProcessors, spec.getAnnotationProcessorPath(), result.getAnnotationProcessingResult());
-        task = new ResourceCleaningCompilationTask(task, fileManager);
+        task = new ResourceCleaningCompilationTask(task, fileManagerResources, !reuseFileManager);
         return task;
     }
 
+    private static Iterable<File> archivesOf(JavaCompileSpec spec) {
+        return Iterables.concat(spec.getCompileClasspath(), spec.getModulePath(), spec.getAnnotationProcessorPath());
+    }
+
     private static boolean emptySourcepathIn(List<String> options) {
         Iterator<String> optionsIter = options.iterator();
         while (optionsIter.hasNext()) {
@@ -156,6 +156,11 @@ public int isSupportedOption(String option) {
             return delegate.isSupportedOption(option);
         }
 
+        @Override
+        public Class<? extends JavaCompiler> getCompilerType() {
+            return delegate.getClass();
+        }
+
         @Override
         public JavaCompiler.CompilationTask makeIncremental(JavaCompiler.CompilationTask task, File mappingFile, CompilationSourceDirs compilationSourceDirs) {
             ensureCompilerTask();
@@ -31,10 +31,15 @@
 class ResourceCleaningCompilationTask implements JavaCompiler.CompilationTask {
     private final JavaCompiler.CompilationTask delegate;
     private final Closeable fileManager;
+    private final boolean clearZipCache;
 
-    ResourceCleaningCompilationTask(JavaCompiler.CompilationTask delegate, Closeable fileManager) {
+    /**
+     * @param clearZipCache whether the shared javac ZIP cache should be cleared. This is not done when the file manager is reused, as it would throw away the archives it keeps open.
+     */
+    ResourceCleaningCompilationTask(JavaCompiler.CompilationTask delegate, Closeable fileManager, boolean clearZipCache) {
         this.delegate = delegate;
         this.fileManager = fileManager;
+        this.clearZipCache = clearZipCache;
     }
 
     @Override
@@ -57,7 +62,9 @@ public Boolean call() {
             return delegate.call();
         } finally {
             CompositeStoppable.stoppable(fileManager).stop();
-            cleanupZipCache();
+            if (clearZipCache) {
+                cleanupZipCache();
+            }
         }
     }
 
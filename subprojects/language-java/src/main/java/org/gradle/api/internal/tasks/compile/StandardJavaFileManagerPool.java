@@ -0,0 +1,308 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.os.OperatingSystem;
+
+import javax.annotation.Nullable;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.Closeable;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps standard file managers alive between compilations in the same process. The javac file manager caches
+ * opened archives and their indexes, so reusing it avoids re-reading the same classpath jars for every compilation
+ * in a long-lived compiler daemon.
+ *
+ * <p>A pooled file manager is only handed out again if none of the archives it has been used with have changed since.
+ * Locations are reset before each reuse, so that no state leaks from one compilation into the next.</p>
+ *
+ * <p>Reusing file managers is opt-in, using the {@value #REUSE_FILE_MANAGERS_PROPERTY} system property.</p>
+ */
+public class StandardJavaFileManagerPool {
+    public static final String REUSE_FILE_MANAGERS_PROPERTY = "org.gradle.internal.java.compile.reuseFileManagers";
+
+    // Like the JDK tools in JavaHomeBasedJavaCompilerFactory, the pool is static so that it survives
+    // across compilations in the same compiler daemon.
+    private static final StandardJavaFileManagerPool INSTANCE = new StandardJavaFileManagerPool(Runtime.getRuntime().availableProcessors());
+
+    // Options that set locations which can't be reset, or which change how the file manager reads the platform classes
+    private static final List<String> NON_REUSABLE_OPTIONS = ImmutableList.of("-bootclasspath", "-extdirs", "-endorseddirs", "-Xbootclasspath", "--system", "--module-source-path", "--patch-module");
+
+    // Module-oriented locations that javac does not allow to be reset. They are only set by the options above.
+    private static final List<String> NON_RESETTABLE_LOCATIONS = ImmutableList.of("MODULE_SOURCE_PATH", "PATCH_MODULE_PATH");
+
+    private final int maxIdleFileManagers;
+    private final Map<Key, Deque<PooledFileManager>> idle = new HashMap<>();
+    private int idleCount;
+    private long hits;
+    private long misses;
+
+    StandardJavaFileManagerPool(int maxIdleFileManagers) {
+        this.maxIdleFileManagers = maxIdleFileManagers;
+    }
+
+    public static StandardJavaFileManagerPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns whether the file managers should be reused for a compilation with the given options.
+     */
+    public static boolean isReusable(List<String> options) {
+        if (!Boolean.parseBoolean(System.getProperty(REUSE_FILE_MANAGERS_PROPERTY, "false"))) {
+            return false;
+        }
+        // Open archives are locked on Windows, so keeping them open would prevent builds from deleting or replacing them
+        if (OperatingSystem.current().isWindows()) {
+            return false;
+        }
+        for (String option : options) {
+            for (String nonReusableOption : NON_REUSABLE_OPTIONS) {
+                if (option.startsWith(nonReusableOption)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Leases a file manager for a single compilation. The given archives are the files the compilation is going to read,
+     * their current state is recorded so that the file manager can be discarded when one of them changes.
+     */
+    public PooledFileManager acquire(JavaCompiler compiler, @Nullable Charset charset, List<String> options, Iterable<File> archives) {
+        Key key = new Key(compiler, charset, valueOf("--release", options));
+        List<StandardJavaFileManager> stale = new ArrayList<>();
+        PooledFileManager fileManager = null;
+        try {
+            synchronized (this) {
+                Deque<PooledFileManager> candidates = idle.get(key);
+                while (fileManager == null && candidates != null && !candidates.isEmpty()) {
+                    PooledFileManager candidate = candidates.pop();
+                    idleCount--;
+                    if (candidate.isUpToDate() && candidate.resetLocations()) {
+                        fileManager = candidate;
+                        hits++;
+                    } else {
+                        stale.add(candidate.fileManager);
+                    }
+                }
+                if (fileManager == null) {
+                    misses++;
+                }
+            }
+        } finally {
+            CompositeStoppable.stoppable(stale).stop();
+        }
+        if (fileManager == null) {
+            fileManager = new PooledFileManager(this, key, compiler.getStandardFileManager(null, null, charset));
+        }
+        fileManager.record(archives);
+        return fileManager;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private void release(PooledFileManager fileManager) {
+        synchronized (this) {
+            if (idleCount < maxIdleFileManagers) {
+                idle.computeIfAbsent(fileManager.key, k -> new ArrayDeque<>()).push(fileManager);
+                idleCount++;
+                return;
+            }
+        }
+        fileManager.discard();
+    }
+
+    /**
+     * Closes all idle file managers.
+     */
+    public void clear() {
+        List<StandardJavaFileManager> discarded = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<PooledFileManager> fileManagers : idle.values()) {
+                for (PooledFileManager fileManager : fileManagers) {
+                    discarded.add(fileManager.fileManager);
+                }
+            }
+            idle.clear();
+            idleCount = 0;
+        }
+        CompositeStoppable.stoppable(discarded).stop();
+    }
+
+    @Nullable
+    private static String valueOf(String option, List<String> options) {
+        Iterator<String> iterator = options.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals(option) && iterator.hasNext()) {
+                return iterator.next();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A file manager leased from the pool. Closing it hands it back to the pool instead of closing the underlying file manager.
+     */
+    public static class PooledFileManager implements Closeable {
+        private final StandardJavaFileManagerPool pool;
+        private final Key key;
+        private final StandardJavaFileManager fileManager;
+        private final Map<File, ArchiveState> archives = new HashMap<>();
+
+        private PooledFileManager(StandardJavaFileManagerPool pool, Key key, StandardJavaFileManager fileManager) {
+            this.pool = pool;
+            this.key = key;
+            this.fileManager = fileManager;
+        }
+
+        public StandardJavaFileManager getFileManager() {
+            return fileManager;
+        }
+
+        private void record(Iterable<File> files) {
+            for (File file : files) {
+                if (!archives.containsKey(file) && file.isFile()) {
+                    archives.put(file, ArchiveState.of(file));
+                }
+            }
+        }
+
+        private boolean isUpToDate() {
+            for (Map.Entry<File, ArchiveState> entry : archives.entrySet()) {
+                if (!entry.getValue().equals(ArchiveState.of(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean resetLocations() {
+            try {
+                for (StandardLocation location : StandardLocation.values()) {
+                    if (!NON_RESETTABLE_LOCATIONS.contains(location.name())) {
+                        fileManager.setLocation(location, null);
+                    }
+                }
+                return true;
+            } catch (Exception e) {
+                // Location can't be reset on this compiler, start over with a fresh file manager
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                fileManager.flush();
+            } catch (Exception e) {
+                discard();
+                return;
+            }
+            pool.release(this);
+        }
+
+        private void discard() {
+            CompositeStoppable.stoppable(fileManager).stop();
+        }
+    }
+
+    private static class ArchiveState {
+        private final long length;
+        private final long lastModified;
+
+        private ArchiveState(long length, long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        static ArchiveState of(File file) {
+            return new ArchiveState(file.length(), file.lastModified());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ArchiveState that = (ArchiveState) o;
+            return length == that.length && lastModified == that.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(length, lastModified);
+        }
+    }
+
+    /**
+     * Compiler instances are created for each compilation, so file managers are shared between compilers of the same implementation class.
+     * The class also identifies the class loader of the compiler, which differs between compiler plugin classpaths.
+     */
+    private static class Key {
+        private final Class<?> compilerType;
+        private final String charset;
+        private final String release;
+
+        Key(JavaCompiler compiler, @Nullable Charset charset, @Nullable String release) {
+            this.compilerType = compiler instanceof IncrementalCompilationAwareJavaCompiler ? ((IncrementalCompilationAwareJavaCompiler) compiler).getCompilerType() : compiler.getClass();
+            this.charset = charset == null ? null : charset.name();
+            this.release = release;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return compilerType.equals(key.compilerType) && Objects.equal(charset, key.charset) && Objects.equal(release, key.release);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(compilerType, charset, release);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.Requires
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.tools.JavaCompiler
+import javax.tools.StandardJavaFileManager
+import javax.tools.StandardLocation
+import javax.tools.ToolProvider
+import java.nio.charset.StandardCharsets
+
+import static org.gradle.util.TestPrecondition.NOT_WINDOWS
+
+class StandardJavaFileManagerPoolTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def fileManager = Mock(StandardJavaFileManager)
+    def compiler = Mock(JavaCompiler)
+    def jar = tmpDir.file("lib.jar").createFile()
+
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
+
+    @Subject
+    def pool = new StandardJavaFileManagerPool(2)
+
+    def "reuses file manager when archives are unchanged"() {
+        when:
+        pool.acquire(compiler, null, [], [jar]).close()
+        def second = pool.acquire(compiler, null, [], [jar])
+
+        then:
+        1 * compiler.getStandardFileManager(null, null, null) >> fileManager
+        second.fileManager == fileManager
+        pool.hits == 1
+        pool.misses == 1
+    }
+
+    def "resets locations before reusing file manager"() {
+        given:
+        compiler.getStandardFileManager(null, null, null) >> fileManager
+        pool.acquire(compiler, null, [], [jar]).close()
+
+        when:
+        pool.acquire(compiler, null, [], [jar])
+
+        then:
+        StandardLocation.values().findAll { !(it.name() in ["MODULE_SOURCE_PATH", "PATCH_MODULE_PATH"]) }.each { location ->
+            1 * fileManager.setLocation(location, null)
+        }
+        0 * fileManager.setLocation(_, _)
+    }
+
+    def "reuses file manager of the system compiler with locations reset"() {
+        given:
+        def systemCompiler = ToolProvider.systemJavaCompiler
+        def classes = tmpDir.createDir("classes")
+        def first = pool.acquire(systemCompiler, null, [], [jar])
+        first.fileManager.setLocation(StandardLocation.CLASS_PATH, [jar])
+        first.fileManager.setLocation(StandardLocation.CLASS_OUTPUT, [classes])
+        first.close()
+
+        when:
+        def second = pool.acquire(systemCompiler, null, [], [jar])
+
+        then:
+        second.fileManager.is(first.fileManager)
+        pool.hits == 1
+        !second.fileManager.getLocation(StandardLocation.CLASS_PATH).contains(jar)
+        second.fileManager.getLocation(StandardLocation.CLASS_OUTPUT) == null
+
+        cleanup:
+        pool.clear()
+        second?.fileManager?.close()
+    }
+
+    def "reuses file manager for compilers created by the compiler factory"() {
+        given:
+        def compilerFactory = new JavaHomeBasedJavaCompilerFactory([])
+        def first = pool.acquire(compilerFactory.create(), null, [], [jar])
+        first.close()
+
+        when:
+        def second = pool.acquire(compilerFactory.create(), null, [], [jar])
+
+        then:
+        second.fileManager.is(first.fileManager)
+        pool.hits == 1
+        pool.misses == 1
+
+        cleanup:
+        pool.clear()
+        second?.fileManager?.close()
+    }
+
+    def "does not share file managers between compiler types"() {
+        given:
+        def otherCompiler = Mock(IncrementalCompilationAwareJavaCompiler)
+        otherCompiler.compilerType >> TestCompiler
+        compiler.getStandardFileManager(null, null, null) >> fileManager
+        pool.acquire(compiler, null, [], [jar]).close()
+
+        when:
+        def second = pool.acquire(otherCompiler, null, [], [jar])
+
+        then:
+        1 * otherCompiler.getStandardFileManager(null, null, null) >> Mock(StandardJavaFileManager)
+        second.fileManager != fileManager
+        pool.misses == 2
+    }
+
+    def "discards file manager when an archive changes"() {
+        given:
+        def otherFileManager = Mock(StandardJavaFileManager)
+        compiler.getStandardFileManager(null, null, null) >>> [fileManager, otherFileManager]
+        pool.acquire(compiler, null, [], [jar]).close()
+
+        when:
+        jar << "changed"
+        def second = pool.acquire(compiler, null, [], [jar])
+
+        then:
+        1 * fileManager.close()
+        second.fileManager == otherFileManager
+    }
+
+    def "does not share file managers between encodings or releases"() {
+        when:
+        pool.acquire(compiler, null, [], [jar]).close()
+        pool.acquire(compiler, StandardCharsets.UTF_8, [], [jar]).close()
+        pool.acquire(compiler, null, ["--release", "8"], [jar]).close()
+
+        then:
+        1 * compiler.getStandardFileManager(null, null, null) >> Mock(StandardJavaFileManager)
+        1 * compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8) >> Mock(StandardJavaFileManager)
+        1 * compiler.getStandardFileManager(null, null, null) >> Mock(StandardJavaFileManager)
+        pool.misses == 3
+    }
+
+    def "closes file managers that exceed the pool size"() {
+        given:
+        def managers = (1..3).collect { Mock(StandardJavaFileManager) }
+        compiler.getStandardFileManager(null, null, null) >>> managers
+        def leases = (1..3).collect { pool.acquire(compiler, null, [], [jar]) }
+
+        when:
+        leases*.close()
+
+        then:
+        0 * managers[0].close()
+        0 * managers[1].close()
+        1 * managers[2].close()
+    }
+
+    def "file managers are not reused by default"() {
+        expect:
+        !StandardJavaFileManagerPool.isReusable(["-classpath", "foo.jar"])
+    }
+
+    @Requires(NOT_WINDOWS)
+    def "file managers are not reused with #option"() {
+        given:
+        System.setProperty(StandardJavaFileManagerPool.REUSE_FILE_MANAGERS_PROPERTY, "true")
+
+        expect:
+        StandardJavaFileManagerPool.isReusable(["-classpath", "foo.jar"])
+        !StandardJavaFileManagerPool.isReusable([option, "foo"])
+
+        where:
+        option << ["-bootclasspath", "-extdirs", "--system", "--module-source-path", "--patch-module"]
+    }
+
+    private static abstract class TestCompiler implements JavaCompiler {
+    }
+}
@@ -33,10 +33,12 @@
 import org.gradle.internal.logging.events.OutputEventListener;
 import org.gradle.internal.nativeintegration.ProcessEnvironment;
 import org.gradle.internal.remote.internal.Connection;
+import org.gradle.internal.time.Time;
 import org.gradle.launcher.daemon.context.DaemonContext;
 import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics;
 import org.gradle.launcher.daemon.protocol.Build;
 import org.gradle.launcher.daemon.protocol.BuildEvent;
+import org.gradle.launcher.daemon.protocol.BuildEvents;
 import org.gradle.launcher.daemon.protocol.BuildStarted;
 import org.gradle.launcher.daemon.protocol.CloseInput;
 import org.gradle.launcher.daemon.protocol.DaemonUnavailable;
@@ -69,7 +71,7 @@
  * <li>The client sends exactly one {@link Build} message.</li>
  * <li>The daemon sends exactly one {@link BuildStarted}, {@link Failure} or {@link DaemonUnavailable} message.</li>
  * <li>If the build is started, the daemon may send zero or more {@link OutputMessage} messages.</li>
- * <li>If the build is started, the daemon may send zero or more {@link BuildEvent} messages.</li>
+ * <li>If the build is started, the daemon may send zero or more {@link BuildEvent} or {@link BuildEvents} messages.</li>
  * <li>If the build is started, the client may send zero or more {@link ForwardInput} messages followed by exactly one {@link CloseInput} message.</li>
  * <li>If the build is started, the client may send {@link org.gradle.launcher.daemon.protocol.Cancel} message before {@link CloseInput} message.</li>
  * <li>The daemon sends exactly one {@link Result} message. It may no longer send any messages.</li>
@@ -143,7 +145,7 @@ public BuildActionResult execute(BuildAction action, BuildActionParameters param
         for (int i = 1; i < saneNumberOfAttempts; i++) {
             final DaemonClientConnection connection = connector.connect(compatibilitySpec);
             try {
-                Build build = new Build(buildId, connection.getDaemon().getToken(), action, requestContext.getClient(), requestContext.getStartTime(), requestContext.isInteractive(), parameters);
+                Build build = new Build(buildId, connection.getDaemon().getToken(), action, requestContext.getClient(), requestContext.getStartTime(), Time.currentTimeMillis(), requestContext.isInteractive(), parameters);
                 return executeBuild(build, connection, requestContext.getCancellationToken(), requestContext.getEventConsumer());
             } catch (DaemonInitialConnectException e) {
                 // this exception means that we want to try again.
@@ -224,6 +226,10 @@ private Object monitorBuild(Build build, DaemonDiagnostics diagnostics, Connecti
                     outputEventListener.onOutput(((OutputMessage) object).getEvent());
                 } else if (object instanceof BuildEvent) {
                     buildEventConsumer.dispatch(((BuildEvent) object).getPayload());
+                } else if (object instanceof BuildEvents) {
+                    for (Object payload : ((BuildEvents) object).getPayloads()) {
+                        buildEventConsumer.dispatch(payload);
+                    }
                 } else {
                     return object;
                 }
@@ -27,14 +27,16 @@ public class Build extends Command {
     private final BuildAction action;
     private final BuildClientMetaData buildClientMetaData;
     private final long startTime;
+    private final long requestSentTime;
     private final boolean interactive;
     private final BuildActionParameters parameters;
 
-    public Build(UUID identifier, byte[] token, BuildAction action, BuildClientMetaData buildClientMetaData, long startTime, boolean interactive, BuildActionParameters parameters) {
+    public Build(UUID identifier, byte[] token, BuildAction action, BuildClientMetaData buildClientMetaData, long startTime, long requestSentTime, boolean interactive, BuildActionParameters parameters) {
         super(identifier, token);
         this.action = action;
         this.buildClientMetaData = buildClientMetaData;
         this.startTime = startTime;
+        this.requestSentTime = requestSentTime;
         this.interactive = interactive;
         this.parameters = parameters;
     }
@@ -43,6 +45,13 @@ public long getStartTime() {
         return startTime;
     }
 
+    /**
+     * The time that the client sent this command to the daemon, once it had started up and connected to the daemon.
+     */
+    public long getRequestSentTime() {
+        return requestSentTime;
+    }
+
     public boolean isInteractive() {
         return interactive;
     }
@@ -52,7 +61,7 @@ public BuildClientMetaData getBuildClientMetaData() {
     }
 
     public BuildRequestMetaData getBuildRequestMetaData() {
-        return new DefaultBuildRequestMetaData(buildClientMetaData, startTime, interactive);
+        return new DefaultBuildRequestMetaData(buildClientMetaData, startTime, requestSentTime, interactive);
     }
 
     public BuildAction getAction() {
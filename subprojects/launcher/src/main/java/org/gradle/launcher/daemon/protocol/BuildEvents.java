@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.protocol;
+
+import java.util.List;
+
+/**
+ * A batch of build events sent from build logic back to the build requester, to be handled in order.
+ * The events are serialized together, which is more compact than sending each one in a {@link BuildEvent}.
+ */
+public class BuildEvents extends Message {
+    private final List<Object> payloads;
+
+    public BuildEvents(List<Object> payloads) {
+        this.payloads = payloads;
+    }
+
+    public List<Object> getPayloads() {
+        return payloads;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[events=" + payloads.size() + "]";
+    }
+}
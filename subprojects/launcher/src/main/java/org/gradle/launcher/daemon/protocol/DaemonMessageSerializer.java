@@ -18,6 +18,7 @@
 
 import org.gradle.api.logging.LogLevel;
 import org.gradle.configuration.GradleLauncherMetaData;
+import org.gradle.internal.Cast;
 import org.gradle.internal.classpath.ClassPath;
 import org.gradle.internal.classpath.DefaultClassPath;
 import org.gradle.internal.invocation.BuildAction;
@@ -57,6 +58,7 @@
 import org.gradle.tooling.internal.provider.serialization.SerializedPayloadSerializer;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -83,6 +85,7 @@ public static Serializer<Message> create(Serializer<BuildAction> buildActionSeri
 
         // Build events
         registry.register(BuildEvent.class, new BuildEventSerializer());
+        registry.register(BuildEvents.class, new BuildEventsSerializer());
 
         // Input events
         registry.register(ForwardInput.class, new ForwardInputSerializer());
@@ -203,6 +206,21 @@ public BuildEvent read(Decoder decoder) throws Exception {
         }
     }
 
+    private static class BuildEventsSerializer implements Serializer<BuildEvents> {
+        // Serialize the events as one object graph, so that the description of each class is written only once
+        private final Serializer<Object> payloadsSerializer = new DefaultSerializer<Object>();
+
+        @Override
+        public void write(Encoder encoder, BuildEvents buildEvents) throws Exception {
+            payloadsSerializer.write(encoder, new ArrayList<Object>(buildEvents.getPayloads()));
+        }
+
+        @Override
+        public BuildEvents read(Decoder decoder) throws Exception {
+            return new BuildEvents(Cast.<List<Object>>uncheckedNonnullCast(payloadsSerializer.read(decoder)));
+        }
+    }
+
     private static class ForwardInputSerializer implements Serializer<ForwardInput> {
         @Override
         public void write(Encoder encoder, ForwardInput message) throws Exception {
@@ -258,6 +276,7 @@ public void write(Encoder encoder, Build build) throws Exception {
             encoder.writeLong(build.getIdentifier().getLeastSignificantBits());
             encoder.writeBinary(build.getToken());
             encoder.writeLong(build.getStartTime());
+            encoder.writeLong(build.getRequestSentTime());
             encoder.writeBoolean(build.isInteractive());
             buildActionSerializer.write(encoder, build.getAction());
             GradleLauncherMetaData metaData = (GradleLauncherMetaData) build.getBuildClientMetaData();
@@ -270,11 +289,12 @@ public Build read(Decoder decoder) throws Exception {
             UUID uuid = new UUID(decoder.readLong(), decoder.readLong());
             byte[] token = decoder.readBinary();
             long timestamp = decoder.readLong();
+            long requestSentTime = decoder.readLong();
             boolean interactive = decoder.readBoolean();
             BuildAction buildAction = buildActionSerializer.read(decoder);
             GradleLauncherMetaData metaData = new GradleLauncherMetaData(decoder.readString());
             BuildActionParameters buildActionParameters = buildActionParametersSerializer.read(decoder);
-            return new Build(uuid, token, buildAction, metaData, timestamp, interactive, buildActionParameters);
+            return new Build(uuid, token, buildAction, metaData, timestamp, requestSentTime, interactive, buildActionParameters);
         }
     }
 
@@ -202,6 +202,10 @@ public List<DaemonStopEvent> getStopEvents() {
 
     @Override
     public void removeStopEvents(final Collection<DaemonStopEvent> events) {
+        if (events.isEmpty()) {
+            // Avoid locking and rewriting the registry for nothing, as the client does this each time it starts a daemon
+            return;
+        }
         lock.lock();
         LOGGER.info("Removing {} daemon stop events from registry", events.size());
         try {
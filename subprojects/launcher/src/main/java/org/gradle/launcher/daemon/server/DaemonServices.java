@@ -16,11 +16,15 @@
 package org.gradle.launcher.daemon.server;
 
 import com.google.common.collect.ImmutableList;
+import org.gradle.api.internal.cache.StringInterner;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.classpath.ClassPath;
 import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.event.ListenerManager;
+import org.gradle.internal.hash.StreamHasher;
+import org.gradle.internal.installation.CurrentGradleInstallation;
+import org.gradle.internal.installation.GradleInstallation;
 import org.gradle.internal.invocation.BuildAction;
 import org.gradle.internal.logging.LoggingManagerInternal;
 import org.gradle.internal.nativeintegration.ProcessEnvironment;
@@ -44,6 +48,7 @@
 import org.gradle.launcher.daemon.server.api.HandleInvalidateVirtualFileSystem;
 import org.gradle.launcher.daemon.server.api.HandleReportStatus;
 import org.gradle.launcher.daemon.server.api.HandleStop;
+import org.gradle.launcher.daemon.server.exec.CancelDaemonWarmup;
 import org.gradle.launcher.daemon.server.exec.DaemonCommandExecuter;
 import org.gradle.launcher.daemon.server.exec.EstablishBuildEnvironment;
 import org.gradle.launcher.daemon.server.exec.ExecuteBuild;
@@ -64,9 +69,12 @@
 import org.gradle.launcher.daemon.server.scaninfo.DaemonScanInfo;
 import org.gradle.launcher.daemon.server.scaninfo.DefaultDaemonScanInfo;
 import org.gradle.launcher.daemon.server.stats.DaemonRunningStats;
+import org.gradle.launcher.daemon.server.stats.JitCompilationInfo;
 import org.gradle.launcher.exec.BuildExecuter;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -135,11 +143,18 @@ protected DaemonHealthStats createDaemonHealthStats(DaemonRunningStats runningSt
         return new DaemonHealthStats(runningStats, strategy, executorFactory);
     }
 
+    protected DaemonWarmup createDaemonWarmup(ExecutorFactory executorFactory, StreamHasher streamHasher, StringInterner stringInterner) {
+        GradleInstallation gradleInstallation = CurrentGradleInstallation.get();
+        List<File> libDirs = gradleInstallation == null ? Collections.emptyList() : gradleInstallation.getLibDirs();
+        boolean enabled = !configuration.isSingleUse() && Boolean.getBoolean(DaemonWarmup.WARMUP_PROPERTY);
+        return new DaemonWarmup(executorFactory, streamHasher, stringInterner, libDirs, new JitCompilationInfo(), enabled);
+    }
+
     protected GarbageCollectorMonitoringStrategy createGarbageCollectorMonitoringStrategy() {
         return GarbageCollectorMonitoringStrategy.determineGcStrategy();
     }
 
-    protected ImmutableList<DaemonCommandAction> createDaemonCommandActions(DaemonContext daemonContext, ProcessEnvironment processEnvironment, DaemonHealthStats healthStats, DaemonHealthCheck healthCheck, BuildExecuter buildActionExecuter, DaemonRunningStats runningStats) {
+    protected ImmutableList<DaemonCommandAction> createDaemonCommandActions(DaemonContext daemonContext, ProcessEnvironment processEnvironment, DaemonHealthStats healthStats, DaemonHealthCheck healthCheck, BuildExecuter buildActionExecuter, DaemonRunningStats runningStats, DaemonWarmup warmup) {
         File daemonLog = getDaemonLogFile();
         DaemonDiagnostics daemonDiagnostics = new DaemonDiagnostics(daemonLog, daemonContext.getPid());
         return ImmutableList.of(
@@ -149,6 +164,7 @@ protected ImmutableList<DaemonCommandAction> createDaemonCommandActions(DaemonCo
             new HandleReportStatus(),
             new ReturnResult(),
             new StartBuildOrRespondWithBusy(daemonDiagnostics), // from this point down, the daemon is 'busy'
+            new CancelDaemonWarmup(warmup),
             new EstablishBuildEnvironment(processEnvironment),
             new LogToClient(loggingManager, daemonDiagnostics), // from this point down, logging is sent back to the client
             new LogAndCheckHealth(healthStats, healthCheck),
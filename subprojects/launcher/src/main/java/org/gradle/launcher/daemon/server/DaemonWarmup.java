@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.internal.cache.StringInterner;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.hash.DefaultFileHasher;
+import org.gradle.internal.hash.StreamHasher;
+import org.gradle.internal.snapshot.impl.DirectorySnapshotter;
+import org.gradle.internal.snapshot.impl.DirectorySnapshotterStatistics;
+import org.gradle.internal.time.Time;
+import org.gradle.internal.time.Timer;
+import org.gradle.launcher.daemon.server.stats.JitCompilationInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms up the JIT compiler of a new daemon while the daemon waits for its first build, so that the first builds run by the daemon
+ * spend less time in interpreted code.
+ *
+ * <p>The warmup repeatedly snapshots and hashes the given directories, usually the libraries of the Gradle installation, which exercises the same code as
+ * the file system snapshotting done by each build. It stops once the JIT compiler spends little time compiling during a round, after a maximum number of rounds,
+ * or as soon as it is cancelled because a build has been started.</p>
+ */
+public class DaemonWarmup implements Stoppable {
+    /**
+     * Opts in to warming up a new daemon while it waits for its first build.
+     */
+    public static final String WARMUP_PROPERTY = "org.gradle.internal.daemon.warmup";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DaemonWarmup.class);
+    private static final int MAX_ROUNDS = 10;
+
+    private final ExecutorFactory executorFactory;
+    private final StreamHasher streamHasher;
+    private final StringInterner stringInterner;
+    private final List<File> directories;
+    private final JitCompilationInfo jitInfo;
+    private final boolean enabled;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private ManagedExecutor executor;
+
+    public DaemonWarmup(ExecutorFactory executorFactory, StreamHasher streamHasher, StringInterner stringInterner, List<File> directories, JitCompilationInfo jitInfo, boolean enabled) {
+        this.executorFactory = executorFactory;
+        this.streamHasher = streamHasher;
+        this.stringInterner = stringInterner;
+        this.directories = directories;
+        this.jitInfo = jitInfo;
+        this.enabled = enabled;
+    }
+
+    public void start() {
+        if (!enabled || directories.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (cancelled.get() || executor != null) {
+                return;
+            }
+            executor = executorFactory.create("Daemon warmup");
+        }
+        executor.execute(this::warmup);
+    }
+
+    /**
+     * Stops the warmup and waits for it to finish.
+     */
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        ManagedExecutor executor;
+        synchronized (this) {
+            executor = this.executor;
+        }
+        if (executor != null) {
+            executor.stop();
+        }
+    }
+
+    @Override
+    public void stop() {
+        cancel();
+    }
+
+    private void warmup() {
+        Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+        DirectorySnapshotter snapshotter = new DirectorySnapshotter(new DefaultFileHasher(streamHasher), stringInterner, ImmutableList.of(), new DirectorySnapshotterStatistics.Collector());
+        Timer warmupTimer = Time.startTimer();
+        int round = 0;
+        try {
+            while (round < MAX_ROUNDS && !cancelled.get()) {
+                round++;
+                Timer roundTimer = Time.startTimer();
+                long compilationTimeAtStart = jitInfo.getCompilationTime();
+                for (File directory : directories) {
+                    // Abandon the walk as soon as the warmup is cancelled
+                    snapshotter.snapshot(directory.getAbsolutePath(), (path, name, isDirectory, relativePath) -> !cancelled.get(), new AtomicBoolean());
+                }
+                long compilationTime = jitInfo.getCompilationTime() - compilationTimeAtStart;
+                if (jitInfo.isAvailable() && JitCompilationInfo.isSteadyState(compilationTime, Math.max(roundTimer.getElapsedMillis(), 1))) {
+                    break;
+                }
+            }
+            LOGGER.debug("Daemon warmup {} after {} rounds in {}.", cancelled.get() ? "cancelled" : "finished", round, warmupTimer.getElapsed());
+        } catch (Exception e) {
+            LOGGER.debug("Daemon warmup failed.", e);
+        }
+    }
+}
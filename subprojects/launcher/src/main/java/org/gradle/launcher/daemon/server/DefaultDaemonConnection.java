@@ -23,6 +23,7 @@
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.logging.events.OutputEvent;
 import org.gradle.launcher.daemon.protocol.BuildEvent;
+import org.gradle.launcher.daemon.protocol.BuildEvents;
 import org.gradle.launcher.daemon.protocol.BuildStarted;
 import org.gradle.launcher.daemon.protocol.Cancel;
 import org.gradle.launcher.daemon.protocol.CloseInput;
@@ -38,6 +39,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -144,6 +146,15 @@ public void event(Object event) {
         connection.dispatchAndFlush(new BuildEvent(event));
     }
 
+    @Override
+    public void events(List<Object> events) {
+        if (events.size() == 1) {
+            event(events.get(0));
+        } else if (!events.isEmpty()) {
+            connection.dispatchAndFlush(new BuildEvents(events));
+        }
+    }
+
     @Override
     public void completed(Result result) {
         connection.dispatchAndFlush(result);
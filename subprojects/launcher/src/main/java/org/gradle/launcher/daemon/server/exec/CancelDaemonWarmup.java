@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server.exec;
+
+import org.gradle.launcher.daemon.server.DaemonWarmup;
+import org.gradle.launcher.daemon.server.api.DaemonCommandAction;
+import org.gradle.launcher.daemon.server.api.DaemonCommandExecution;
+
+/**
+ * Stops any warmup of the daemon before the build runs, so that the warmup does not compete with the build.
+ */
+public class CancelDaemonWarmup implements DaemonCommandAction {
+    private final DaemonWarmup warmup;
+
+    public CancelDaemonWarmup(DaemonWarmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    public void execute(DaemonCommandExecution execution) {
+        warmup.cancel();
+        execution.proceed();
+    }
+}
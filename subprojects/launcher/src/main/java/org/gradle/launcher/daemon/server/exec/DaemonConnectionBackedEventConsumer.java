@@ -19,14 +19,20 @@
 import org.gradle.initialization.BuildEventConsumer;
 import org.gradle.launcher.daemon.server.api.DaemonCommandExecution;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
  * An event consumer that asynchronously dispatches events to the client.
+ *
+ * <p>Events that are queued while the previous events are being sent are sent to the client together, in a single message.</p>
  */
 class DaemonConnectionBackedEventConsumer implements BuildEventConsumer {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final DaemonCommandExecution execution;
     private final BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>();
     private final ForwardEvents forwarder = new ForwardEvents();
@@ -58,7 +64,10 @@ public void run() {
             while (moreMessagesToSend()) {
                 Object event = getNextEvent();
                 if (event != null) {
-                    dispatchEvent(event);
+                    List<Object> events = new ArrayList<Object>();
+                    events.add(event);
+                    queue.drainTo(events, MAX_BATCH_SIZE - 1);
+                    dispatchEvents(events);
                 }
             }
         }
@@ -76,9 +85,9 @@ private Object getNextEvent() {
             }
         }
 
-        private void dispatchEvent(Object event) {
+        private void dispatchEvents(List<Object> events) {
             try {
-                execution.getConnection().event(event);
+                execution.getConnection().events(events);
             } catch (RuntimeException e) {
                 ableToSend = false;
             }
@@ -103,6 +103,13 @@ private String getBuildHealthInfo(int nextBuildNum) {
         if (nonHeapStats.isValid()) {
             message.append(format(", non-heap usage: %s%% of %s", nonHeapStats.getUsedPercent(), NumberUtil.formatBytes(nonHeapStats.getMaxSizeInBytes())));
         }
+
+        if (runningStats.isJitCompilationTimeAvailable()) {
+            message.append(format(", JIT compilation: %s%% of last build", runningStats.getLastBuildCompilationPercent()));
+            if (runningStats.getSteadyStateBuild() > 0) {
+                message.append(format(", JIT steady state since %s build after %s", NumberUtil.ordinal(runningStats.getSteadyStateBuild()), runningStats.getSteadyStateUpTime()));
+            }
+        }
         message.append("]");
 
         return message.toString();
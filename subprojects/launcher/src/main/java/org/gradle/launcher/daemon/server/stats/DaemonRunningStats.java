@@ -16,17 +16,35 @@
 
 package org.gradle.launcher.daemon.server.stats;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.gradle.internal.time.Time;
 import org.gradle.internal.time.Timer;
 
+import javax.annotation.Nullable;
+
 public class DaemonRunningStats {
 
     private final long startTime = System.currentTimeMillis();
     private final Timer daemonTimer = Time.startTimer();
     private final Timer currentBuildTimer = Time.startTimer();
+    private final JitCompilationInfo jitInfo;
 
     private int buildCount;
     private long allBuildsTime;
+    private long compilationTimeAtBuildStart;
+    private long lastBuildTime;
+    private long lastBuildCompilationTime;
+    private int steadyStateBuild;
+    private String steadyStateUpTime;
+
+    public DaemonRunningStats() {
+        this(new JitCompilationInfo());
+    }
+
+    @VisibleForTesting
+    DaemonRunningStats(JitCompilationInfo jitInfo) {
+        this.jitInfo = jitInfo;
+    }
 
     public int getBuildCount() {
         return buildCount;
@@ -44,15 +62,49 @@ public long getAllBuildsTime() {
         return allBuildsTime;
     }
 
+    public boolean isJitCompilationTimeAvailable() {
+        return jitInfo.isAvailable() && buildCount > 0;
+    }
+
+    /**
+     * The JIT compilation time during the last build, as a percentage of the duration of that build.
+     * Compilation happens on separate threads, so this is not bounded by 100.
+     */
+    public int getLastBuildCompilationPercent() {
+        return lastBuildTime > 0 ? (int) (100 * lastBuildCompilationTime / lastBuildTime) : 0;
+    }
+
+    /**
+     * The number of the first build during which the JIT compiler was in a steady state, or 0 when this has not happened yet.
+     */
+    public int getSteadyStateBuild() {
+        return steadyStateBuild;
+    }
+
+    /**
+     * The uptime of the daemon at the end of the first build during which the JIT compiler was in a steady state, or null when this has not happened yet.
+     */
+    @Nullable
+    public String getSteadyStateUpTime() {
+        return steadyStateUpTime;
+    }
+
     // TODO: these should be moved off to a separate type
 
     public void buildStarted() {
         ++buildCount;
         currentBuildTimer.reset();
+        compilationTimeAtBuildStart = jitInfo.getCompilationTime();
     }
 
     public void buildFinished() {
         long buildTime = Math.max(currentBuildTimer.getElapsedMillis(), 1);
         allBuildsTime += buildTime;
+        lastBuildTime = buildTime;
+        lastBuildCompilationTime = jitInfo.getCompilationTime() - compilationTimeAtBuildStart;
+        if (steadyStateBuild == 0 && jitInfo.isAvailable() && JitCompilationInfo.isSteadyState(lastBuildCompilationTime, buildTime)) {
+            steadyStateBuild = buildCount;
+            steadyStateUpTime = getPrettyUpTime();
+        }
     }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server.stats;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+
+public class JitCompilationInfo {
+    /**
+     * The JIT compiler is considered to have reached a steady state when it spends less than this share of some period compiling.
+     */
+    private static final double STEADY_STATE_COMPILATION_RATIO = 0.05;
+
+    private final CompilationMXBean compilationBean = ManagementFactory.getCompilationMXBean();
+
+    public boolean isAvailable() {
+        return compilationBean != null && compilationBean.isCompilationTimeMonitoringSupported();
+    }
+
+    /**
+     * Approx. time spent in JIT compilation, in milliseconds. See {@link CompilationMXBean}
+     */
+    public long getCompilationTime() {
+        return isAvailable() ? compilationBean.getTotalCompilationTime() : 0;
+    }
+
+    /**
+     * Returns true when the given time spent in JIT compilation is a small share of the given elapsed time.
+     */
+    public static boolean isSteadyState(long compilationTime, long elapsedTime) {
+        return compilationTime < elapsedTime * STEADY_STATE_COMPILATION_RATIO;
+    }
+}
@@ -17,6 +17,7 @@ package org.gradle.launcher.daemon.client
 
 import org.gradle.api.BuildCancelledException
 import org.gradle.initialization.BuildCancellationToken
+import org.gradle.initialization.BuildEventConsumer
 import org.gradle.initialization.BuildRequestContext
 import org.gradle.internal.id.UUIDGenerator
 import org.gradle.internal.invocation.BuildAction
@@ -25,6 +26,8 @@ import org.gradle.internal.nativeintegration.ProcessEnvironment
 import org.gradle.launcher.daemon.context.DaemonCompatibilitySpec
 import org.gradle.launcher.daemon.context.DaemonConnectDetails
 import org.gradle.launcher.daemon.protocol.Build
+import org.gradle.launcher.daemon.protocol.BuildEvent
+import org.gradle.launcher.daemon.protocol.BuildEvents
 import org.gradle.launcher.daemon.protocol.BuildStarted
 import org.gradle.launcher.daemon.protocol.Cancel
 import org.gradle.launcher.daemon.protocol.CloseInput
@@ -65,6 +68,33 @@ class DaemonClientTest extends ConcurrentSpecification {
         0 * _
     }
 
+    def "dispatches build events received from the daemon in order"() {
+        def resultMessage = Stub(BuildActionResult)
+        def events = []
+        def eventConsumer = { events << it } as BuildEventConsumer
+        def buildRequestContext = Stub(BuildRequestContext) {
+            getEventConsumer() >> eventConsumer
+        }
+
+        when:
+        def result = client.execute(Stub(BuildAction), Stub(BuildActionParameters), buildRequestContext)
+
+        then:
+        result == resultMessage
+        1 * processEnvironment.maybeGetPid()
+        1 * connector.connect(compatibilitySpec) >> connection
+        _ * connection.daemon >> Stub(DaemonConnectDetails)
+        1 * connection.dispatch({ it instanceof Build })
+        4 * connection.receive() >>> [Stub(BuildStarted), new BuildEvents(["event1", "event2", "event3"]), new BuildEvent("event4"), new Success(resultMessage)]
+        1 * connection.dispatch({ it instanceof CloseInput })
+        1 * connection.dispatch({ it instanceof Finished })
+        1 * connection.stop()
+        0 * _
+
+        and:
+        events == ["event1", "event2", "event3", "event4"]
+    }
+
     def rethrowsFailureToExecuteAction() {
         RuntimeException failure = new RuntimeException()
 
@@ -46,6 +46,14 @@ class DaemonMessageSerializerTest extends SerializerSpec {
         result.payload == ["a", "b", "c"]
     }
 
+    def "can serialize BuildEvents messages"() {
+        expect:
+        def events = new BuildEvents([["a", "b"], "c", ["d"]])
+        def result = serialize(events, serializer)
+        result instanceof BuildEvents
+        result.payloads == [["a", "b"], "c", ["d"]]
+    }
+
     def "can serialize LogLevelChangeEvent messages"() {
         expect:
         def event = new LogLevelChangeEvent(LogLevel.LIFECYCLE)
@@ -188,12 +196,13 @@ class DaemonMessageSerializerTest extends SerializerSpec {
         def action = new ExecuteBuildAction(new StartParameterInternal())
         def clientMetadata = new GradleLauncherMetaData()
         def params = new DefaultBuildActionParameters([:], [:], new File("some-dir"), LogLevel.ERROR, true, false, ClassPath.EMPTY)
-        def message = new Build(UUID.randomUUID(), [1, 2, 3] as byte[], action, clientMetadata, 1234L, true, params)
+        def message = new Build(UUID.randomUUID(), [1, 2, 3] as byte[], action, clientMetadata, 1234L, 1300L, true, params)
         def result = serialize(message, serializer)
         result instanceof Build
         result.identifier == message.identifier
         result.token == message.token
         result.startTime == message.startTime
+        result.requestSentTime == message.requestSentTime
         result.interactive
         result.action
         result.buildRequestMetaData
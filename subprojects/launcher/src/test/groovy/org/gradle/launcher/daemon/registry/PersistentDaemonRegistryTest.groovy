@@ -114,6 +114,14 @@ class PersistentDaemonRegistryTest extends Specification {
         registry.stopEvents.empty
     }
 
+    def "does not write registry file when there are no stop events to remove"() {
+        when:
+        registry.removeStopEvents([])
+
+        then:
+        !file.exists()
+    }
+
     def "clears single stop event when non-empty"() {
         given:
         def stopEvent = new DaemonStopEvent(new Date(1L), new Random().nextLong(), DaemonExpirationStatus.GRACEFUL_EXPIRE, "STOP_REASON")
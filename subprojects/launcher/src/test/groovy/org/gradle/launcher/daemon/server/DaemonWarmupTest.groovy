@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server
+
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.ManagedExecutor
+import org.gradle.internal.hash.DefaultStreamHasher
+import org.gradle.launcher.daemon.server.stats.JitCompilationInfo
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class DaemonWarmupTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def executorFactory = Mock(ExecutorFactory)
+    def executor = Mock(ManagedExecutor)
+    def jitInfo = Mock(JitCompilationInfo)
+
+    def "snapshots directories until the JIT compiler is in a steady state"() {
+        def dir = tmpDir.createDir("lib")
+        dir.file("a.jar").text = "a"
+        dir.file("b.jar").text = "b"
+        Runnable warmup = null
+
+        when:
+        warmup(dir, true).start()
+
+        then:
+        1 * executorFactory.create(_) >> executor
+        1 * executor.execute(_) >> { Runnable r -> warmup = r }
+
+        when:
+        warmup.run()
+
+        then:
+        _ * jitInfo.available >> true
+        // Spends 1s compiling during the first round, none during the second
+        4 * jitInfo.compilationTime >>> [0, 1000, 1000, 1000]
+    }
+
+    def "stops warmup when cancelled"() {
+        def dir = tmpDir.createDir("lib")
+
+        when:
+        def daemonWarmup = warmup(dir, true)
+        daemonWarmup.start()
+        daemonWarmup.cancel()
+
+        then:
+        1 * executorFactory.create(_) >> executor
+        1 * executor.execute(_)
+        1 * executor.stop()
+
+        when:
+        daemonWarmup.cancel()
+        daemonWarmup.start()
+
+        then:
+        0 * executorFactory._
+        0 * executor._
+    }
+
+    def "does nothing when not enabled"() {
+        when:
+        def daemonWarmup = warmup(tmpDir.createDir("lib"), false)
+        daemonWarmup.start()
+        daemonWarmup.cancel()
+
+        then:
+        0 * executorFactory._
+    }
+
+    def warmup(File dir, boolean enabled) {
+        return new DaemonWarmup(executorFactory, new DefaultStreamHasher(), new StringInterner(), [dir], jitInfo, enabled)
+    }
+}
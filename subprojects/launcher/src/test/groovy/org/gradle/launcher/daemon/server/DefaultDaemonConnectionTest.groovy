@@ -18,6 +18,8 @@ package org.gradle.launcher.daemon.server
 
 import org.gradle.internal.remote.internal.MessageIOException
 import org.gradle.internal.remote.internal.RemoteConnection
+import org.gradle.launcher.daemon.protocol.BuildEvent
+import org.gradle.launcher.daemon.protocol.BuildEvents
 import org.gradle.launcher.daemon.protocol.CloseInput
 import org.gradle.launcher.daemon.protocol.ForwardInput
 import org.gradle.launcher.daemon.protocol.Message
@@ -349,19 +351,49 @@ class DefaultDaemonConnectionTest extends ConcurrentSpecification {
         result*.message == ["incoming1", "incoming2"]
     }
 
+    def "sends a single build event as a build event message"() {
+        when:
+        daemonConnection.events(["event"])
+
+        then:
+        connection.dispatched.size() == 1
+        connection.dispatched[0] instanceof BuildEvent
+        connection.dispatched[0].payload == "event"
+    }
+
+    def "sends several build events as one message in order"() {
+        when:
+        daemonConnection.events(["event1", "event2", "event3"])
+
+        then:
+        connection.dispatched.size() == 1
+        connection.dispatched[0] instanceof BuildEvents
+        connection.dispatched[0].payloads == ["event1", "event2", "event3"]
+    }
+
+    def "sends nothing when there are no build events"() {
+        when:
+        daemonConnection.events([])
+
+        then:
+        connection.dispatched.empty
+    }
+
     static class TestConnection implements RemoteConnection<Message> {
         private final def lock = new Object()
         private final def endInput = new Received("end")
         private final def receiveQueue = new LinkedList<Message>()
+        final List<Message> dispatched = []
 
         @Override
         void dispatch(Message message) throws MessageIOException {
-            throw new UnsupportedOperationException()
+            synchronized (lock) {
+                dispatched << message
+            }
         }
 
         @Override
         void flush() throws MessageIOException {
-            throw new UnsupportedOperationException()
         }
 
         void queueIncoming(String message) {
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.launcher.daemon.server.exec
+
+import org.gradle.launcher.daemon.server.api.DaemonCommandExecution
+import org.gradle.launcher.daemon.server.api.DaemonConnection
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class DaemonConnectionBackedEventConsumerTest extends Specification {
+    def batches = new CopyOnWriteArrayList<List<Object>>()
+    def connection = Mock(DaemonConnection)
+    def execution = Stub(DaemonCommandExecution) {
+        getConnection() >> connection
+    }
+
+    def "forwards events to the client in the order they are dispatched"() {
+        given:
+        connection.events(_) >> { List<Object> events -> batches << new ArrayList<Object>(events) }
+        def consumer = new DaemonConnectionBackedEventConsumer(execution)
+
+        when:
+        2000.times { consumer.dispatch(it) }
+        consumer.waitForFinish()
+
+        then:
+        batches.flatten() == (0..<2000).toList()
+        batches.every { it.size() <= 500 }
+    }
+
+    def "sends events queued while sending previous events together"() {
+        def sending = new CountDownLatch(1)
+        def queued = new CountDownLatch(1)
+
+        given:
+        connection.events(_) >> { List<Object> events ->
+            batches << new ArrayList<Object>(events)
+            if (batches.size() == 1) {
+                sending.countDown()
+                queued.await(10, TimeUnit.SECONDS)
+            }
+        }
+        def consumer = new DaemonConnectionBackedEventConsumer(execution)
+
+        when:
+        consumer.dispatch("first")
+        sending.await(10, TimeUnit.SECONDS)
+        consumer.dispatch("second")
+        consumer.dispatch("third")
+        consumer.dispatch("fourth")
+        queued.countDown()
+        consumer.waitForFinish()
+
+        then:
+        batches == [["first"], ["second", "third", "fourth"]]
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.launcher.daemon.server.exec
+
+import org.gradle.initialization.BuildCancellationToken
+import org.gradle.initialization.BuildClientMetaData
+import org.gradle.initialization.BuildRequestContext
+import org.gradle.internal.invocation.BuildAction
+import org.gradle.launcher.daemon.protocol.Build
+import org.gradle.launcher.daemon.server.api.DaemonCommandExecution
+import org.gradle.launcher.daemon.server.api.DaemonStateControl
+import org.gradle.launcher.daemon.server.stats.DaemonRunningStats
+import org.gradle.launcher.exec.BuildActionExecuter
+import org.gradle.launcher.exec.BuildActionParameters
+import org.gradle.launcher.exec.BuildActionResult
+import spock.lang.Specification
+
+class ExecuteBuildTest extends Specification {
+    def actionExecuter = Mock(BuildActionExecuter)
+    def runningStats = Mock(DaemonRunningStats)
+    def execution = Mock(DaemonCommandExecution)
+    def action = Stub(BuildAction)
+    def clientMetaData = Stub(BuildClientMetaData)
+    def parameters = Stub(BuildActionParameters)
+    def executeBuild = new ExecuteBuild(actionExecuter, runningStats)
+
+    def setup() {
+        execution.daemonStateControl >> Stub(DaemonStateControl) {
+            getCancellationToken() >> Stub(BuildCancellationToken)
+        }
+    }
+
+    def "executes build with the request meta-data of the client"() {
+        def build = new Build(UUID.randomUUID(), [] as byte[], action, clientMetaData, 1000, 3000, true, parameters)
+        def result = BuildActionResult.of(null)
+        BuildRequestContext context = null
+
+        when:
+        executeBuild.execute(execution)
+
+        then:
+        _ * execution.command >> build
+        1 * actionExecuter.execute(action, parameters, _) >> { BuildAction a, BuildActionParameters p, BuildRequestContext c ->
+            context = c
+            result
+        }
+        1 * execution.setResult(result)
+        1 * execution.proceed()
+
+        and:
+        context.client == clientMetaData
+        context.startTime == 1000
+        context.requestSentTime == 3000
+        context.interactive
+    }
+}
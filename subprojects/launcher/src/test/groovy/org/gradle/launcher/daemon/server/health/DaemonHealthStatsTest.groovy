@@ -77,4 +77,24 @@ class DaemonHealthStatsTest extends Specification {
         healthStats.healthInfo == "Starting 2nd build in daemon [uptime: 3 mins, performance: 98%]"
     }
 
+    def "reports JIT compilation time and steady state"() {
+        when:
+        gcInfo.getCollectionTime() >> 25
+        runningStats.getBuildCount() >> 2
+        runningStats.getPrettyUpTime() >> "3 mins"
+        runningStats.getAllBuildsTime() >> 1000
+        runningStats.isJitCompilationTimeAvailable() >> true
+        runningStats.getLastBuildCompilationPercent() >> 3
+        runningStats.getSteadyStateBuild() >> 2
+        runningStats.getSteadyStateUpTime() >> "2 mins"
+        gcMonitor.getHeapStats() >> {
+            GarbageCollectionStats.noData()
+        }
+        gcMonitor.getNonHeapStats() >> {
+            GarbageCollectionStats.noData()
+        }
+
+        then:
+        healthStats.healthInfo == "Starting 3rd build in daemon [uptime: 3 mins, performance: 98%, JIT compilation: 3% of last build, JIT steady state since 2nd build after 2 mins]"
+    }
 }
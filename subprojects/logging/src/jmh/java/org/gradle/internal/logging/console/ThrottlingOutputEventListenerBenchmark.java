@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.logging.console;
+
+import org.gradle.api.logging.LogLevel;
+import org.gradle.internal.logging.events.EndOutputEvent;
+import org.gradle.internal.logging.events.LogEvent;
+import org.gradle.internal.logging.events.OutputEvent;
+import org.gradle.internal.logging.events.OutputEventListener;
+import org.gradle.internal.time.Time;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Measures how many output events per second many threads can send to the console while the queued events are periodically rendered,
+ * which is what workers producing verbose output do.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class ThrottlingOutputEventListenerBenchmark {
+    private static final int THROTTLE_MS = 10;
+
+    private ThrottlingOutputEventListener listener;
+    private OutputEvent event;
+
+    @Setup(Level.Trial)
+    public void setup(final Blackhole blackhole) {
+        OutputEventListener console = new OutputEventListener() {
+            @Override
+            public void onOutput(OutputEvent event) {
+                // Rendering an event to the console takes some time
+                Blackhole.consumeCPU(50);
+                blackhole.consume(event);
+            }
+        };
+        listener = new ThrottlingOutputEventListener(console, THROTTLE_MS, Executors.newSingleThreadScheduledExecutor(), Time.clock());
+        event = new LogEvent(0, "category", LogLevel.LIFECYCLE, "Some output from a compiler or a test that is long enough to be realistic.", null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        listener.onOutput(new EndOutputEvent());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleThread() {
+        listener.onOutput(event);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void manyThreads() {
+        listener.onOutput(event);
+    }
+}
@@ -23,14 +23,17 @@
 import org.gradle.internal.logging.events.UpdateNowEvent;
 import org.gradle.internal.time.Clock;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Queue output events to be forwarded and schedule flush when time passed or if end of build is signalled.
+ *
+ * Queueing an event does not block, so threads that produce output do not wait while queued events are being rendered.
+ * Events are forwarded in the order they were queued, by one thread at a time.
  */
 public class ThrottlingOutputEventListener implements OutputEventListener {
     private final OutputEventListener listener;
@@ -38,9 +41,9 @@ public class ThrottlingOutputEventListener implements OutputEventListener {
     private final ScheduledExecutorService executor;
     private final Clock clock;
     private final int throttleMs;
-    private final Object lock = new Object();
+    private final Object renderLock = new Object();
 
-    private final List<OutputEvent> queue = new ArrayList<OutputEvent>();
+    private final Queue<OutputEvent> queue = new ConcurrentLinkedQueue<OutputEvent>();
 
     public ThrottlingOutputEventListener(OutputEventListener listener, Clock clock) {
         this(listener, Integer.getInteger("org.gradle.internal.console.throttle", 100), Executors.newSingleThreadScheduledExecutor(), clock);
@@ -65,34 +68,40 @@ public void run() {
 
     @Override
     public void onOutput(OutputEvent newEvent) {
-        synchronized (lock) {
-            queue.add(newEvent);
-
-            if (newEvent instanceof UpdateNowEvent) {
-                // Flush any buffered events and update the clock
-                renderNow();
-                return;
-            }
+        queue.add(newEvent);
 
-            if (newEvent instanceof FlushOutputEvent) {
-                renderNow();
-                return;
-            }
+        if (newEvent instanceof UpdateNowEvent) {
+            // Flush any buffered events and update the clock
+            renderNow(newEvent);
+            return;
+        }
 
-            if (newEvent instanceof EndOutputEvent) {
-                // Flush and clean up
-                renderNow();
-                executor.shutdown();
-            }
+        if (newEvent instanceof FlushOutputEvent) {
+            renderNow(newEvent);
+            return;
+        }
 
-            // Else, wait for the next update event
+        if (newEvent instanceof EndOutputEvent) {
+            // Flush and clean up
+            renderNow(newEvent);
+            executor.shutdown();
         }
+
+        // Else, wait for the next update event
     }
 
-    private void renderNow() {
-        for (OutputEvent event : queue) {
-            listener.onOutput(event);
+    /**
+     * Forwards the queued events up to and including the given event. Stops when the queue is empty, in case another thread has already forwarded the given event.
+     */
+    private void renderNow(OutputEvent lastEvent) {
+        synchronized (renderLock) {
+            OutputEvent event;
+            while ((event = queue.poll()) != null) {
+                listener.onOutput(event);
+                if (event == lastEvent) {
+                    return;
+                }
+            }
         }
-        queue.clear();
     }
 }
@@ -18,12 +18,15 @@ package org.gradle.internal.logging.console
 import org.gradle.internal.logging.OutputSpecification
 import org.gradle.internal.logging.events.EndOutputEvent
 import org.gradle.internal.logging.events.FlushOutputEvent
+import org.gradle.internal.logging.events.OutputEvent
 import org.gradle.internal.logging.events.OutputEventListener
 import org.gradle.internal.logging.events.UpdateNowEvent
 import org.gradle.internal.time.MockClock
 import org.gradle.util.MockExecutor
 import spock.lang.Subject
 
+import java.util.concurrent.ConcurrentLinkedQueue
+
 class ThrottlingOutputEventListenerTest extends OutputSpecification {
     def listener = Mock(OutputEventListener)
     def clock = new MockClock()
@@ -129,6 +132,31 @@ class ThrottlingOutputEventListenerTest extends OutputSpecification {
         0 * _
     }
 
+    def "forwards events queued concurrently in the order each thread queued them"() {
+        def received = new ConcurrentLinkedQueue<OutputEvent>()
+        def collecting = new ThrottlingOutputEventListener({ received.add(it) } as OutputEventListener, 100, executor, clock)
+        def events = (1..4).collect { thread -> (1..500).collect { event("$thread-$it") } }
+
+        when:
+        def threads = events.collect { threadEvents ->
+            Thread.start {
+                threadEvents.eachWithIndex { event, i ->
+                    collecting.onOutput(event)
+                    if (i % 50 == 0) {
+                        collecting.onOutput(new FlushOutputEvent())
+                    }
+                }
+            }
+        }
+        threads*.join()
+        collecting.onOutput(new FlushOutputEvent())
+
+        then:
+        def forwarded = received.findAll { !(it instanceof FlushOutputEvent) }
+        forwarded.size() == 2000
+        events.every { threadEvents -> forwarded.findAll { it in threadEvents } == threadEvents }
+    }
+
     def "shuts down executor when receiving end output event"() {
         expect:
         !executor.isShutdown()
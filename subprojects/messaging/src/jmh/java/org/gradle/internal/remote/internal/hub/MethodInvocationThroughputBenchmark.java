@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.remote.internal.hub;
+
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.dispatch.MethodInvocation;
+import org.gradle.internal.remote.internal.KryoBackedMessageSerializer;
+import org.gradle.internal.remote.internal.inet.SocketConnection;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.DefaultSerializerRegistry;
+import org.gradle.internal.serialize.SerializerRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how many method invocations per second can be sent from one end of a loopback socket connection to the other,
+ * which is what a test worker streaming test output to the build process does.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class MethodInvocationThroughputBenchmark {
+    private static final int MESSAGES_PER_INVOCATION = 1000;
+
+    @Param({"registry", "java"})
+    String parameterSerialization;
+
+    private ServerSocketChannel serverChannel;
+    private SocketConnection<MethodInvocation> sender;
+    private SocketConnection<MethodInvocation> receiver;
+    private Thread receiverThread;
+    private final AtomicLong received = new AtomicLong();
+    private long sent;
+    private MethodInvocation invocation;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        SocketChannel senderChannel = SocketChannel.open(serverChannel.socket().getLocalSocketAddress());
+        SocketChannel receiverChannel = serverChannel.accept();
+        sender = new SocketConnection<MethodInvocation>(senderChannel, new KryoBackedMessageSerializer(), newSerializer());
+        receiver = new SocketConnection<MethodInvocation>(receiverChannel, new KryoBackedMessageSerializer(), newSerializer());
+
+        Method method = OutputProtocol.class.getMethod("output", Object.class, String.class);
+        invocation = new MethodInvocation(method, new Object[]{12L, "Some output from a test that is long enough to be realistic."});
+
+        receiverThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (receiver.receive() != null) {
+                    received.incrementAndGet();
+                }
+            }
+        });
+        receiverThread.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        sender.stop();
+        receiverThread.join();
+        CompositeStoppable.stoppable(receiver, serverChannel).stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+    public long sendMessages() {
+        for (int i = 0; i < MESSAGES_PER_INVOCATION; i++) {
+            sender.dispatch(invocation);
+        }
+        sender.flush();
+        sent += MESSAGES_PER_INVOCATION;
+        while (received.get() < sent) {
+            Thread.yield();
+        }
+        return sent;
+    }
+
+    private MethodInvocationSerializer newSerializer() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        List<SerializerRegistry> registries;
+        if (parameterSerialization.equals("registry")) {
+            DefaultSerializerRegistry registry = new DefaultSerializerRegistry();
+            registry.register(Long.class, BaseSerializerFactory.LONG_SERIALIZER);
+            registry.register(String.class, BaseSerializerFactory.STRING_SERIALIZER);
+            registries = Collections.<SerializerRegistry>singletonList(registry);
+        } else {
+            registries = Collections.emptyList();
+        }
+        return new MethodInvocationSerializer(classLoader, new DefaultMethodArgsSerializer(registries, new JavaSerializationBackedMethodArgsSerializer(classLoader)));
+    }
+
+    public interface OutputProtocol {
+        void output(Object testId, String text);
+    }
+}
@@ -22,6 +22,7 @@
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.serialize.SerializerRegistry;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
 class DefaultMethodArgsSerializer implements MethodArgsSerializer {
@@ -39,13 +40,7 @@ public Serializer<Object[]> forTypes(Class<?>[] types) {
         if (types.length == 0) {
             return new EmptyArraySerializer();
         }
-        SerializerRegistry selected = null;
-        for (SerializerRegistry serializerRegistry : serializerRegistries) {
-            if (serializerRegistry.canSerialize(types[0])) {
-                selected = serializerRegistry;
-                break;
-            }
-        }
+        SerializerRegistry selected = select(types);
         if (selected == null) {
             return defaultArgsSerializer.forTypes(types);
         }
@@ -58,6 +53,29 @@ public Serializer<Object[]> forTypes(Class<?>[] types) {
         return new ArraySerializer(serializers);
     }
 
+    /**
+     * Selects the first registry that can serialize all of the given types. Looking at the first type only would select a
+     * registry that cannot serialize the remaining parameters, or fall back to Java serialization for the whole invocation.
+     */
+    @Nullable
+    private SerializerRegistry select(Class<?>[] types) {
+        for (SerializerRegistry serializerRegistry : serializerRegistries) {
+            if (canSerializeAll(serializerRegistry, types)) {
+                return serializerRegistry;
+            }
+        }
+        return null;
+    }
+
+    private static boolean canSerializeAll(SerializerRegistry serializerRegistry, Class<?>[] types) {
+        for (Class<?> type : types) {
+            if (!serializerRegistry.canSerialize(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static class ArraySerializer implements Serializer<Object[]> {
         private final Serializer<Object>[] serializers;
 
@@ -34,6 +34,7 @@
 import java.io.*;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
@@ -161,7 +162,7 @@ public SocketInputStream(SocketChannel socket) throws IOException {
             this.socket = socket;
             selector = Selector.open();
             socket.register(selector, SelectionKey.OP_READ);
-            buffer = ByteBuffer.allocateDirect(4096);
+            buffer = ByteBuffer.allocateDirect(32 * 1024);
             BufferCaster.cast(buffer).limit(0);
         }
 
@@ -181,28 +182,21 @@ public int read(byte[] dest, int offset, int max) throws IOException {
             }
 
             if (buffer.remaining() == 0) {
-                try {
-                    selector.select();
-                } catch (ClosedSelectorException e) {
-                    return -1;
-                }
-                if (!selector.isOpen()) {
-                    return -1;
-                }
-
-                BufferCaster.cast(buffer).clear();
-                int nread;
-                try {
-                    nread = socket.read(buffer);
-                } catch (IOException e) {
-                    if (isEndOfStream(e)) {
-                        BufferCaster.cast(buffer).position(0);
-                        BufferCaster.cast(buffer).limit(0);
+                // When messages are streamed, there usually is more data waiting on the socket. Read it straight away
+                // and only wait on the selector when the socket has been drained
+                int nread = readFromChannel();
+                while (nread == 0) {
+                    try {
+                        selector.select();
+                    } catch (ClosedSelectorException e) {
+                        return -1;
+                    }
+                    if (!selector.isOpen()) {
                         return -1;
                     }
-                    throw e;
+                    selector.selectedKeys().clear();
+                    nread = readFromChannel();
                 }
-                BufferCaster.cast(buffer).flip();
 
                 if (nread < 0) {
                     return -1;
@@ -214,6 +208,28 @@ public int read(byte[] dest, int offset, int max) throws IOException {
             return count;
         }
 
+        private int readFromChannel() throws IOException {
+            BufferCaster.cast(buffer).clear();
+            int nread;
+            try {
+                nread = socket.read(buffer);
+            } catch (ClosedChannelException e) {
+                // Connection has been stopped
+                BufferCaster.cast(buffer).position(0);
+                BufferCaster.cast(buffer).limit(0);
+                return -1;
+            } catch (IOException e) {
+                if (isEndOfStream(e)) {
+                    BufferCaster.cast(buffer).position(0);
+                    BufferCaster.cast(buffer).limit(0);
+                    return -1;
+                }
+                throw e;
+            }
+            BufferCaster.cast(buffer).flip();
+            return nread;
+        }
+
         @Override
         public void close() throws IOException {
             selector.close();
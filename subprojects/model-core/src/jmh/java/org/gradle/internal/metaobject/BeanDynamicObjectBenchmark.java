@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject;
+
+import groovy.lang.Closure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dynamic property and method calls a build script makes on a DSL object.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class BeanDynamicObjectBenchmark {
+    private BeanDynamicObject dynamicObject;
+    private Closure<Object> action;
+
+    @Setup
+    public void setup() {
+        dynamicObject = new BeanDynamicObject(new Extension());
+        action = new Closure<Object>(this) {
+            @Override
+            public Object call() {
+                return null;
+            }
+        };
+    }
+
+    @Benchmark
+    public Object getProperty() {
+        return dynamicObject.tryGetProperty("version");
+    }
+
+    @Benchmark
+    public Object getMissingProperty() {
+        return dynamicObject.tryGetProperty("unknown");
+    }
+
+    @Benchmark
+    public Object setProperty() {
+        return dynamicObject.trySetProperty("version", "1.2");
+    }
+
+    @Benchmark
+    public Object setPropertyWithCoercion() {
+        return dynamicObject.trySetProperty("level", "HIGH");
+    }
+
+    @Benchmark
+    public Object invokeMethodWithClosure() {
+        return dynamicObject.tryInvokeMethod("configure", action);
+    }
+
+    @Benchmark
+    public Object invokeMethodWithCoercion() {
+        return dynamicObject.tryInvokeMethod("level", "LOW");
+    }
+
+    @Benchmark
+    public Object invokeMissingMethod() {
+        return dynamicObject.tryInvokeMethod("unknown", "value");
+    }
+
+    public enum Level {
+        LOW, HIGH
+    }
+
+    public static class Extension {
+        private String version = "1.0";
+        private Level level = Level.LOW;
+
+        public String getVersion() {
+            return version;
+        }
+
+        public void setVersion(String version) {
+            this.version = version;
+        }
+
+        public Level getLevel() {
+            return level;
+        }
+
+        public void setLevel(Level level) {
+            this.level = level;
+        }
+
+        public void level(Level level) {
+            this.level = level;
+        }
+
+        public void configure(Closure<?> action) {
+            action.call();
+        }
+    }
+}
@@ -22,6 +22,8 @@
     private final Class<OUT> type;
     private final ProviderInternal<? extends BASE> left;
     private final ProviderInternal<? extends IN> right;
+    @Nullable
+    private volatile Value<? extends OUT> fixedValue;
 
     public AbstractCombiningProvider(Class<OUT> type, ProviderInternal<? extends BASE> left, ProviderInternal<? extends IN> right) {
         this.type = type;
@@ -41,7 +43,22 @@ public boolean calculatePresence(ValueConsumer consumer) {
     }
 
     @Override
-    protected Value<OUT> calculateOwnValue(ValueConsumer consumer) {
+    public boolean hasFixedValue() {
+        return left.hasFixedValue() && right.hasFixedValue();
+    }
+
+    @Override
+    protected Value<? extends OUT> calculateOwnValue(ValueConsumer consumer) {
+        Value<? extends OUT> fixedValue = this.fixedValue;
+        if (fixedValue != null) {
+            return ProviderMemoization.reused(fixedValue);
+        }
+        Value<? extends OUT> result = combine(consumer);
+        this.fixedValue = ProviderMemoization.memoizable(result, left, right);
+        return result;
+    }
+
+    private Value<? extends OUT> combine(ValueConsumer consumer) {
         Value<? extends BASE> leftValue = left.calculateValue(consumer);
         if (leftValue.isMissing()) {
             return leftValue.asType();
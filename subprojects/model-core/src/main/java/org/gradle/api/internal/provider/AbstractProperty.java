@@ -169,6 +169,11 @@ public final String toString() {
         }
     }
 
+    @Override
+    public boolean hasFixedValue() {
+        return state.isFinal() && getProducerTask() == null;
+    }
+
     @Override
     public ValueProducer getProducer() {
         Task task = getProducerTask();
@@ -305,6 +310,8 @@ public PropertyQueryException(String message, Throwable cause) {
     }
 
     private static abstract class FinalizationState<S> {
+        public abstract boolean isFinal();
+
         public abstract boolean shouldFinalize(DisplayName displayName, @Nullable ModelObject producer);
 
         public abstract FinalizationState<S> finalState();
@@ -344,6 +351,11 @@ public NonFinalizedValue(PropertyHost host) {
             this.host = host;
         }
 
+        @Override
+        public boolean isFinal() {
+            return false;
+        }
+
         @Override
         public boolean shouldFinalize(DisplayName displayName, @Nullable ModelObject producer) {
             if (disallowUnsafeRead) {
@@ -458,6 +470,11 @@ private String cannot(String what, DisplayName displayName, String reason) {
     }
 
     private static class FinalizedValue<S> extends FinalizationState<S> {
+        @Override
+        public boolean isFinal() {
+            return true;
+        }
+
         @Override
         public boolean shouldFinalize(DisplayName displayName, @Nullable ModelObject producer) {
             return false;
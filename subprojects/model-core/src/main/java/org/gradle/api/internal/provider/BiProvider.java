@@ -26,6 +26,8 @@
     private final BiFunction<A, B, R> combiner;
     private final ProviderInternal<A> left;
     private final ProviderInternal<B> right;
+    @Nullable
+    private volatile Value<? extends R> fixedValue;
 
     public BiProvider(Provider<A> left, Provider<B> right, BiFunction<A, B, R> combiner) {
         this.combiner = combiner;
@@ -44,11 +46,22 @@ private boolean isChangingValue(ProviderInternal<?> provider) {
         return provider.calculateExecutionTimeValue().isChangingValue();
     }
 
+    @Override
+    public boolean hasFixedValue() {
+        return left.hasFixedValue() && right.hasFixedValue();
+    }
+
     @Override
     protected Value<? extends R> calculateOwnValue(ValueConsumer consumer) {
+        Value<? extends R> fixedValue = this.fixedValue;
+        if (fixedValue != null) {
+            return ProviderMemoization.reused(fixedValue);
+        }
         Value<? extends A> lv = assertHasValue(left.calculateValue(consumer), left);
         Value<? extends B> rv = assertHasValue(right.calculateValue(consumer), right);
-        return Value.of(combiner.apply(lv.get(), rv.get()));
+        Value<? extends R> result = Value.of(combiner.apply(lv.get(), rv.get()));
+        this.fixedValue = ProviderMemoization.memoizable(result, left, right);
+        return result;
     }
 
     private <T> Value<? extends T> assertHasValue(Value<? extends T> value, ProviderInternal<?> provider) {
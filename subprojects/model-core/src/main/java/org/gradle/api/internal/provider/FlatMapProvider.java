@@ -24,6 +24,8 @@
 public class FlatMapProvider<S, T> extends AbstractMinimalProvider<S> {
     private final ProviderInternal<? extends T> provider;
     private final Transformer<? extends Provider<? extends S>, ? super T> transformer;
+    @Nullable
+    private volatile Value<? extends S> fixedValue;
 
     FlatMapProvider(ProviderInternal<? extends T> provider, Transformer<? extends Provider<? extends S>, ? super T> transformer) {
         this.provider = provider;
@@ -41,13 +43,28 @@ public boolean calculatePresence(ValueConsumer consumer) {
         return backingProvider(consumer).calculatePresence(consumer);
     }
 
+    @Override
+    public boolean hasFixedValue() {
+        // The backing provider is only known once the transform has run, so only report a fixed value once one has been remembered
+        return fixedValue != null;
+    }
+
     @Override
     protected Value<? extends S> calculateOwnValue(ValueConsumer consumer) {
+        Value<? extends S> fixedValue = this.fixedValue;
+        if (fixedValue != null) {
+            return ProviderMemoization.reused(fixedValue);
+        }
         Value<? extends T> value = provider.calculateValue(consumer);
         if (value.isMissing()) {
-            return value.asType();
+            Value<? extends S> result = value.asType();
+            this.fixedValue = ProviderMemoization.memoizable(result, provider);
+            return result;
         }
-        return doMapValue(value.get()).calculateValue(consumer);
+        ProviderInternal<? extends S> backingProvider = doMapValue(value.get());
+        Value<? extends S> result = backingProvider.calculateValue(consumer);
+        this.fixedValue = ProviderMemoization.memoizable(result, provider, backingProvider);
+        return result;
     }
 
     private ProviderInternal<? extends S> doMapValue(T value) {
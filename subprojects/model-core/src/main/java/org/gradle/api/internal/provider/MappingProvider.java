@@ -27,6 +27,8 @@
     private final Class<OUT> type;
     private final ProviderInternal<? extends IN> provider;
     private final Transformer<? extends OUT, ? super IN> transformer;
+    @Nullable
+    private volatile Value<? extends OUT> fixedValue;
 
     public MappingProvider(Class<OUT> type, ProviderInternal<? extends IN> provider, Transformer<? extends OUT, ? super IN> transformer) {
         this.type = type;
@@ -51,8 +53,25 @@ public boolean calculatePresence(ValueConsumer consumer) {
     }
 
     @Override
-    protected Value<OUT> calculateOwnValue(ValueConsumer consumer) {
-        Value<? extends IN> value = provider.calculateValue(consumer);
+    public boolean hasFixedValue() {
+        return provider.hasFixedValue() && !ProviderMemoization.hasPendingContentProducer(provider);
+    }
+
+    @Override
+    protected Value<? extends OUT> calculateOwnValue(ValueConsumer consumer) {
+        Value<? extends OUT> fixedValue = this.fixedValue;
+        if (fixedValue != null) {
+            return ProviderMemoization.reused(fixedValue);
+        }
+        Value<? extends OUT> result = mapValue(provider.calculateValue(consumer));
+        if (ProviderMemoization.isEnabled() && !ProviderMemoization.hasPendingContentProducer(provider)) {
+            // A fixed value may still refer to contents that are produced by a task, so only remember the result once these have been produced
+            this.fixedValue = ProviderMemoization.memoizable(result, provider);
+        }
+        return result;
+    }
+
+    private Value<? extends OUT> mapValue(Value<? extends IN> value) {
         if (value.isMissing()) {
             return value.asType();
         }
@@ -61,6 +80,10 @@ protected Value<OUT> calculateOwnValue(ValueConsumer consumer) {
 
     @Override
     public ExecutionTimeValue<? extends OUT> calculateExecutionTimeValue() {
+        Value<? extends OUT> fixedValue = this.fixedValue;
+        if (fixedValue != null) {
+            return ExecutionTimeValue.value(ProviderMemoization.reused(fixedValue));
+        }
         ExecutionTimeValue<? extends IN> value = provider.calculateExecutionTimeValue();
         if (value.isChangingValue()) {
             return ExecutionTimeValue.changingValue(new MappingProvider<OUT, IN>(type, value.getChangingValue(), transformer));
@@ -65,6 +65,14 @@
      */
     ExecutionTimeValue<? extends T> calculateExecutionTimeValue();
 
+    /**
+     * Returns true when the value of this provider, and the contents of that value, can no longer change. A provider whose value is calculated from
+     * such a provider may remember its value instead of calculating it again, see {@link ProviderMemoization}.
+     */
+    default boolean hasFixedValue() {
+        return false;
+    }
+
     default <B, R> Provider<R> zip(Provider<B> right, BiFunction<T, B, R> combiner) {
         return new BiProvider<>(this, right, combiner);
     }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.provider;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allows a provider whose value is calculated from other providers, such as the provider returned by {@link org.gradle.api.provider.Provider#map(org.gradle.api.Transformer)},
+ * to remember its value once the values of the upstream providers can no longer change, as reported by {@link ProviderInternal#hasFixedValue()}.
+ * This avoids walking the provider chain each time the value is queried.
+ *
+ * <p>This is opt-in, as it assumes that the transforms of the chain produce the same result when given the same values.
+ * When enabled, counts how often provider chains are calculated and how often a remembered value is used instead.</p>
+ */
+public class ProviderMemoization {
+    /**
+     * Opts in to remembering the values of provider chains whose upstream values are fixed.
+     */
+    public static final String MEMOIZE_PROPERTY = "org.gradle.internal.provider.memoize";
+
+    private static volatile boolean enabled = Boolean.getBoolean(MEMOIZE_PROPERTY);
+    private static final AtomicLong CALCULATED = new AtomicLong();
+    private static final AtomicLong REUSED = new AtomicLong();
+
+    private ProviderMemoization() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    @VisibleForTesting
+    static void setEnabled(boolean enabled) {
+        ProviderMemoization.enabled = enabled;
+    }
+
+    /**
+     * Returns the given value if it can be remembered by a provider whose value is calculated from the given upstream providers, or null if not.
+     */
+    @Nullable
+    static <T> ValueSupplier.Value<? extends T> memoizable(ValueSupplier.Value<? extends T> value, ProviderInternal<?>... upstream) {
+        if (!enabled) {
+            return null;
+        }
+        CALCULATED.incrementAndGet();
+        for (ProviderInternal<?> provider : upstream) {
+            if (!provider.hasFixedValue()) {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns true when the contents of the value of the given provider are produced by a task that has not executed yet. A value calculated from
+     * such a provider cannot be remembered, even when the provider itself has a fixed value, as the value contents may still change.
+     */
+    static boolean hasPendingContentProducer(ProviderInternal<?> provider) {
+        boolean[] pending = new boolean[1];
+        provider.getProducer().visitContentProducerTasks(producer -> {
+            if (!producer.getState().getExecuted()) {
+                pending[0] = true;
+            }
+        });
+        return pending[0];
+    }
+
+    /**
+     * Records that a remembered value was used instead of calculating the value again.
+     */
+    static <T> ValueSupplier.Value<? extends T> reused(ValueSupplier.Value<? extends T> value) {
+        REUSED.incrementAndGet();
+        return value;
+    }
+
+    /**
+     * The number of times the value of a provider chain has been calculated by this process.
+     */
+    public static long getCalculatedCount() {
+        return CALCULATED.get();
+    }
+
+    /**
+     * The number of times a remembered value has been used by this process instead of calculating the value of a provider chain.
+     */
+    public static long getReusedCount() {
+        return REUSED.get();
+    }
+}
@@ -95,6 +95,11 @@ public ProviderInternal<T> withFinalValue(ValueConsumer consumer) {
             return this;
         }
 
+        @Override
+        public boolean hasFixedValue() {
+            return true;
+        }
+
         @Override
         public ExecutionTimeValue<? extends T> calculateExecutionTimeValue() {
             return ExecutionTimeValue.fixedValue(value);
@@ -111,6 +116,12 @@ public FixedValueWithChangingContentProvider(T value) {
             super(value);
         }
 
+        @Override
+        public boolean hasFixedValue() {
+            // The contents of the value may still change
+            return false;
+        }
+
         @Override
         public ExecutionTimeValue<? extends T> calculateExecutionTimeValue() {
             return super.calculateExecutionTimeValue().withChangingContent();
@@ -135,6 +146,11 @@ public boolean isImmutable() {
             return true;
         }
 
+        @Override
+        public boolean hasFixedValue() {
+            return true;
+        }
+
         @Nullable
         @Override
         public Class<T> getType() {
@@ -25,6 +25,8 @@
 public class TransformBackedProvider<OUT, IN> extends AbstractMinimalProvider<OUT> {
     private final Transformer<? extends OUT, ? super IN> transformer;
     private final ProviderInternal<? extends IN> provider;
+    @Nullable
+    private volatile Value<? extends OUT> fixedValue;
 
     public TransformBackedProvider(Transformer<? extends OUT, ? super IN> transformer, ProviderInternal<? extends IN> provider) {
         this.transformer = transformer;
@@ -47,8 +49,17 @@ public ValueProducer getProducer() {
         return provider.getProducer();
     }
 
+    @Override
+    public boolean hasFixedValue() {
+        return provider.hasFixedValue() && !ProviderMemoization.hasPendingContentProducer(provider);
+    }
+
     @Override
     public ExecutionTimeValue<? extends OUT> calculateExecutionTimeValue() {
+        Value<? extends OUT> fixedValue = this.fixedValue;
+        if (fixedValue != null) {
+            return ExecutionTimeValue.value(ProviderMemoization.reused(fixedValue));
+        }
         ExecutionTimeValue<? extends IN> value = provider.calculateExecutionTimeValue();
         if (value.hasChangingContent()) {
             // Need the value contents in order to transform it to produce the value of this provider, so if the value or its contents are built by tasks, the value of this provider is also built by tasks
@@ -60,9 +71,18 @@ public ExecutionTimeValue<? extends OUT> calculateExecutionTimeValue() {
 
     @Override
     protected Value<? extends OUT> calculateOwnValue(ValueConsumer consumer) {
+        Value<? extends OUT> fixedValue = this.fixedValue;
+        if (fixedValue != null) {
+            return ProviderMemoization.reused(fixedValue);
+        }
         beforeRead();
         Value<? extends IN> value = provider.calculateValue(consumer);
-        return mapValue(value);
+        Value<? extends OUT> result = mapValue(value);
+        if (ProviderMemoization.isEnabled() && !ProviderMemoization.hasPendingContentProducer(provider)) {
+            // The transform may use the contents of the value, so the result can only be remembered once these have been produced
+            this.fixedValue = ProviderMemoization.memoizable(result, provider);
+        }
+        return result;
     }
 
     @NotNull
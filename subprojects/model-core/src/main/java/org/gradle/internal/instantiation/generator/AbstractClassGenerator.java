@@ -172,6 +172,11 @@ public <T> GeneratedClass<? extends T> generate(Class<T> type) {
     }
 
     private GeneratedClassImpl generateUnderLock(Class<?> type) {
+        GeneratedClassImpl previouslyGenerated = loadPreviouslyGenerated(type);
+        if (previouslyGenerated != null) {
+            return previouslyGenerated;
+        }
+
         List<CustomInjectAnnotationPropertyHandler> customAnnotationPropertyHandlers = new ArrayList<>(enabledAnnotations.size());
 
         ServicesPropertyHandler servicesHandler = new ServicesPropertyHandler();
@@ -202,6 +207,7 @@ private GeneratedClassImpl generateUnderLock(Class<?> type) {
         validators.add(new InjectionAnnotationValidator(enabledAnnotations, allowedTypesForAnnotation));
 
         Class<?> generatedClass;
+        ClassGenerationVisitor generationVisitor;
         try {
             ClassInspectionVisitor inspectionVisitor = start(type);
 
@@ -210,7 +216,7 @@ private GeneratedClassImpl generateUnderLock(Class<?> type) {
                 handler.applyTo(inspectionVisitor);
             }
 
-            ClassGenerationVisitor generationVisitor = inspectionVisitor.builder();
+            generationVisitor = inspectionVisitor.builder();
 
             for (ClassGenerationHandler handler : handlers) {
                 handler.applyTo(generationVisitor);
@@ -242,16 +248,34 @@ private GeneratedClassImpl generateUnderLock(Class<?> type) {
             }
         }
 
+        List<Class<?>> injectedServices = injectionHandler.getInjectedServices();
+        GeneratedClassImpl result = new GeneratedClassImpl(generatedClass, outerTypeOf(type), injectedServices, annotationsTriggeringServiceInjection.build());
+        generated(type, generationVisitor, result);
+        return result;
+    }
+
+    @Nullable
+    protected static Class<?> outerTypeOf(Class<?> type) {
         // This is expensive to calculate, so cache the result
         Class<?> enclosingClass = type.getEnclosingClass();
-        Class<?> outerType;
         if (enclosingClass != null && !Modifier.isStatic(type.getModifiers())) {
-            outerType = enclosingClass;
-        } else {
-            outerType = null;
+            return enclosingClass;
         }
+        return null;
+    }
+
+    /**
+     * Returns a class previously generated for the given type, possibly by another process, or {@code null} when the class should be generated.
+     */
+    @Nullable
+    protected GeneratedClassImpl loadPreviouslyGenerated(Class<?> type) {
+        return null;
+    }
 
-        return new GeneratedClassImpl(generatedClass, outerType, injectionHandler.getInjectedServices(), annotationsTriggeringServiceInjection.build());
+    /**
+     * Called after a class has been successfully generated for the given type.
+     */
+    protected void generated(Class<?> type, ClassGenerationVisitor generationVisitor, GeneratedClassImpl generatedClass) {
     }
 
     protected abstract ClassInspectionVisitor start(Class<?> type);
@@ -436,6 +460,14 @@ public List<GeneratedConstructor<Object>> getConstructors() {
             return constructors;
         }
 
+        public List<Class<?>> getInjectedServices() {
+            return injectedServices;
+        }
+
+        public List<Class<? extends Annotation>> getAnnotationsTriggeringServiceInjection() {
+            return annotationsTriggeringServiceInjection;
+        }
+
         @Override
         public SerializationConstructor<Object> getSerializationConstructor(Class<? super Object> baseClass) {
             return new SerializationConstructorImpl(baseClass);
@@ -15,6 +15,7 @@
  */
 package org.gradle.internal.instantiation.generator;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import groovy.lang.Closure;
@@ -41,7 +42,11 @@
 import org.gradle.internal.DisplayName;
 import org.gradle.internal.Pair;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classloader.ClassLoaderUtils;
 import org.gradle.internal.extensibility.ConventionAwareHelper;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.instantiation.ClassGenerationException;
 import org.gradle.internal.instantiation.InjectAnnotationHandler;
 import org.gradle.internal.instantiation.InstanceGenerator;
@@ -60,6 +65,7 @@
 import org.gradle.model.internal.asm.ClassGeneratorSuffixRegistry;
 import org.gradle.util.CollectionUtils;
 import org.gradle.util.ConfigureUtil;
+import org.gradle.util.GradleVersion;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
@@ -83,6 +89,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.gradle.model.internal.asm.AsmClassGeneratorUtils.getterSignature;
@@ -133,6 +140,9 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
     private final boolean decorate;
     private final String suffix;
     private final int factoryId;
+    private final GeneratedClassStore classStore;
+    @Nullable
+    private final TypeHierarchyHasher typeHasher;
 
     private static final String GET_DISPLAY_NAME_FOR_NEXT_METHOD_NAME = "getDisplayNameForNext";
 
@@ -169,11 +179,15 @@ private AsmBackedClassGenerator(boolean decorate, String suffix,
                                     Collection<Class<? extends Annotation>> enabledInjectAnnotations,
                                     PropertyRoleAnnotationHandler roleHandler,
                                     CrossBuildInMemoryCache<Class<?>, GeneratedClassImpl> generatedClasses,
-                                    int factoryId) {
+                                    int factoryId,
+                                    GeneratedClassStore classStore,
+                                    @Nullable TypeHierarchyHasher typeHasher) {
         super(allKnownAnnotations, enabledInjectAnnotations, roleHandler, generatedClasses);
         this.decorate = decorate;
         this.suffix = suffix;
         this.factoryId = factoryId;
+        this.classStore = classStore;
+        this.typeHasher = typeHasher;
     }
 
     /**
@@ -184,8 +198,22 @@ static ClassGenerator decorateAndInject(Collection<? extends InjectAnnotationHan
                                             Collection<Class<? extends Annotation>> enabledInjectAnnotations,
                                             CrossBuildInMemoryCacheFactory cacheFactory,
                                             int factoryId) {
+        return decorateAndInject(allKnownAnnotations, roleHandler, enabledInjectAnnotations, cacheFactory, factoryId, GeneratedClassStore.NONE);
+    }
+
+    /**
+     * Returns a generator that applies DSL mix-in, extensibility and service injection for generated classes.
+     * Uses the given store to reuse classes generated by other processes, when the generated classes have a deterministic name.
+     */
+    static ClassGenerator decorateAndInject(Collection<? extends InjectAnnotationHandler> allKnownAnnotations,
+                                            PropertyRoleAnnotationHandler roleHandler,
+                                            Collection<Class<? extends Annotation>> enabledInjectAnnotations,
+                                            CrossBuildInMemoryCacheFactory cacheFactory,
+                                            int factoryId,
+                                            GeneratedClassStore classStore) {
         String suffix;
         CrossBuildInMemoryCache<Class<?>, GeneratedClassImpl> generatedClasses;
+        TypeHierarchyHasher typeHasher = null;
         if (enabledInjectAnnotations.isEmpty()) {
             // TODO wolfs: We use `_Decorated` here, since IDEA import currently relies on this
             // See https://github.com/gradle/gradle/issues/8244
@@ -197,6 +225,9 @@ static ClassGenerator decorateAndInject(Collection<? extends InjectAnnotationHan
                 }
             }
             generatedClasses = GENERATED_CLASSES_CACHES.get();
+            if (classStore != GeneratedClassStore.NONE) {
+                typeHasher = new TypeHierarchyHasher(cacheFactory.newClassMap(), implementationHash(suffix, allKnownAnnotations, roleHandler));
+            }
         } else {
             // TODO - the suffix should be a deterministic function of the known and enabled annotations
             // For now, just assign using a counter
@@ -204,7 +235,26 @@ static ClassGenerator decorateAndInject(Collection<? extends InjectAnnotationHan
             generatedClasses = cacheFactory.newClassMap();
         }
 
-        return new AsmBackedClassGenerator(true, suffix, allKnownAnnotations, enabledInjectAnnotations, roleHandler, generatedClasses, factoryId);
+        return new AsmBackedClassGenerator(true, suffix, allKnownAnnotations, enabledInjectAnnotations, roleHandler, generatedClasses, factoryId, classStore, typeHasher);
+    }
+
+    private static HashCode implementationHash(String suffix, Collection<? extends InjectAnnotationHandler> allKnownAnnotations, PropertyRoleAnnotationHandler roleHandler) {
+        Hasher hasher = Hashing.newHasher();
+        hasher.putString(GradleVersion.current().getVersion());
+        hasher.putString(System.getProperty("java.version"));
+        TypeHierarchyHasher.hashBytecode(hasher, AbstractClassGenerator.class, AsmBackedClassGenerator.class, ClassBuilderImpl.class);
+        hasher.putString(suffix);
+        Set<String> annotationTypes = new TreeSet<>();
+        for (InjectAnnotationHandler handler : allKnownAnnotations) {
+            annotationTypes.add(handler.getAnnotationType().getName());
+        }
+        for (Class<? extends Annotation> annotationType : roleHandler.getAnnotationTypes()) {
+            annotationTypes.add(annotationType.getName());
+        }
+        for (String annotationType : annotationTypes) {
+            hasher.putString(annotationType);
+        }
+        return hasher.hash();
     }
 
     /**
@@ -218,7 +268,66 @@ static ClassGenerator injectOnly(Collection<? extends InjectAnnotationHandler> a
         // TODO - the suffix should be a deterministic function of the known and enabled annotations
         // For now, just assign using a counter
         String suffix = ClassGeneratorSuffixRegistry.assign("$Inject");
-        return new AsmBackedClassGenerator(false, suffix, allKnownAnnotations, enabledInjectAnnotations, roleHandler, cacheFactory.newClassMap(), factoryId);
+        return new AsmBackedClassGenerator(false, suffix, allKnownAnnotations, enabledInjectAnnotations, roleHandler, cacheFactory.newClassMap(), factoryId, GeneratedClassStore.NONE, null);
+    }
+
+    @Nullable
+    @Override
+    protected GeneratedClassImpl loadPreviouslyGenerated(Class<?> type) {
+        if (typeHasher == null) {
+            return null;
+        }
+        HashCode key = typeHasher.hash(type);
+        if (key == null) {
+            return null;
+        }
+        GeneratedClassStore.StoredClass storedClass = classStore.load(key);
+        if (storedClass == null) {
+            return null;
+        }
+        ClassLoader classLoader = type.getClassLoader();
+        Class<?> generatedClass = ClassLoaderUtils.defineDecorator(type, classLoader, type.getName() + suffix, storedClass.getBytecode());
+        if (storedClass.isManaged()) {
+            ClassBuilderImpl.attachFactoryIdToImplType(generatedClass, factoryId);
+        }
+        ImmutableList.Builder<Class<?>> injectedServices = ImmutableList.builderWithExpectedSize(storedClass.getInjectedServices().size());
+        for (String serviceType : storedClass.getInjectedServices()) {
+            injectedServices.add(loadClass(serviceType, classLoader));
+        }
+        ImmutableList.Builder<Class<? extends Annotation>> annotations = ImmutableList.builderWithExpectedSize(storedClass.getAnnotationsTriggeringServiceInjection().size());
+        for (String annotationType : storedClass.getAnnotationsTriggeringServiceInjection()) {
+            annotations.add(loadClass(annotationType, classLoader).asSubclass(Annotation.class));
+        }
+        return new GeneratedClassImpl(generatedClass, outerTypeOf(type), injectedServices.build(), annotations.build());
+    }
+
+    private static Class<?> loadClass(String name, ClassLoader classLoader) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Override
+    protected void generated(Class<?> type, ClassGenerationVisitor generationVisitor, GeneratedClassImpl generatedClass) {
+        if (typeHasher == null || !(generationVisitor instanceof ClassBuilderImpl)) {
+            return;
+        }
+        HashCode key = typeHasher.hash(type);
+        if (key == null) {
+            return;
+        }
+        ClassBuilderImpl builder = (ClassBuilderImpl) generationVisitor;
+        classStore.store(key, new GeneratedClassStore.StoredClass(builder.bytecode, builder.managed, namesOf(generatedClass.getInjectedServices()), namesOf(generatedClass.getAnnotationsTriggeringServiceInjection())));
+    }
+
+    private static List<String> namesOf(List<? extends Class<?>> types) {
+        List<String> names = new ArrayList<>(types.size());
+        for (Class<?> type : types) {
+            names.add(type.getName());
+        }
+        return names;
     }
 
     @Override
@@ -464,6 +573,7 @@ private static class ClassBuilderImpl implements ClassGenerationVisitor {
         private final List<Pair<PropertyMetadata, Boolean>> propertiesToAttach;
         private final boolean requiresServicesMethod;
         private final boolean requiresFactory;
+        private byte[] bytecode;
 
         private ClassBuilderImpl(
             Class<?> type,
@@ -1746,7 +1856,7 @@ private Object getAnnotationParameterValue(Annotation annotation, Method method)
             }
         }
 
-        private void attachFactoryIdToImplType(Class<?> implClass, int id) {
+        private static void attachFactoryIdToImplType(Class<?> implClass, int id) {
             try {
                 Field factoryField = implClass.getDeclaredField(FACTORY_ID_FIELD);
                 factoryField.setAccessible(true);
@@ -1761,7 +1871,8 @@ public Class<?> generate() {
             writeGenericReturnTypeFields();
             visitor.visitEnd();
 
-            Class<?> generatedClass = classGenerator.define();
+            bytecode = visitor.toByteArray();
+            Class<?> generatedClass = ClassLoaderUtils.defineDecorator(type, type.getClassLoader(), classGenerator.getGeneratedTypeName(), bytecode);
 
             if (managed) {
                 attachFactoryIdToImplType(generatedClass, factoryId);
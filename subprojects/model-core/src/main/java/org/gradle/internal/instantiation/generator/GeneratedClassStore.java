@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.instantiation.generator;
+
+import org.gradle.internal.hash.HashCode;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Stores the classes generated by the decorating class generator, so that a class generated by one process can be reused by another process.
+ *
+ * <p>Entries are keyed by a hash of the bytecode of the decorated type and of the types the generator inspects to generate the class.</p>
+ */
+public interface GeneratedClassStore {
+    GeneratedClassStore NONE = new GeneratedClassStore() {
+        @Nullable
+        @Override
+        public StoredClass load(HashCode key) {
+            return null;
+        }
+
+        @Override
+        public void store(HashCode key, StoredClass storedClass) {
+        }
+    };
+
+    @Nullable
+    StoredClass load(HashCode key);
+
+    void store(HashCode key, StoredClass storedClass);
+
+    class StoredClass {
+        private final byte[] bytecode;
+        private final boolean managed;
+        private final List<String> injectedServices;
+        private final List<String> annotationsTriggeringServiceInjection;
+
+        public StoredClass(byte[] bytecode, boolean managed, List<String> injectedServices, List<String> annotationsTriggeringServiceInjection) {
+            this.bytecode = bytecode;
+            this.managed = managed;
+            this.injectedServices = injectedServices;
+            this.annotationsTriggeringServiceInjection = annotationsTriggeringServiceInjection;
+        }
+
+        public byte[] getBytecode() {
+            return bytecode;
+        }
+
+        /**
+         * Does the generated class implement managed state and so requires a factory id?
+         */
+        public boolean isManaged() {
+            return managed;
+        }
+
+        /**
+         * The names of the services that are injected into instances of the generated class.
+         */
+        public List<String> getInjectedServices() {
+            return injectedServices;
+        }
+
+        /**
+         * The names of the custom injection annotations used by the generated class.
+         */
+        public List<String> getAnnotationsTriggeringServiceInjection() {
+            return annotationsTriggeringServiceInjection;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.instantiation.generator;
+
+import com.google.common.io.ByteStreams;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.cache.internal.CrossBuildInMemoryCache;
+import org.gradle.internal.classloader.ClassLoaderUtils;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Calculates a hash of the bytecode of a type and of the types that the class generator inspects when generating a class for it.
+ * These are the supertypes of the type, and the types referenced by the signatures of its methods, constructors and fields along with their supertypes.
+ *
+ * <p>Types loaded by the bootstrap or platform class loader are identified by name only. The hash of the bytecode of each other type is cached.</p>
+ */
+class TypeHierarchyHasher {
+    private static final HashCode NO_BYTECODE = HashCode.fromInt(0);
+
+    private final CrossBuildInMemoryCache<Class<?>, HashCode> bytecodeHashes;
+    private final HashCode implementationHash;
+
+    TypeHierarchyHasher(CrossBuildInMemoryCache<Class<?>, HashCode> bytecodeHashes, HashCode implementationHash) {
+        this.bytecodeHashes = bytecodeHashes;
+        this.implementationHash = implementationHash;
+    }
+
+    /**
+     * Returns the hash for the given type, or {@code null} when the bytecode of the type or one of the types it references is not available.
+     */
+    @Nullable
+    HashCode hash(Class<?> type) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        collectHierarchy(type, hierarchy);
+        Set<Class<?>> types = new LinkedHashSet<>(hierarchy);
+        for (Class<?> current : hierarchy) {
+            for (Constructor<?> constructor : current.getDeclaredConstructors()) {
+                collectReferenced(constructor.getParameterTypes(), types);
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                collectReferenced(method.getReturnType(), types);
+                collectReferenced(method.getParameterTypes(), types);
+            }
+            for (Field field : current.getDeclaredFields()) {
+                collectReferenced(field.getType(), types);
+            }
+        }
+
+        // Order by name, as the order of declared members is not stable between processes
+        Map<String, Class<?>> typesByName = new TreeMap<>();
+        for (Class<?> current : types) {
+            Class<?> other = typesByName.put(current.getName(), current);
+            if (other != null && other != current) {
+                return null;
+            }
+        }
+
+        Hasher hasher = Hashing.newHasher();
+        hasher.putHash(implementationHash);
+        for (Class<?> current : typesByName.values()) {
+            hasher.putString(current.getName());
+            if (isPlatformType(current)) {
+                continue;
+            }
+            HashCode bytecodeHash = bytecodeHashes.get(current, TypeHierarchyHasher::hashBytecode);
+            if (bytecodeHash.equals(NO_BYTECODE)) {
+                return null;
+            }
+            hasher.putHash(bytecodeHash);
+        }
+        return hasher.hash();
+    }
+
+    /**
+     * Adds the hash of the bytecode of the given types, which must be available, to the given hasher.
+     */
+    static void hashBytecode(Hasher hasher, Class<?>... types) {
+        for (Class<?> type : types) {
+            HashCode bytecodeHash = hashBytecode(type);
+            if (bytecodeHash.equals(NO_BYTECODE)) {
+                throw new IllegalArgumentException("Bytecode of " + type + " is not available.");
+            }
+            hasher.putHash(bytecodeHash);
+        }
+    }
+
+    private static void collectReferenced(Class<?>[] referencedTypes, Set<Class<?>> types) {
+        for (Class<?> referencedType : referencedTypes) {
+            collectReferenced(referencedType, types);
+        }
+    }
+
+    private static void collectReferenced(Class<?> referencedType, Set<Class<?>> types) {
+        while (referencedType.isArray()) {
+            referencedType = referencedType.getComponentType();
+        }
+        if (!referencedType.isPrimitive()) {
+            collectHierarchy(referencedType, types);
+        }
+    }
+
+    private static void collectHierarchy(Class<?> type, Set<Class<?>> types) {
+        if (!types.add(type)) {
+            return;
+        }
+        Class<?> superclass = type.getSuperclass();
+        if (superclass != null) {
+            collectHierarchy(superclass, types);
+        }
+        for (Class<?> superInterface : type.getInterfaces()) {
+            collectHierarchy(superInterface, types);
+        }
+    }
+
+    private static boolean isPlatformType(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+        return classLoader == null || classLoader == ClassLoaderUtils.getPlatformClassLoader();
+    }
+
+    private static HashCode hashBytecode(Class<?> type) {
+        String resourceName = type.getName().replace('.', '/') + ".class";
+        try (InputStream inputStream = type.getClassLoader().getResourceAsStream(resourceName)) {
+            if (inputStream == null) {
+                return NO_BYTECODE;
+            }
+            return Hashing.hashBytes(ByteStreams.toByteArray(inputStream));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
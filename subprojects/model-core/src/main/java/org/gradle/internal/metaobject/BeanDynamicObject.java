@@ -15,6 +15,9 @@
  */
 package org.gradle.internal.metaobject;
 
+import com.google.common.collect.MapMaker;
+import groovy.lang.Closure;
+import groovy.lang.ExpandoMetaClass;
 import groovy.lang.GroovyObject;
 import groovy.lang.GroovySystem;
 import groovy.lang.MetaBeanProperty;
@@ -22,6 +25,7 @@
 import groovy.lang.MetaClassImpl;
 import groovy.lang.MetaMethod;
 import groovy.lang.MetaProperty;
+import groovy.lang.MutableMetaClass;
 import groovy.lang.MissingMethodException;
 import groovy.lang.MissingPropertyException;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
@@ -46,6 +50,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A {@link DynamicObject} which uses groovy reflection to provide access to the properties and methods of a bean.
@@ -59,6 +64,9 @@ public class BeanDynamicObject extends AbstractDynamicObject {
     private static final Field MISSING_PROPERTY_GET_METHOD;
     private static final Field MISSING_PROPERTY_SET_METHOD;
     private static final Field MISSING_METHOD_METHOD;
+    private static final Object NOT_FOUND = new Object();
+    private static final MetaClassLookups NO_LOOKUPS = new MetaClassLookups();
+    private static final ConcurrentMap<MetaClass, MetaClassLookups> LOOKUPS = new MapMaker().weakKeys().makeMap();
     private final Object bean;
     private final boolean includeProperties;
     private final MetaClassAdapter delegate;
@@ -196,6 +204,117 @@ public DynamicInvokeResult tryInvokeMethod(String name, Object... arguments) {
         return delegate.invokeMethod(name, arguments);
     }
 
+    /**
+     * Returns the cached lookups for the given meta-class, or null when lookups cannot be cached. An {@link ExpandoMetaClass} can change its
+     * properties and methods at any time, as can a meta-class that wraps some other meta-class, so these are never cached. A {@link MetaClassImpl}
+     * cannot be changed once it has been initialized, and a change to the meta-class of a type or an object replaces the meta-class instance,
+     * so the lookups are cached per meta-class instance.
+     *
+     * <p>The cached lookups reference the type of the meta-class, so lookups are only cached for types that live as long as Gradle itself does,
+     * and not for types loaded from build scripts or plugins.</p>
+     */
+    @Nullable
+    private static MetaClassLookups lookupsFor(MetaClass metaClass) {
+        if (!hasFixedMembers(metaClass)) {
+            return null;
+        }
+        MetaClassLookups lookups = LOOKUPS.get(metaClass);
+        if (lookups == null) {
+            lookups = isVisibleFrom(metaClass.getTheClass(), BeanDynamicObject.class.getClassLoader()) ? new MetaClassLookups() : NO_LOOKUPS;
+            MetaClassLookups existing = LOOKUPS.putIfAbsent(metaClass, lookups);
+            if (existing != null) {
+                lookups = existing;
+            }
+        }
+        return lookups == NO_LOOKUPS ? null : lookups;
+    }
+
+    private static boolean hasFixedMembers(MetaClass metaClass) {
+        if (metaClass instanceof ExpandoMetaClass) {
+            return false;
+        }
+        if (metaClass instanceof MutableMetaClass) {
+            return metaClass instanceof MetaClassImpl && !((MutableMetaClass) metaClass).isModified();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the key to cache a method lookup with, or null when the lookup should not be cached. The cache lives as long as the meta-class,
+     * so it must not reference argument types that would otherwise be collected. Most notably, the closures of a build script are loaded by the
+     * class loader of the script. Any closure type is replaced with {@link Closure} in the key, as Groovy selects the same method for any closure.
+     */
+    @Nullable
+    private static MethodKey methodKey(MetaClass metaClass, String name, Class[] argumentTypes) {
+        ClassLoader classLoader = metaClass.getTheClass().getClassLoader();
+        Class[] keyTypes = argumentTypes;
+        for (int i = 0; i < argumentTypes.length; i++) {
+            Class<?> type = argumentTypes[i];
+            if (type == null || isVisibleFrom(type, classLoader)) {
+                continue;
+            }
+            if (!Closure.class.isAssignableFrom(type)) {
+                return null;
+            }
+            if (keyTypes == argumentTypes) {
+                keyTypes = argumentTypes.clone();
+            }
+            keyTypes[i] = Closure.class;
+        }
+        return new MethodKey(name, keyTypes);
+    }
+
+    private static boolean isVisibleFrom(Class<?> type, @Nullable ClassLoader classLoader) {
+        ClassLoader typeClassLoader = type.getClassLoader();
+        if (typeClassLoader == null) {
+            return true;
+        }
+        for (ClassLoader candidate = classLoader; candidate != null; candidate = candidate.getParent()) {
+            if (candidate == typeClassLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The properties and methods of a meta-class that have been looked up so far, including those that were not found.
+     */
+    private static class MetaClassLookups {
+        private final ConcurrentMap<String, Object> properties = new MapMaker().makeMap();
+        private final ConcurrentMap<MethodKey, Object> methods = new MapMaker().makeMap();
+        private final ConcurrentMap<String, List<MetaMethod>> methodsByName = new MapMaker().makeMap();
+    }
+
+    private static class MethodKey {
+        private final String name;
+        private final Class[] argumentTypes;
+        private final int hashCode;
+
+        MethodKey(String name, Class[] argumentTypes) {
+            this.name = name;
+            this.argumentTypes = argumentTypes;
+            this.hashCode = 31 * name.hashCode() + Arrays.hashCode(argumentTypes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey other = (MethodKey) obj;
+            return name.equals(other.name) && Arrays.equals(argumentTypes, other.argumentTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     private class MetaClassAdapter {
         protected String getDisplayName() {
             return BeanDynamicObject.this.getDisplayName();
@@ -337,6 +456,20 @@ private MetaMethod findMethodMissingMethod(MetaClass metaClass) {
          */
         @Nullable
         protected MetaProperty lookupProperty(MetaClass metaClass, String name) {
+            MetaClassLookups lookups = lookupsFor(metaClass);
+            if (lookups == null) {
+                return findProperty(metaClass, name);
+            }
+            Object property = lookups.properties.get(name);
+            if (property == null) {
+                property = findProperty(metaClass, name);
+                lookups.properties.put(name, property == null ? NOT_FOUND : property);
+            }
+            return property == NOT_FOUND ? null : (MetaProperty) property;
+        }
+
+        @Nullable
+        private MetaProperty findProperty(MetaClass metaClass, String name) {
             if (metaClass instanceof MetaClassImpl) {
                 try {
                     return (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
@@ -485,7 +618,7 @@ public DynamicInvokeResult invokeMethod(String name, Object... arguments) {
             }
 
             if (argsTransformer.canTransform(arguments)) {
-                List<MetaMethod> metaMethods = metaClass.respondsTo(bean, name);
+                List<MetaMethod> metaMethods = lookupMethods(metaClass, name);
                 for (MetaMethod method : metaMethods) {
                     if (method.getParameterTypes().length != arguments.length) {
                         continue;
@@ -513,7 +646,34 @@ public DynamicInvokeResult invokeMethod(String name, Object... arguments) {
 
         @Nullable
         protected MetaMethod lookupMethod(MetaClass metaClass, String name, Class[] arguments) {
-            return metaClass.pickMethod(name, arguments);
+            MetaClassLookups lookups = lookupsFor(metaClass);
+            if (lookups == null) {
+                return metaClass.pickMethod(name, arguments);
+            }
+            MethodKey key = methodKey(metaClass, name, arguments);
+            if (key == null) {
+                return metaClass.pickMethod(name, arguments);
+            }
+            Object method = lookups.methods.get(key);
+            if (method == null) {
+                method = metaClass.pickMethod(name, arguments);
+                lookups.methods.put(key, method == null ? NOT_FOUND : method);
+            }
+            return method == NOT_FOUND ? null : (MetaMethod) method;
+        }
+
+        private List<MetaMethod> lookupMethods(MetaClass metaClass, String name) {
+            MetaClassLookups lookups = lookupsFor(metaClass);
+            if (lookups == null || !(metaClass instanceof MetaClassImpl)) {
+                return metaClass.respondsTo(bean, name);
+            }
+            // The methods of a MetaClassImpl are the same for every instance, so they can be shared
+            List<MetaMethod> methods = lookups.methodsByName.get(name);
+            if (methods == null) {
+                methods = metaClass.respondsTo(bean, name);
+                lookups.methodsByName.put(name, methods);
+            }
+            return methods;
         }
 
         protected DynamicInvokeResult invokeOpaqueMethod(MetaClass metaClass, String name, Object[] arguments) {
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.provider
+
+import org.gradle.api.Task
+import org.gradle.api.tasks.TaskState
+import spock.lang.Specification
+
+class ProviderMemoizationTest extends Specification {
+    def property = new DefaultProperty<String>(PropertyHost.NO_OP, String)
+    def calls = 0
+
+    def setup() {
+        ProviderMemoization.enabled = true
+    }
+
+    def cleanup() {
+        ProviderMemoization.enabled = false
+    }
+
+    def "remembers the value of a chain once the upstream property is final"() {
+        property.set("value")
+        def provider = property.map { calls++; it.toUpperCase() }.map { it + "!" }
+
+        expect:
+        provider.get() == "VALUE!"
+        provider.get() == "VALUE!"
+        calls == 2
+
+        when:
+        property.finalizeValue()
+
+        then:
+        provider.get() == "VALUE!"
+        provider.get() == "VALUE!"
+        provider.get() == "VALUE!"
+        calls == 3
+    }
+
+    def "remembers the value of a chain once the upstream property is finalized on read"() {
+        property.set("value")
+        property.finalizeValueOnRead()
+        def provider = property.map { calls++; it.toUpperCase() }
+
+        expect:
+        provider.get() == "VALUE"
+        provider.get() == "VALUE"
+        calls == 1
+    }
+
+    def "remembers the value of a chain combining final values"() {
+        property.set("left")
+        property.finalizeValue()
+        def provider = property.zip(Providers.of("right")) { l, r -> calls++; l + r }
+
+        expect:
+        provider.get() == "leftright"
+        provider.get() == "leftright"
+        calls == 1
+        provider.hasFixedValue()
+    }
+
+    def "remembers the value of a flat mapped chain only when the backing provider is final"() {
+        def other = new DefaultProperty<String>(PropertyHost.NO_OP, String)
+        other.set("other")
+        property.set("value")
+        property.finalizeValue()
+        def provider = property.flatMap { calls++; other }
+
+        expect:
+        provider.get() == "other"
+
+        when:
+        other.set("changed")
+
+        then:
+        provider.get() == "changed"
+        calls == 2
+    }
+
+    def "does not run the flat map transform to determine whether the value is fixed"() {
+        property.set("value")
+        property.finalizeValue()
+        def provider = property.flatMap { calls++; Providers.of(it.toUpperCase()) }
+
+        expect:
+        !provider.hasFixedValue()
+        calls == 0
+
+        and:
+        provider.get() == "VALUE"
+        provider.hasFixedValue()
+        provider.get() == "VALUE"
+        calls == 1
+    }
+
+    def "does not remember a mapped value while its contents are produced by a task that has not executed"() {
+        def executed = false
+        def task = Stub(Task) {
+            getState() >> Stub(TaskState) {
+                getExecuted() >> { executed }
+            }
+        }
+        def upstream = Stub(ProviderInternal) {
+            hasFixedValue() >> true
+            getProducer() >> ValueSupplier.ValueProducer.task(task)
+            calculateValue(_) >> ValueSupplier.Value.of("value")
+        }
+        def provider = new MappingProvider(String, upstream, { calls++; it.toUpperCase() })
+
+        expect:
+        !provider.hasFixedValue()
+        provider.get() == "VALUE"
+        provider.get() == "VALUE"
+        calls == 2
+
+        when:
+        executed = true
+
+        then:
+        provider.hasFixedValue()
+        provider.get() == "VALUE"
+        provider.get() == "VALUE"
+        calls == 3
+    }
+
+    def "does not remember the value of a chain when disabled"() {
+        ProviderMemoization.enabled = false
+        property.set("value")
+        property.finalizeValue()
+        def provider = property.map { calls++; it.toUpperCase() }
+
+        expect:
+        provider.get() == "VALUE"
+        provider.get() == "VALUE"
+        calls == 2
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.instantiation.generator
+
+import org.gradle.api.model.ObjectFactory
+import org.gradle.api.provider.Property
+import org.gradle.cache.internal.TestCrossBuildInMemoryCacheFactory
+import org.gradle.internal.hash.HashCode
+import org.gradle.internal.instantiation.PropertyRoleAnnotationHandler
+
+import javax.annotation.Nullable
+import javax.inject.Inject
+
+class AsmBackedClassGeneratorPersistentStoreTest extends AbstractClassGeneratorSpec {
+    final TestGeneratedClassStore store = new TestGeneratedClassStore()
+    final ClassGenerator generator = newGenerator()
+
+    def "stores generated class and reuses it when the same type is generated by another generator"() {
+        given:
+        def originalType = new IsolatingClassLoader(PersistedBean, true).loadClass(PersistedBean.name)
+        def reloadedType = new IsolatingClassLoader(PersistedBean, true).loadClass(PersistedBean.name)
+
+        when:
+        def original = generator.generate(originalType)
+
+        then:
+        store.classes.size() == 1
+        store.loaded == 0
+
+        when:
+        def reused = newGenerator().generate(reloadedType)
+
+        then:
+        store.classes.size() == 1
+        store.loaded == 1
+        reused.generatedClass.name == PersistedBean.name + "_Decorated"
+        reused.generatedClass.classLoader == reloadedType.classLoader
+        reused.generatedClass != original.generatedClass
+        reused.constructors.size() == 1
+        reused.constructors[0].requiresService(ObjectFactory)
+
+        when:
+        def bean = create(newGenerator(), reloadedType)
+        bean.prop.set("value")
+
+        then:
+        bean.prop.get() == "value"
+        bean.objects != null
+    }
+
+    def "restores annotations triggering service injection for stored class"() {
+        given:
+        def originalType = new IsolatingClassLoader(PersistedBean, true).loadClass(PersistedBean.name)
+        def reloadedType = new IsolatingClassLoader(PersistedBean, true).loadClass(PersistedBean.name)
+        generator.generate(originalType)
+        def key = store.classes.keySet().first()
+        def stored = store.classes[key]
+        store.classes[key] = new GeneratedClassStore.StoredClass(stored.bytecode, stored.managed, stored.injectedServices, [CustomInject.name])
+
+        expect:
+        stored.annotationsTriggeringServiceInjection.empty
+
+        when:
+        def reused = newGenerator().generate(reloadedType)
+
+        then:
+        store.loaded == 1
+        reused.constructors[0].serviceInjectionTriggeredByAnnotation(CustomInject)
+        !reused.constructors[0].serviceInjectionTriggeredByAnnotation(Inject)
+    }
+
+    def "does not store class when bytecode of the type is not available"() {
+        given:
+        def type = new IsolatingClassLoader(PersistedBean, false).loadClass(PersistedBean.name)
+
+        when:
+        def generated = generator.generate(type)
+
+        then:
+        generated.generatedClass.name == PersistedBean.name + "_Decorated"
+        store.classes.isEmpty()
+    }
+
+    ClassGenerator newGenerator() {
+        return AsmBackedClassGenerator.decorateAndInject([], Stub(PropertyRoleAnnotationHandler), [], new TestCrossBuildInMemoryCacheFactory(), 0, store)
+    }
+
+    static class TestGeneratedClassStore implements GeneratedClassStore {
+        final Map<HashCode, GeneratedClassStore.StoredClass> classes = [:]
+        int loaded
+
+        @Nullable
+        @Override
+        GeneratedClassStore.StoredClass load(HashCode key) {
+            def storedClass = classes.get(key)
+            if (storedClass != null) {
+                loaded++
+            }
+            return storedClass
+        }
+
+        @Override
+        void store(HashCode key, GeneratedClassStore.StoredClass storedClass) {
+            classes.put(key, storedClass)
+        }
+    }
+}
+
+abstract class PersistedBean {
+    @Inject
+    abstract ObjectFactory getObjects()
+
+    abstract Property<String> getProp()
+}
+
+/**
+ * Loads its own copy of a type, as a new process would.
+ */
+class IsolatingClassLoader extends ClassLoader {
+    private final String isolatedName
+    private final String resourceName
+    private final boolean exposeBytecode
+
+    IsolatingClassLoader(Class<?> isolated, boolean exposeBytecode) {
+        super(isolated.classLoader)
+        this.isolatedName = isolated.name
+        this.resourceName = isolated.name.replace('.', '/') + ".class"
+        this.exposeBytecode = exposeBytecode
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (name != isolatedName) {
+            return super.loadClass(name, resolve)
+        }
+        synchronized (getClassLoadingLock(name)) {
+            def loaded = findLoadedClass(name)
+            if (loaded == null) {
+                byte[] bytecode = parent.getResourceAsStream(resourceName).bytes
+                loaded = defineClass(name, bytecode, 0, bytecode.length)
+            }
+            return loaded
+        }
+    }
+
+    @Override
+    URL getResource(String name) {
+        if (name == resourceName && !exposeBytecode) {
+            return null
+        }
+        return super.getResource(name)
+    }
+}
@@ -715,6 +715,61 @@ class BeanDynamicObjectTest extends Specification {
         e.message == "Could not find method unknown() for arguments [] on <bean> of type ${bean.getClass().name}."
     }
 
+    def "finds properties and methods added to the meta-class after they were looked up"() {
+        def dynamicObject = new BeanDynamicObject(new MetaClassBean())
+
+        expect:
+        !dynamicObject.tryGetProperty("added").found
+        !dynamicObject.tryInvokeMethod("added", "value").found
+
+        when:
+        MetaClassBean.metaClass.getAdded = { -> "property" }
+        MetaClassBean.metaClass.added = { String s -> "method " + s }
+        dynamicObject = new BeanDynamicObject(new MetaClassBean())
+
+        then:
+        dynamicObject.tryGetProperty("added").value == "property"
+        dynamicObject.tryInvokeMethod("added", "value").value == "method value"
+
+        cleanup:
+        GroovySystem.metaClassRegistry.removeMetaClass(MetaClassBean)
+    }
+
+    def "reuses method lookups for beans that share a meta-class"() {
+        def metaClass = new CountingMetaClass(Bean)
+        metaClass.initialize()
+        def bean1 = new Bean()
+        bean1.metaClass = metaClass
+        def bean2 = new Bean()
+        bean2.metaClass = metaClass
+
+        when:
+        def result1 = new BeanDynamicObject(bean1).invokeMethod("m", 1)
+        def result2 = new BeanDynamicObject(bean2).invokeMethod("m", 2)
+
+        then:
+        result1 == "[2]"
+        result2 == "[3]"
+        metaClass.pickMethodCount == 1
+    }
+
+    def "does not reuse method lookups for an expando meta-class"() {
+        def metaClass = new ExpandoMetaClass(Bean)
+        metaClass.initialize()
+        def bean = new Bean()
+        bean.metaClass = metaClass
+        def dynamicObject = new BeanDynamicObject(bean)
+
+        expect:
+        !dynamicObject.tryInvokeMethod("added", "value").found
+
+        when:
+        metaClass.added = { String s -> "method " + s }
+
+        then:
+        dynamicObject.tryInvokeMethod("added", "value").value == "method value"
+    }
+
     enum SomeEnum {
         A, B, C
     }
@@ -749,6 +804,23 @@ class BeanDynamicObjectTest extends Specification {
         }
     }
 
+    static class MetaClassBean {
+    }
+
+    static class CountingMetaClass extends MetaClassImpl {
+        int pickMethodCount
+
+        CountingMetaClass(Class theClass) {
+            super(theClass)
+        }
+
+        @Override
+        MetaMethod pickMethod(String methodName, Class[] arguments) {
+            pickMethodCount++
+            return super.pickMethod(methodName, arguments)
+        }
+    }
+
     static class Bean {
         String prop
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.performance.experiment.java
+
+import org.gradle.performance.AbstractCrossBuildPerformanceTest
+import org.gradle.performance.annotations.RunFor
+import org.gradle.performance.annotations.Scenario
+import org.gradle.performance.fixture.GradleBuildExperimentSpec
+
+import static org.gradle.performance.annotations.ScenarioType.EXPERIMENT
+import static org.gradle.performance.results.OperatingSystem.LINUX
+
+@RunFor(
+    @Scenario(type = EXPERIMENT, operatingSystems = [LINUX], testProjects = ["largeJavaMultiProject"])
+)
+class JavaCompileFileManagerReusePerformanceTest extends AbstractCrossBuildPerformanceTest {
+
+    def "clean compileJava with reused file managers"() {
+        given:
+        runner.testGroup = "java compile file manager reuse"
+        runner.buildSpec {
+            displayName("reused file managers")
+            invocation {
+                args("-Dorg.gradle.internal.java.compile.reuseFileManagers=true")
+            }
+        }
+        runner.baseline {
+            displayName("fresh file managers")
+            invocation {
+                args("-Dorg.gradle.internal.java.compile.reuseFileManagers=false")
+            }
+        }
+
+        when:
+        def results = runner.run()
+
+        then:
+        results
+    }
+
+    @Override
+    protected void defaultSpec(GradleBuildExperimentSpec.GradleBuilder builder) {
+        super.defaultSpec(builder)
+        builder.warmUpCount = 2
+        builder.invocationCount = 5
+        builder.invocation {
+            tasksToRun("clean", "compileJava")
+        }
+    }
+}
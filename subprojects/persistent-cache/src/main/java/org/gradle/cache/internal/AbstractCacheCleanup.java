@@ -20,38 +20,103 @@
 import org.gradle.cache.CleanableStore;
 import org.gradle.cache.CleanupAction;
 import org.gradle.cache.CleanupProgressMonitor;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+/**
+ * Deletes the eligible files of a cache that {@link #shouldDelete(File) should be deleted}.
+ *
+ * <p>Eligible files are processed in batches. The files of a batch are checked and deleted in parallel, using a small dedicated thread pool,
+ * as checking involves looking up the access time of each file and large caches have many files.
+ * The progress, the {@link #handleDeletion(File)} callback and the removal of empty parent directories are then handled by the calling thread.</p>
+ */
 public abstract class AbstractCacheCleanup implements CleanupAction {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCacheCleanup.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_THREADS = 4;
 
     private final FilesFinder eligibleFilesFinder;
+    private final ExecutorFactory executorFactory;
 
-    public AbstractCacheCleanup(FilesFinder eligibleFilesFinder) {
+    public AbstractCacheCleanup(FilesFinder eligibleFilesFinder, ExecutorFactory executorFactory) {
         this.eligibleFilesFinder = eligibleFilesFinder;
+        this.executorFactory = executorFactory;
     }
 
     @Override
     public void clean(CleanableStore cleanableStore, CleanupProgressMonitor progressMonitor) {
         int filesDeleted = 0;
-        for (File file : findEligibleFiles(cleanableStore)) {
-            if (shouldDelete(file)) {
-                progressMonitor.incrementDeleted();
-                if (FileUtils.deleteQuietly(file)) {
-                    handleDeletion(file);
-                    filesDeleted += 1 + deleteEmptyParentDirectories(cleanableStore.getBaseDir(), file.getParentFile());
+        ManagedExecutor executor = executorFactory.create(cleanableStore.getDisplayName() + " cleanup", Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<File> batch = new ArrayList<>(BATCH_SIZE);
+            for (File file : findEligibleFiles(cleanableStore)) {
+                batch.add(file);
+                if (batch.size() == BATCH_SIZE) {
+                    filesDeleted += cleanBatch(cleanableStore, batch, executor, progressMonitor);
+                    batch.clear();
                 }
-            } else {
-                progressMonitor.incrementSkipped();
             }
+            filesDeleted += cleanBatch(cleanableStore, batch, executor, progressMonitor);
+        } finally {
+            executor.stop();
         }
         LOGGER.debug("{} cleanup deleted {} files/directories.", cleanableStore.getDisplayName(), filesDeleted);
     }
 
+    private int cleanBatch(CleanableStore cleanableStore, List<File> batch, ManagedExecutor executor, CleanupProgressMonitor progressMonitor) {
+        List<Future<Outcome>> outcomes = new ArrayList<>(batch.size());
+        for (File file : batch) {
+            outcomes.add(executor.submit(() -> deleteIfNecessary(file)));
+        }
+        int filesDeleted = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            File file = batch.get(i);
+            switch (outcomeOf(outcomes.get(i))) {
+                case DELETED:
+                    progressMonitor.incrementDeleted();
+                    handleDeletion(file);
+                    filesDeleted += 1 + deleteEmptyParentDirectories(cleanableStore.getBaseDir(), file.getParentFile());
+                    break;
+                case NOT_DELETED:
+                    progressMonitor.incrementDeleted();
+                    break;
+                case SKIPPED:
+                    progressMonitor.incrementSkipped();
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+        }
+        return filesDeleted;
+    }
+
+    private static Outcome outcomeOf(Future<Outcome> outcome) {
+        try {
+            return outcome.get();
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        }
+    }
+
+    private Outcome deleteIfNecessary(File file) {
+        if (!shouldDelete(file)) {
+            return Outcome.SKIPPED;
+        }
+        return FileUtils.deleteQuietly(file) ? Outcome.DELETED : Outcome.NOT_DELETED;
+    }
+
     protected int deleteEmptyParentDirectories(File baseDir, File dir) {
         if (dir.equals(baseDir)) {
             return 0;
@@ -64,6 +129,9 @@ protected int deleteEmptyParentDirectories(File baseDir, File dir) {
         return 0;
     }
 
+    /**
+     * Returns true when the given file should be deleted. May be called concurrently for different files.
+     */
     protected abstract boolean shouldDelete(File file);
 
     protected abstract void handleDeletion(File file);
@@ -72,4 +140,8 @@ private Iterable<File> findEligibleFiles(CleanableStore cleanableStore) {
         return eligibleFilesFinder.find(cleanableStore.getBaseDir(), new NonReservedFileFilter(cleanableStore.getReservedCacheFiles()));
     }
 
+    private enum Outcome {
+        DELETED, NOT_DELETED, SKIPPED
+    }
+
 }
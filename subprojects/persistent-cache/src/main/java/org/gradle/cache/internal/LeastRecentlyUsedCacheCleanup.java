@@ -18,6 +18,7 @@
 
 import org.gradle.cache.CleanableStore;
 import org.gradle.cache.CleanupProgressMonitor;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.file.FileAccessTimeJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,8 +39,8 @@ public class LeastRecentlyUsedCacheCleanup extends AbstractCacheCleanup {
     private final FileAccessTimeJournal journal;
     private final long minimumTimestamp;
 
-    public LeastRecentlyUsedCacheCleanup(FilesFinder eligibleFilesFinder, FileAccessTimeJournal journal, long numberOfDays) {
-        super(eligibleFilesFinder);
+    public LeastRecentlyUsedCacheCleanup(FilesFinder eligibleFilesFinder, FileAccessTimeJournal journal, long numberOfDays, ExecutorFactory executorFactory) {
+        super(eligibleFilesFinder, executorFactory);
         this.journal = journal;
         this.minimumTimestamp = Math.max(0, System.currentTimeMillis() - TimeUnit.DAYS.toMillis(numberOfDays));
     }
@@ -21,6 +21,7 @@
 import org.apache.commons.io.filefilter.RegexFileFilter;
 import org.gradle.cache.CleanableStore;
 import org.gradle.cache.CleanupProgressMonitor;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.util.GradleVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,12 +49,12 @@ public class UnusedVersionsCacheCleanup extends AbstractCacheCleanup {
 
     private Set<CacheVersion> usedVersions;
 
-    public static UnusedVersionsCacheCleanup create(String cacheName, CacheVersionMapping cacheVersionMapping, UsedGradleVersions usedGradleVersions) {
+    public static UnusedVersionsCacheCleanup create(String cacheName, CacheVersionMapping cacheVersionMapping, UsedGradleVersions usedGradleVersions, ExecutorFactory executorFactory) {
         Pattern cacheNamePattern = Pattern.compile('^' + Pattern.quote(cacheName) + "-((?:\\d+" + Pattern.quote(CacheVersion.COMPONENT_SEPARATOR) + ")*\\d+)$");
-        return new UnusedVersionsCacheCleanup(cacheNamePattern, cacheVersionMapping, usedGradleVersions);
+        return new UnusedVersionsCacheCleanup(cacheNamePattern, cacheVersionMapping, usedGradleVersions, executorFactory);
     }
 
-    private UnusedVersionsCacheCleanup(final Pattern cacheNamePattern, CacheVersionMapping cacheVersionMapping, UsedGradleVersions usedGradleVersions) {
+    private UnusedVersionsCacheCleanup(final Pattern cacheNamePattern, CacheVersionMapping cacheVersionMapping, UsedGradleVersions usedGradleVersions, ExecutorFactory executorFactory) {
         super(new FilesFinder() {
             @Override
             public Iterable<File> find(File baseDir, FileFilter filter) {
@@ -62,7 +63,7 @@ public Iterable<File> find(File baseDir, FileFilter filter) {
                 File[] result = baseDir.getParentFile().listFiles(combinedFilter);
                 return result == null ? Collections.<File>emptySet() : Arrays.asList(result);
             }
-        });
+        }, executorFactory);
         this.cacheNamePattern = cacheNamePattern;
         this.cacheVersionMapping = cacheVersionMapping;
         this.usedGradleVersions = usedGradleVersions;
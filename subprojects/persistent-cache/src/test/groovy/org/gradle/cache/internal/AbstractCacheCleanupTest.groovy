@@ -19,6 +19,7 @@ package org.gradle.cache.internal
 import org.gradle.api.specs.Spec
 import org.gradle.cache.CleanableStore
 import org.gradle.cache.CleanupProgressMonitor
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Specification
@@ -31,6 +32,7 @@ class AbstractCacheCleanupTest extends Specification {
         getReservedCacheFiles() >> []
     }
     def progressMonitor = Mock(CleanupProgressMonitor)
+    def executorFactory = Spy(DefaultExecutorFactory)
     def deletedFiles = []
 
     def "deletes non-reserved matching files"() {
@@ -110,6 +112,36 @@ class AbstractCacheCleanupTest extends Specification {
         deletedFiles == [file, parent]
     }
 
+    def "deletes matching files of multiple batches and reports them in order"() {
+        given:
+        def cacheEntries = (1..2500).collect { cacheDir.createFile("entry-$it") }
+        def toDelete = cacheEntries.findAll { it.name.endsWith("0") }
+
+        when:
+        cleanupAction(finder(cacheEntries), { it in toDelete })
+            .clean(cleanableStore, progressMonitor)
+
+        then:
+        250 * progressMonitor.incrementDeleted()
+        2250 * progressMonitor.incrementSkipped()
+        toDelete.every { !it.exists() }
+        (cacheEntries - toDelete).every { it.exists() }
+        deletedFiles == toDelete
+    }
+
+    def "checks files using an executor created by the given executor factory"() {
+        def cacheEntry = temporaryFolder.createFile("1")
+        cleanableStore.getDisplayName() >> "some cache"
+
+        when:
+        cleanupAction(finder([cacheEntry]), { true })
+            .clean(cleanableStore, progressMonitor)
+
+        then:
+        1 * executorFactory.create("some cache cleanup", _)
+        cacheEntry.assertDoesNotExist()
+    }
+
     FilesFinder finder(files) {
         Stub(FilesFinder) {
             find(_, _) >> { baseDir, filter ->
@@ -120,7 +152,7 @@ class AbstractCacheCleanupTest extends Specification {
     }
 
     AbstractCacheCleanup cleanupAction(FilesFinder finder, Spec<File> spec) {
-        new AbstractCacheCleanup(finder) {
+        new AbstractCacheCleanup(finder, executorFactory) {
             @Override
             protected boolean shouldDelete(File file) {
                 return spec.isSatisfiedBy(file)
@@ -18,6 +18,7 @@ package org.gradle.cache.internal
 
 import org.gradle.cache.CleanableStore
 import org.gradle.cache.CleanupProgressMonitor
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.internal.resource.local.ModificationTimeFileAccessTimeJournal
 import org.gradle.internal.time.CountdownTimer
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
@@ -37,7 +38,7 @@ class LeastRecentlyUsedCacheCleanupTest extends Specification {
     def fileAccessTimeJournal = Spy(ModificationTimeFileAccessTimeJournal)
     def progressMonitor = Stub(CleanupProgressMonitor)
     @Subject def cleanupAction = new LeastRecentlyUsedCacheCleanup(
-        new SingleDepthFilesFinder(1), fileAccessTimeJournal, 1)
+        new SingleDepthFilesFinder(1), fileAccessTimeJournal, 1, new DefaultExecutorFactory())
 
     def "finds files to delete when files are old"() {
         given:
@@ -26,6 +26,7 @@
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
 
+import javax.annotation.Nullable;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.util.LinkedHashMap;
@@ -217,66 +218,85 @@ Index build() {
         }
     }
 
-    public class Reader implements Closeable {
-        private final Index index;
-        private final RandomAccessFile dataFile;
+    @Nullable
+    private Index readIndex() {
+        File indexFile = getIndexFile();
+        File outputsFile = getOutputsFile();
 
-        public Reader() {
-            File indexFile = getIndexFile();
-            File outputsFile = getOutputsFile();
+        if (!outputsFile.exists()) {
+            if (indexFile.exists()) {
+                throw new IllegalStateException(String.format("Test outputs data file '%s' does not exist but the index file '%s' does", outputsFile, indexFile));
+            }
+            return null;
+        }
+        if (!indexFile.exists()) {
+            throw new IllegalStateException(String.format("Test outputs data file '%s' exists but the index file '%s' does not", outputsFile, indexFile));
+        }
 
-            if (outputsFile.exists()) {
-                if (!indexFile.exists()) {
-                    throw new IllegalStateException(String.format("Test outputs data file '%s' exists but the index file '%s' does not", outputsFile, indexFile));
-                }
+        Input input;
+        try {
+            input = new Input(new FileInputStream(indexFile));
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
 
-                Input input;
-                try {
-                    input = new Input(new FileInputStream(indexFile));
-                } catch (FileNotFoundException e) {
-                    throw new UncheckedIOException(e);
+        IndexBuilder rootBuilder;
+        try {
+            int numClasses = input.readInt(true);
+            rootBuilder = new IndexBuilder();
+
+            for (int classCounter = 0; classCounter < numClasses; ++classCounter) {
+                long classId = input.readLong(true);
+                IndexBuilder classBuilder = new IndexBuilder();
+
+                int numEntries = input.readInt(true);
+                for (int entryCounter = 0; entryCounter < numEntries; ++entryCounter) {
+                    long testId = input.readLong(true);
+                    Region stdOut = new Region(input.readLong(), input.readLong());
+                    Region stdErr = new Region(input.readLong(), input.readLong());
+                    classBuilder.add(testId, new Index(stdOut, stdErr));
                 }
 
-                IndexBuilder rootBuilder = null;
-                try {
-                    int numClasses = input.readInt(true);
-                    rootBuilder = new IndexBuilder();
-
-                    for (int classCounter = 0; classCounter < numClasses; ++classCounter) {
-                        long classId = input.readLong(true);
-                        IndexBuilder classBuilder = new IndexBuilder();
-
-                        int numEntries = input.readInt(true);
-                        for (int entryCounter = 0; entryCounter < numEntries; ++entryCounter) {
-                            long testId = input.readLong(true);
-                            Region stdOut = new Region(input.readLong(), input.readLong());
-                            Region stdErr = new Region(input.readLong(), input.readLong());
-                            classBuilder.add(testId, new Index(stdOut, stdErr));
-                        }
+                rootBuilder.add(classId, classBuilder.build());
+            }
+        } finally {
+            input.close();
+        }
 
-                        rootBuilder.add(classId, classBuilder.build());
-                    }
-                } finally {
-                    input.close();
-                }
+        return rootBuilder.build();
+    }
 
-                index = rootBuilder.build();
+    public class Reader implements Closeable {
+        private final Index index;
+        private final RandomAccessFile dataFile;
 
+        public Reader() {
+            this(readIndex());
+        }
+
+        private Reader(@Nullable Index index) {
+            this.index = index;
+            if (index != null) {
                 try {
                     dataFile = new RandomAccessFile(getOutputsFile(), "r");
                 } catch (FileNotFoundException e) {
                     throw new UncheckedIOException(e);
                 }
-            } else { // no outputs file
-                if (indexFile.exists()) {
-                    throw new IllegalStateException(String.format("Test outputs data file '%s' does not exist but the index file '%s' does", outputsFile, indexFile));
-                }
-
-                index = null;
+            } else {
                 dataFile = null;
             }
         }
 
+        /**
+         * Creates another reader for the same outputs, which shares the index of this reader.
+         * The index can be large, so this should be preferred over creating a new reader when reading from multiple threads.
+         *
+         * IMPORTANT: return must be closed when done with.
+         */
+        public Reader duplicate() {
+            return new Reader(index);
+        }
+
         @Override
         public void close() throws IOException {
             if (dataFile != null) {
@@ -26,6 +26,7 @@
 public abstract class TestOutputStoreBackedResultsProvider implements TestResultsProvider {
     private final TestOutputStore outputStore;
     private final ConcurrentMap<Thread, TestOutputStore.Reader> readers;
+    private TestOutputStore.Reader firstReader;
 
     public TestOutputStoreBackedResultsProvider(TestOutputStore outputStore) {
         this.outputStore = outputStore;
@@ -40,12 +41,21 @@ private TestOutputStore.Reader getReader() {
         Thread thread = Thread.currentThread();
         TestOutputStore.Reader reader = readers.get(thread);
         if (reader == null) {
-            reader = outputStore.reader();
+            reader = newReader();
             readers.put(thread, reader);
         }
         return reader;
     }
 
+    private synchronized TestOutputStore.Reader newReader() {
+        // Reports are generated by many threads, share the index between them rather than loading it for each thread
+        if (firstReader == null) {
+            firstReader = outputStore.reader();
+            return firstReader;
+        }
+        return firstReader.duplicate();
+    }
+
     @Override
     public void close() throws IOException {
         CompositeStoppable.stoppable(readers.values()).stop();
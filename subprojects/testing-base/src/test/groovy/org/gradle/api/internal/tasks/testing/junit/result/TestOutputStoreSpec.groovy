@@ -76,6 +76,31 @@ class TestOutputStoreSpec extends WorkspaceTest {
         reader.close()
     }
 
+    def "duplicated reader reads the same output independently"() {
+        when:
+        def writer = output.writer()
+        writer.onOutput(1, output(StdOut, "[out-1]"))
+        writer.onOutput(1, 1, output(StdOut, "[out-2]"))
+        writer.onOutput(2, 1, output(StdErr, "[out-3]"))
+        writer.close()
+        def reader = output.reader()
+        def duplicate = reader.duplicate()
+
+        then:
+        collectAllOutput(duplicate, 1, StdOut) == "[out-1][out-2]"
+        collectAllOutput(reader, 2, StdErr) == "[out-3]"
+        collectAllOutput(duplicate, 2, StdErr) == "[out-3]"
+
+        when:
+        reader.close()
+
+        then:
+        collectAllOutput(duplicate, 1, StdOut) == "[out-1][out-2]"
+
+        cleanup:
+        duplicate.close()
+    }
+
     def "non-test output includes all events with the given class id and no method id"() {
         when:
         def writer = output.writer()
@@ -465,6 +465,47 @@ class DefaultTestReportTest extends Specification {
         numThreads << [1, 4]
     }
 
+    @Unroll
+    def "merges results of a class that is visited more than once - #numThreads parallel thread(s)"() {
+        given:
+        report = reportWithMaxThreads(numThreads)
+        def testTestResults = buildResults {
+            testClassResult("org.gradle.Test") {
+                testcase("first") {
+                    duration = 1000
+                }
+            }
+            testClassResult("org.gradle.Other") {
+                testcase("other") {
+                    duration = 1000
+                }
+            }
+            testClassResult("org.gradle.Test") {
+                testcase("second") {
+                    duration = 1000
+                    failure("something failed", "this is the failure")
+                }
+            }
+        }
+
+        when:
+        report.generateReport(testTestResults, reportDir)
+
+        then:
+        def testClassFile = results(reportDir.file('classes/org.gradle.Test.html'))
+        testClassFile.assertHasTests(2)
+        testClassFile.assertHasFailures(1)
+        testClassFile.testDetails('first').assertPassed()
+        testClassFile.testDetails('second').assertFailed()
+
+        def index = results(indexFile)
+        index.assertHasTests(3)
+        index.assertHasFailures(1)
+
+        where:
+        numThreads << [1, 4]
+    }
+
     def reportsOnClassesInDefaultPackage() {
         given:
         report = reportWithMaxThreads(1)
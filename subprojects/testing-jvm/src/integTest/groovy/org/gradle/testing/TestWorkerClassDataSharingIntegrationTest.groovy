@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.testing
+
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.process.internal.worker.child.WorkerClassDataSharing
+import org.gradle.util.GradleVersion
+import org.gradle.util.Requires
+import org.gradle.util.TestPrecondition
+
+@Requires(TestPrecondition.JDK13_OR_LATER)
+class TestWorkerClassDataSharingIntegrationTest extends AbstractIntegrationSpec {
+    def setup() {
+        executer.withArgument("-D${WorkerClassDataSharing.ENABLED_PROPERTY}=true")
+        buildFile << """
+            apply plugin: 'java'
+            ${mavenCentralRepository()}
+            dependencies { testImplementation 'junit:junit:4.13' }
+        """
+        file("src/test/java/SomeTest.java") << """
+            import org.junit.*;
+
+            public class SomeTest {
+                @Test public void ok() {
+                }
+            }
+        """
+        file("src/test/resources/some.properties") << "key=value"
+    }
+
+    def "can run tests from a classes directory when class data sharing is enabled"() {
+        when:
+        succeeds "test"
+
+        then:
+        result.assertTaskExecuted(":test")
+        archives.empty
+
+        when:
+        file("src/test/java/OtherTest.java") << """
+            import org.junit.*;
+
+            public class OtherTest {
+                @Test public void ok() {
+                }
+            }
+        """
+        succeeds "test"
+
+        then:
+        result.assertTaskExecuted(":test")
+        archives.empty
+    }
+
+    def "creates and uses an archive when the test worker classpath contains jars only"() {
+        buildFile << """
+            task testJar(type: Jar) {
+                archiveClassifier = 'tests'
+                from sourceSets.test.output
+            }
+            test {
+                classpath = files(testJar) + configurations.testRuntimeClasspath
+            }
+        """
+
+        when:
+        succeeds "test"
+
+        then:
+        archives.size() == 1
+
+        when:
+        succeeds "test", "--rerun-tasks"
+
+        then:
+        result.assertTaskExecuted(":test")
+        archives.size() == 1
+    }
+
+    private List<File> getArchives() {
+        def archivesDir = executer.gradleUserHomeDir.file("caches/${GradleVersion.current().version}/worker-cds")
+        return (archivesDir.listFiles() ?: []).findAll { it.name.endsWith(".jsa") }
+    }
+}
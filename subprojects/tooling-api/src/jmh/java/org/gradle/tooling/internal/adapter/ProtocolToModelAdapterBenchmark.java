@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.tooling.internal.adapter;
+
+import org.gradle.tooling.model.GradleProject;
+import org.gradle.tooling.model.GradleTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to adapt a large {@link GradleProject} hierarchy and to visit every project and task of the adapted model,
+ * which is what an IDE does when it synchronizes a large build.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ProtocolToModelAdapterBenchmark {
+    private static final int TASKS_PER_PROJECT = 20;
+
+    @Param({"100", "1500"})
+    int projectCount;
+
+    private final ProtocolToModelAdapter adapter = new ProtocolToModelAdapter();
+    private ProjectSource rootProject;
+
+    @Setup
+    public void setup() {
+        rootProject = new ProjectSource(null, ":");
+        // Nest the projects two levels deep
+        ProjectSource parent = rootProject;
+        for (int i = 0; i < projectCount; i++) {
+            if (i % 50 == 0) {
+                parent = new ProjectSource(rootProject, ":group" + i);
+            }
+            new ProjectSource(parent, parent.getPath() + ":project" + i);
+        }
+    }
+
+    @Benchmark
+    public void adaptAndVisitModel(Blackhole blackhole) {
+        GradleProject model = adapter.builder(GradleProject.class).build(rootProject);
+        visit(model, blackhole);
+    }
+
+    private static void visit(GradleProject project, Blackhole blackhole) {
+        blackhole.consume(project.getName());
+        blackhole.consume(project.getPath());
+        for (GradleTask task : project.getTasks()) {
+            blackhole.consume(task.getName());
+            blackhole.consume(task.getPath());
+            blackhole.consume(task.getProject());
+        }
+        for (GradleProject child : project.getChildren()) {
+            visit(child, blackhole);
+        }
+    }
+
+    public static class ProjectSource {
+        private final ProjectSource parent;
+        private final String path;
+        private final List<ProjectSource> children = new ArrayList<ProjectSource>();
+        private final List<TaskSource> tasks = new ArrayList<TaskSource>();
+
+        ProjectSource(ProjectSource parent, String path) {
+            this.parent = parent;
+            this.path = path;
+            if (parent != null) {
+                parent.children.add(this);
+            }
+            for (int i = 0; i < TASKS_PER_PROJECT; i++) {
+                tasks.add(new TaskSource(this, "task" + i));
+            }
+        }
+
+        public String getName() {
+            return path.substring(path.lastIndexOf(':') + 1);
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public ProjectSource getParent() {
+            return parent;
+        }
+
+        public List<ProjectSource> getChildren() {
+            return children;
+        }
+
+        public List<TaskSource> getTasks() {
+            return tasks;
+        }
+    }
+
+    public static class TaskSource {
+        private final ProjectSource project;
+        private final String name;
+
+        TaskSource(ProjectSource project, String name) {
+            this.project = project;
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPath() {
+            return project.getPath() + ":" + name;
+        }
+
+        public ProjectSource getProject() {
+            return project;
+        }
+    }
+}
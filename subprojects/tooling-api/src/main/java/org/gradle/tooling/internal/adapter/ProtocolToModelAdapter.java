@@ -29,6 +29,7 @@
 import java.io.IOException;
 import java.io.Serializable;
 import java.lang.ref.SoftReference;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -46,7 +47,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -157,7 +159,7 @@ private static <T> T createView(Class<T> targetType, Object sourceObject, ViewDe
 
         // Create a proxy
         InvocationHandlerImpl handler = new InvocationHandlerImpl(targetType, sourceObject, decorationsForThisType, graphDetails);
-        Object proxy = Proxy.newProxyInstance(viewType.getClassLoader(), new Class<?>[]{viewType}, handler);
+        Object proxy = graphDetails.newProxy(viewType, handler);
         handler.attachProxy(proxy);
 
         return viewType.cast(proxy);
@@ -325,15 +327,40 @@ public Object unpack(Object viewObject) {
     private static class ViewGraphDetails implements Serializable {
         // Transient, don't serialize all the views that happen to have been visited, recreate them when visited via the deserialized view
         private transient Map<ViewKey, Object> views = new HashMap<ViewKey, Object>();
+        // Transient, the proxy classes are defined again when views are created via the deserialized view
+        private transient Map<Class<?>, Constructor<?>> proxyConstructors = new HashMap<Class<?>, Constructor<?>>();
         private final TargetTypeProvider typeProvider;
 
         ViewGraphDetails(TargetTypeProvider typeProvider) {
             this.typeProvider = typeProvider;
         }
 
+        /**
+         * Creates a proxy for the given view type. The constructor of the proxy class is looked up once per view type, rather than once per view, as a graph usually contains many views of the same type.
+         */
+        Object newProxy(Class<?> viewType, InvocationHandler handler) {
+            Constructor<?> constructor = proxyConstructors.get(viewType);
+            if (constructor == null) {
+                try {
+                    constructor = Proxy.getProxyClass(viewType.getClassLoader(), viewType).getConstructor(InvocationHandler.class);
+                } catch (NoSuchMethodException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+                proxyConstructors.put(viewType, constructor);
+            }
+            try {
+                return constructor.newInstance(handler);
+            } catch (InvocationTargetException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
         private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
             in.defaultReadObject();
             views = new HashMap<ViewKey, Object>();
+            proxyConstructors = new HashMap<Class<?>, Constructor<?>>();
         }
     }
 
@@ -480,8 +507,9 @@ public void invoke(MethodInvocation invocation) throws Throwable {
     }
 
     private static class MethodInvocationCache {
-        private final Map<MethodInvocationKey, Optional<Method>> store = new HashMap<MethodInvocationKey, Optional<Method>>();
-        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // Lookups do not lock, as each view method is looked up at least once per view
+        private final ConcurrentMap<MethodInvocationKey, Optional<Method>> store = new ConcurrentHashMap<MethodInvocationKey, Optional<Method>>();
+        private final Object cleanupLock = new Object();
         private final static long MINIMAL_CLEANUP_INTERVAL = 30000;
 
         // For stats we don't really care about thread safety
@@ -571,33 +599,19 @@ public Method get(MethodInvocation invocation) {
                 name,
                 parameterTypes
             );
-            lock.readLock().lock();
             Optional<Method> cached = store.get(key);
             if (cached == null) {
                 cacheMiss++;
-                lock.readLock().unlock();
-                lock.writeLock().lock();
-                try {
-                    cached = store.get(key);
-                    if (cached == null) {
-                        cached = lookup(owner, name, parameterTypes);
-                        if (cacheMiss % 10 == 0) {
-                            removeDirtyEntries();
-                        }
-                        store.put(key, cached);
-                    }
-                    lock.readLock().lock();
-                } finally {
-                    lock.writeLock().unlock();
+                // Several threads may look up the same method, which is harmless as they find the same method
+                cached = lookup(owner, name, parameterTypes);
+                if (cacheMiss % 10 == 0) {
+                    removeDirtyEntries();
                 }
+                store.put(key, cached);
             } else {
                 cacheHit++;
             }
-            try {
-                return cached.orNull();
-            } finally {
-                lock.readLock().unlock();
-            }
+            return cached.orNull();
         }
 
         /**
@@ -605,20 +619,20 @@ public Method get(MethodInvocation invocation) {
          * 30s.
          */
         private void removeDirtyEntries() {
-            if (!cleanupTimer.hasExpired()) {
-                return;
-            }
-            lock.writeLock().lock();
-            try {
-                for (MethodInvocationKey key : new LinkedList<MethodInvocationKey>(store.keySet())) {
-                    if (key.isDirty()) {
-                        evict++;
-                        store.remove(key);
+            synchronized (cleanupLock) {
+                if (!cleanupTimer.hasExpired()) {
+                    return;
+                }
+                try {
+                    for (MethodInvocationKey key : new LinkedList<MethodInvocationKey>(store.keySet())) {
+                        if (key.isDirty()) {
+                            evict++;
+                            store.remove(key);
+                        }
                     }
+                } finally {
+                    cleanupTimer.reset();
                 }
-            } finally {
-                cleanupTimer.reset();
-                lock.writeLock().unlock();
             }
         }
 
@@ -25,6 +25,7 @@
 import org.gradle.cache.internal.LeastRecentlyUsedCacheCleanup;
 import org.gradle.cache.internal.SingleDepthFilesFinder;
 import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.hash.HashUtil;
 import org.gradle.internal.resource.local.ModificationTimeFileAccessTimeJournal;
@@ -49,13 +50,13 @@ public class DefaultVersionControlRepositoryFactory implements VersionControlRep
     private final PersistentCache vcsWorkingDirCache;
     private final VcsDirectoryLayout directoryLayout;
 
-    public DefaultVersionControlRepositoryFactory(VcsDirectoryLayout directoryLayout, CacheRepository cacheRepository, CleanupActionFactory cleanupActionFactory) {
+    public DefaultVersionControlRepositoryFactory(VcsDirectoryLayout directoryLayout, CacheRepository cacheRepository, CleanupActionFactory cleanupActionFactory, ExecutorFactory executorFactory) {
         this.directoryLayout = directoryLayout;
         this.vcsWorkingDirCache = cacheRepository
             .cache(directoryLayout.getCheckoutDir())
             .withLockOptions(mode(FileLockManager.LockMode.OnDemand))
             .withDisplayName("VCS Checkout Cache")
-            .withCleanup(cleanupActionFactory.create(new LeastRecentlyUsedCacheCleanup(new SingleDepthFilesFinder(1), new ModificationTimeFileAccessTimeJournal(), DEFAULT_MAX_AGE_IN_DAYS_FOR_RECREATABLE_CACHE_ENTRIES)))
+            .withCleanup(cleanupActionFactory.create(new LeastRecentlyUsedCacheCleanup(new SingleDepthFilesFinder(1), new ModificationTimeFileAccessTimeJournal(), DEFAULT_MAX_AGE_IN_DAYS_FOR_RECREATABLE_CACHE_ENTRIES, executorFactory)))
             .open();
     }
 
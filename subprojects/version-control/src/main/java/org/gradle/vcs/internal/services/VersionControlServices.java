@@ -35,6 +35,7 @@
 import org.gradle.initialization.layout.ProjectCacheDir;
 import org.gradle.internal.build.BuildStateRegistry;
 import org.gradle.internal.build.PublicBuildPath;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.scopes.AbstractPluginServiceRegistry;
 import org.gradle.internal.typeconversion.NotationParser;
@@ -113,8 +114,8 @@ NotationParser<String, ModuleIdentifier> createModuleIdParser(ImmutableModuleIde
                 .toComposite();
         }
 
-        VersionControlRepositoryConnectionFactory createVersionControlSystemFactory(VcsDirectoryLayout directoryLayout, CleanupActionFactory cleanupActionFactory, CacheRepository cacheRepository) {
-            return new DefaultVersionControlRepositoryFactory(directoryLayout, cacheRepository, cleanupActionFactory);
+        VersionControlRepositoryConnectionFactory createVersionControlSystemFactory(VcsDirectoryLayout directoryLayout, CleanupActionFactory cleanupActionFactory, CacheRepository cacheRepository, ExecutorFactory executorFactory) {
+            return new DefaultVersionControlRepositoryFactory(directoryLayout, cacheRepository, cleanupActionFactory, executorFactory);
         }
 
         VcsDirectoryLayout createVcsWorkingDirectoryRoot(ProjectCacheDir projectCacheDir) {
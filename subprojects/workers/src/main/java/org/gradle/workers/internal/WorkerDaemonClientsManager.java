@@ -16,6 +16,7 @@
 
 package org.gradle.workers.internal;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 import org.gradle.api.Action;
 import org.gradle.api.Transformer;
@@ -24,6 +25,9 @@
 import org.gradle.api.logging.Logging;
 import org.gradle.initialization.SessionLifecycleListener;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.internal.exceptions.DefaultMultiCauseException;
@@ -37,35 +41,55 @@
 import org.gradle.util.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Comparator.*;
 
 public class WorkerDaemonClientsManager implements Stoppable {
 
+    /**
+     * The number of worker daemons to start up front for each set of fork options that was used in the previous build.
+     * Only daemon-scoped workers are started up front, as session-scoped workers are stopped at the end of each build anyway. Defaults to 0.
+     */
+    public static final String PRESTART_DAEMONS_PROPERTY_KEY = "org.gradle.workers.internal.prestart-daemons";
+
     private static final Logger LOGGER = Logging.getLogger(WorkerDaemonClientsManager.class);
 
     private final Object lock = new Object();
     private final List<WorkerDaemonClient> allClients = new ArrayList<WorkerDaemonClient>();
-    private final List<WorkerDaemonClient> idleClients = new ArrayList<WorkerDaemonClient>();
+    // Idle clients indexed by the parts of the fork options that need to match exactly, so that a lookup only has to check compatible candidates
+    private final Map<PoolKey, List<WorkerDaemonClient>> idleClients = new LinkedHashMap<PoolKey, List<WorkerDaemonClient>>();
+    private final Map<PoolKey, PoolStatistics> poolStatistics = new HashMap<PoolKey, PoolStatistics>();
+    private Map<PoolKey, DaemonForkOptions> forkOptionsUsedInSession = new LinkedHashMap<PoolKey, DaemonForkOptions>();
+    private Map<PoolKey, DaemonForkOptions> forkOptionsUsedInPreviousSession = Collections.emptyMap();
     private final Action<WorkerProcess> workerProcessCleanupAction = new WorkerProcessCleanupAction();
 
     private final WorkerDaemonStarter workerDaemonStarter;
     private final ListenerManager listenerManager;
     private final LoggingManagerInternal loggingManager;
     private final OsMemoryInfo memoryInfo;
+    private final ExecutorFactory executorFactory;
     private final SessionLifecycleListener stopSessionScopeWorkers;
     private final OutputEventListener logLevelChangeEventListener;
     private final WorkerDaemonExpiration workerDaemonExpiration;
     private final MemoryManager memoryManager;
+    private final int prestartCount;
+    private ManagedExecutor prestartExecutor;
+    private boolean stopped;
     private volatile LogLevel currentLogLevel;
 
-    public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo) {
+    public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo, ExecutorFactory executorFactory) {
         this.workerDaemonStarter = workerDaemonStarter;
         this.listenerManager = listenerManager;
         this.loggingManager = loggingManager;
         this.memoryInfo = memoryInfo;
+        this.executorFactory = executorFactory;
+        this.prestartCount = Integer.getInteger(PRESTART_DAEMONS_PROPERTY_KEY, 0);
         this.stopSessionScopeWorkers = new StopSessionScopedWorkers();
         listenerManager.addListener(stopSessionScopeWorkers);
         this.logLevelChangeEventListener = new LogLevelChangeEventListener();
@@ -78,26 +102,40 @@ public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, Liste
 
     // TODO - should supply and check for the same parameters as passed to reserveNewClient()
     public WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions) {
-        return reserveIdleClient(forkOptions, idleClients);
+        synchronized (lock) {
+            PoolKey key = PoolKey.of(forkOptions);
+            forkOptionsUsedInSession.put(key, forkOptions);
+            List<WorkerDaemonClient> candidates = idleClients.get(key);
+            WorkerDaemonClient client = candidates == null ? null : reserveIdleClient(forkOptions, candidates);
+            statisticsFor(key).record(client != null);
+            return client;
+        }
     }
 
+    /**
+     * Reserves the most frequently used compatible client, as it is the one most likely to have loaded and optimized the code that is going to run.
+     */
     WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions, List<WorkerDaemonClient> clients) {
         synchronized (lock) {
+            WorkerDaemonClient selected = null;
             Iterator<WorkerDaemonClient> it = clients.iterator();
             while (it.hasNext()) {
                 WorkerDaemonClient candidate = it.next();
                 if (candidate.isCompatibleWith(forkOptions)) {
-                    it.remove();
                     if (candidate.getLogLevel() != currentLogLevel) {
                         // TODO: Send a message to workers to change their log level rather than stopping
                         LOGGER.info("Log level has changed, stopping idle worker daemon with out-of-date log level.");
+                        it.remove();
                         candidate.stop();
-                    } else {
-                        return candidate;
+                    } else if (selected == null || candidate.getUses() > selected.getUses()) {
+                        selected = candidate;
                     }
                 }
             }
-            return null;
+            if (selected != null) {
+                clients.remove(selected);
+            }
+            return selected;
         }
     }
 
@@ -113,13 +151,20 @@ public WorkerDaemonClient reserveNewClient(DaemonForkOptions forkOptions) {
     public void release(WorkerDaemonClient client) {
         synchronized (lock) {
             if (!client.isFailed()) {
-                idleClients.add(client);
+                idleClients.computeIfAbsent(PoolKey.of(client.getForkOptions()), key -> new ArrayList<WorkerDaemonClient>()).add(client);
             }
         }
     }
 
     @Override
     public void stop() {
+        ManagedExecutor executor;
+        synchronized (lock) {
+            stopped = true;
+            executor = prestartExecutor;
+        }
+        // Do not hold lock while waiting for pending worker daemons to start, as they need the lock to register themselves
+        CompositeStoppable.stoppable(executor).stop();
         synchronized (lock) {
             stopWorkers(allClients);
             allClients.clear();
@@ -142,11 +187,17 @@ private long getTotalPhysicalMemory() {
     /**
      * Select idle daemon clients to stop.
      *
+     * Clients are offered in order of preference for stopping: clients from pools that are rarely reused come first, then less frequently used clients.
+     *
      * @param selectionFunction Gets all idle daemon clients, daemons of returned clients are stopped
      */
     public void selectIdleClientsToStop(Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>> selectionFunction) {
         synchronized (lock) {
-            List<WorkerDaemonClient> sortedClients = CollectionUtils.sort(idleClients, comparingInt(WorkerDaemonClient::getUses));
+            List<WorkerDaemonClient> allIdleClients = new ArrayList<WorkerDaemonClient>();
+            for (List<WorkerDaemonClient> clients : idleClients.values()) {
+                allIdleClients.addAll(clients);
+            }
+            List<WorkerDaemonClient> sortedClients = CollectionUtils.sort(allIdleClients, comparingLong(this::getPoolHits).thenComparingInt(WorkerDaemonClient::getUses));
             List<WorkerDaemonClient> clientsToStop = selectionFunction.transform(new ArrayList<>(sortedClients));
             if (!clientsToStop.isEmpty()) {
                 stopWorkers(clientsToStop);
@@ -154,6 +205,73 @@ public void selectIdleClientsToStop(Transformer<List<WorkerDaemonClient>, List<W
         }
     }
 
+    /**
+     * Returns how often an idle client could be reused for fork options matching the given client.
+     */
+    long getPoolHits(WorkerDaemonClient client) {
+        synchronized (lock) {
+            PoolStatistics statistics = poolStatistics.get(PoolKey.of(client.getForkOptions()));
+            return statistics == null ? 0 : statistics.hits;
+        }
+    }
+
+    private PoolStatistics statisticsFor(PoolKey key) {
+        return poolStatistics.computeIfAbsent(key, k -> new PoolStatistics());
+    }
+
+    private void prestartWorkers() {
+        if (prestartCount <= 0) {
+            return;
+        }
+        List<DaemonForkOptions> toStart = new ArrayList<DaemonForkOptions>();
+        ManagedExecutor executor;
+        synchronized (lock) {
+            if (stopped) {
+                return;
+            }
+            for (Map.Entry<PoolKey, DaemonForkOptions> entry : forkOptionsUsedInPreviousSession.entrySet()) {
+                if (entry.getValue().getKeepAliveMode() != KeepAliveMode.DAEMON) {
+                    continue;
+                }
+                List<WorkerDaemonClient> idle = idleClients.get(entry.getKey());
+                for (int i = idle == null ? 0 : idle.size(); i < prestartCount; i++) {
+                    toStart.add(entry.getValue());
+                }
+            }
+            if (toStart.isEmpty()) {
+                return;
+            }
+            if (prestartExecutor == null) {
+                prestartExecutor = executorFactory.create("Worker daemon prestart");
+            }
+            executor = prestartExecutor;
+        }
+        LOGGER.debug("Starting {} worker daemon(s) for fork options used in the previous build.", toStart.size());
+        for (DaemonForkOptions forkOptions : toStart) {
+            executor.execute(() -> prestartWorker(forkOptions));
+        }
+    }
+
+    private void prestartWorker(DaemonForkOptions forkOptions) {
+        WorkerDaemonClient client;
+        try {
+            client = reserveNewClient(forkOptions);
+        } catch (Exception e) {
+            // The worker will be started again when it is actually required, and fail the build then if it still cannot be started
+            LOGGER.debug("Could not start worker daemon up front.", e);
+            return;
+        }
+        synchronized (lock) {
+            if (stopped) {
+                // Raced with stop(), which may have already stopped all the other clients
+                allClients.remove(client);
+                client.stop();
+                return;
+            }
+        }
+        release(client);
+    }
+
     private void stopWorkers(List<WorkerDaemonClient> clientsToStop) {
         if (clientsToStop.size() > 0) {
             int clientCount = clientsToStop.size();
@@ -166,7 +284,9 @@ private void stopWorkers(List<WorkerDaemonClient> clientsToStop) {
                     failures.add(e);
                 }
             }
-            idleClients.removeAll(clientsToStop);
+            for (List<WorkerDaemonClient> clients : idleClients.values()) {
+                clients.removeAll(clientsToStop);
+            }
             allClients.removeAll(clientsToStop);
             if (!failures.isEmpty()) {
                 if (failures.size() == 1) {
@@ -182,11 +302,20 @@ private void stopWorkers(List<WorkerDaemonClient> clientsToStop) {
 
     private class StopSessionScopedWorkers implements SessionLifecycleListener {
         @Override
-        public void afterStart() { }
+        public void afterStart() {
+            prestartWorkers();
+        }
 
         @Override
         public void beforeComplete() {
             synchronized (lock) {
+                forkOptionsUsedInPreviousSession = forkOptionsUsedInSession;
+                forkOptionsUsedInSession = new LinkedHashMap<PoolKey, DaemonForkOptions>();
+                if (LOGGER.isDebugEnabled()) {
+                    for (Map.Entry<PoolKey, PoolStatistics> entry : poolStatistics.entrySet()) {
+                        LOGGER.debug("Worker daemon pool {}: {}", entry.getKey(), entry.getValue());
+                    }
+                }
                 List<WorkerDaemonClient> sessionScopedClients = CollectionUtils.filter(allClients, client -> client.getKeepAliveMode() == KeepAliveMode.SESSION);
                 stopWorkers(sessionScopedClients);
             }
@@ -218,4 +347,61 @@ public void execute(WorkerProcess workerProcess) {
             }
         }
     }
+
+    /**
+     * The parts of {@link DaemonForkOptions} that have to be equal for a worker daemon to be reused.
+     */
+    private static class PoolKey {
+        private final KeepAliveMode keepAliveMode;
+        private final ClassLoaderStructure classLoaderStructure;
+
+        private PoolKey(KeepAliveMode keepAliveMode, ClassLoaderStructure classLoaderStructure) {
+            this.keepAliveMode = keepAliveMode;
+            this.classLoaderStructure = classLoaderStructure;
+        }
+
+        static PoolKey of(DaemonForkOptions forkOptions) {
+            return new PoolKey(forkOptions.getKeepAliveMode(), forkOptions.getClassLoaderStructure());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PoolKey poolKey = (PoolKey) o;
+            return keepAliveMode == poolKey.keepAliveMode && Objects.equal(classLoaderStructure, poolKey.classLoaderStructure);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(keepAliveMode, classLoaderStructure);
+        }
+
+        @Override
+        public String toString() {
+            return "{keepAliveMode=" + keepAliveMode + ", classLoaderStructure=" + classLoaderStructure + "}";
+        }
+    }
+
+    private static class PoolStatistics {
+        private long hits;
+        private long misses;
+
+        void record(boolean hit) {
+            if (hit) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return hits + " hit(s), " + misses + " miss(es)";
+        }
+    }
 }
@@ -54,6 +54,7 @@ public long attemptToRelease(long memoryAmountBytes) throws IllegalArgumentExcep
      *
      * Use the maximum heap size of each daemon, not their actual memory usage.
      * Expire as much daemons as needed to free the requested memory under the threshold.
+     * Daemons are expired in the order provided by the clients manager, so daemons from pools that are rarely reused go first.
      */
     private class SimpleMemoryExpirationSelector implements Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>> {
 
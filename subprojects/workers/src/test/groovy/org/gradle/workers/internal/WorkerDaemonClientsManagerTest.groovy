@@ -27,20 +27,26 @@ import org.gradle.internal.logging.events.LogLevelChangeEvent
 import org.gradle.internal.logging.events.OutputEventListener
 import org.gradle.internal.service.scopes.Scopes
 import org.gradle.process.internal.ExecException
+import org.gradle.process.internal.JavaForkOptionsInternal
 import org.gradle.process.internal.health.memory.MBeanOsMemoryInfo
 import org.gradle.process.internal.health.memory.MemoryManager
 import org.gradle.util.ConcurrentSpecification
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
 import spock.lang.Subject
 
 class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
-    def options = Stub(DaemonForkOptions)
+    def options = new DaemonForkOptions(Stub(JavaForkOptionsInternal), KeepAliveMode.SESSION, Stub(ClassLoaderStructure))
     def starter = Stub(WorkerDaemonStarter)
     def listenerManager = Stub(ListenerManager)
     def loggingManager = Stub(LoggingManagerInternal)
     def memoryManager = Mock(MemoryManager)
 
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
+
     @Subject
-        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo())
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), executorFactory)
 
     def "does not reserve idle client when no clients"() {
         expect:
@@ -149,7 +155,7 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
 
     def "can stop session-scoped clients"() {
         listenerManager = new DefaultListenerManager(Scopes.BuildSession)
-        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo())
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), executorFactory)
         def client1 = Mock(WorkerDaemonClient)
         def client2 = Mock(WorkerDaemonClient)
         starter.startDaemon(options, _) >>> [client1, client2]
@@ -168,7 +174,7 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
 
     def "Stopping session-scoped clients does not stop other clients"() {
         listenerManager = new DefaultListenerManager(Scopes.BuildSession)
-        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo())
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), executorFactory)
         def client1 = Mock(WorkerDaemonClient)
         def client2 = Mock(WorkerDaemonClient)
         starter.startDaemon(options, _) >>> [client1, client2]
@@ -189,6 +195,7 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         def client = Mock(WorkerDaemonClient) {
             isCompatibleWith(_) >> true
             getLogLevel() >> LogLevel.DEBUG
+            getForkOptions() >> options
         }
         starter.startDaemon(options, _) >> client
 
@@ -210,13 +217,14 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         def client = Mock(WorkerDaemonClient) {
             isCompatibleWith(_) >> true
             getLogLevel() >> LogLevel.INFO
+            getForkOptions() >> options
         }
         starter.startDaemon(options, _) >> client
         loggingManager.addOutputEventListener(_) >> { args -> listener = args[0] }
         loggingManager.getLevel() >> LogLevel.INFO
 
         when:
-        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo())
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), executorFactory)
 
         then:
         listener != null
@@ -237,9 +245,9 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
     }
 
     def "prefers to stop less frequently used idle clients when releasing memory"() {
-        def client1 = Mock(WorkerDaemonClient) { _ * getUses() >> 5 }
-        def client2 = Mock(WorkerDaemonClient) { _ * getUses() >> 1 }
-        def client3 = Mock(WorkerDaemonClient) { _ * getUses() >> 3 }
+        def client1 = Mock(WorkerDaemonClient) { _ * getUses() >> 5; getForkOptions() >> options }
+        def client2 = Mock(WorkerDaemonClient) { _ * getUses() >> 1; getForkOptions() >> options }
+        def client3 = Mock(WorkerDaemonClient) { _ * getUses() >> 3; getForkOptions() >> options }
         starter.startDaemon(options, _) >>> [client1, client2, client3]
         def stopMostPreferredClient = new Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>>() {
             @Override
@@ -267,9 +275,9 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
     }
 
     def "does not stop busy clients when releasing memory"() {
-        def client1 = Mock(WorkerDaemonClient) { _ * getUses() >> 5 }
-        def client2 = Mock(WorkerDaemonClient) { _ * getUses() >> 1 }
-        def client3 = Mock(WorkerDaemonClient) { _ * getUses() >> 3 }
+        def client1 = Mock(WorkerDaemonClient) { _ * getUses() >> 5; getForkOptions() >> options }
+        def client2 = Mock(WorkerDaemonClient) { _ * getUses() >> 1; getForkOptions() >> options }
+        def client3 = Mock(WorkerDaemonClient) { _ * getUses() >> 3; getForkOptions() >> options }
         starter.startDaemon(options, _) >>> [client1, client2, client3]
         def stopAll = new Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>>() {
             @Override
@@ -289,11 +297,128 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         1 * client3.stop()
     }
 
+    def "prefers the most frequently used compatible idle client"() {
+        def rarelyUsed = Stub(WorkerDaemonClient) { isCompatibleWith(_) >> true; getUses() >> 1 }
+        def oftenUsed = Stub(WorkerDaemonClient) { isCompatibleWith(_) >> true; getUses() >> 7 }
+        def input = [rarelyUsed, oftenUsed]
+
+        expect:
+        manager.reserveIdleClient(options, input) == oftenUsed
+        input == [rarelyUsed]
+    }
+
+    def "only considers idle clients with the same class loader structure"() {
+        def otherOptions = new DaemonForkOptions(Stub(JavaForkOptionsInternal), KeepAliveMode.SESSION, Stub(ClassLoaderStructure))
+        def client = Mock(WorkerDaemonClient) {
+            getForkOptions() >> otherOptions
+        }
+        starter.startDaemon(otherOptions, _) >> client
+
+        when:
+        manager.reserveNewClient(otherOptions)
+        manager.release(client)
+
+        then:
+        manager.reserveIdleClient(options) == null
+        0 * client.isCompatibleWith(_)
+    }
+
+    def "prefers to stop idle clients from pools that are rarely reused when releasing memory"() {
+        def otherOptions = new DaemonForkOptions(Stub(JavaForkOptionsInternal), KeepAliveMode.SESSION, Stub(ClassLoaderStructure))
+        def reused = Mock(WorkerDaemonClient) { _ * getUses() >> 1; getForkOptions() >> options; isCompatibleWith(options) >> true; getLogLevel() >> LogLevel.DEBUG }
+        def notReused = Mock(WorkerDaemonClient) { _ * getUses() >> 5; getForkOptions() >> otherOptions }
+        starter.startDaemon(options, _) >> reused
+        starter.startDaemon(otherOptions, _) >> notReused
+        def stopMostPreferredClient = new Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>>() {
+            @Override
+            List<WorkerDaemonClient> transform(List<WorkerDaemonClient> workerDaemonClients) {
+                return workerDaemonClients[0..0]
+            }
+        }
+
+        when:
+        manager.release(manager.reserveNewClient(options))
+        manager.release(manager.reserveIdleClient(options))
+        manager.release(manager.reserveNewClient(otherOptions))
+        manager.selectIdleClientsToStop(stopMostPreferredClient)
+
+        then:
+        1 * notReused.stop()
+        0 * reused.stop()
+    }
+
+    def "starts daemon-scoped worker daemons for fork options used in the previous session when enabled"() {
+        System.setProperty(WorkerDaemonClientsManager.PRESTART_DAEMONS_PROPERTY_KEY, "1")
+        def daemonOptions = new DaemonForkOptions(Stub(JavaForkOptionsInternal), KeepAliveMode.DAEMON, Stub(ClassLoaderStructure))
+        listenerManager = new DefaultListenerManager(Scopes.BuildSession)
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), executorFactory)
+        def sessionListener = listenerManager.getBroadcaster(SessionLifecycleListener)
+        def client = Mock(WorkerDaemonClient) {
+            getForkOptions() >> daemonOptions
+            getKeepAliveMode() >> KeepAliveMode.DAEMON
+        }
+        def prestarted = Mock(WorkerDaemonClient) {
+            getForkOptions() >> daemonOptions
+            getKeepAliveMode() >> KeepAliveMode.DAEMON
+            isCompatibleWith(_) >> true
+            getLogLevel() >> LogLevel.DEBUG
+        }
+        starter.startDaemon(daemonOptions, _) >>> [client, prestarted]
+
+        when:
+        sessionListener.afterStart()
+        assert manager.reserveIdleClient(daemonOptions) == null
+        manager.reserveNewClient(daemonOptions)
+        sessionListener.beforeComplete()
+        sessionListener.afterStart()
+
+        then:
+        poll {
+            assert manager.reserveIdleClient(daemonOptions) == prestarted
+        }
+    }
+
+    def "does not start worker daemons up front for #description"() {
+        if (prestart != null) {
+            System.setProperty(WorkerDaemonClientsManager.PRESTART_DAEMONS_PROPERTY_KEY, prestart)
+        }
+        def forkOptions = new DaemonForkOptions(Stub(JavaForkOptionsInternal), keepAliveMode, Stub(ClassLoaderStructure))
+        def mockStarter = Mock(WorkerDaemonStarter)
+        listenerManager = new DefaultListenerManager(Scopes.BuildSession)
+        manager = new WorkerDaemonClientsManager(mockStarter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), executorFactory)
+        def sessionListener = listenerManager.getBroadcaster(SessionLifecycleListener)
+        def client = Stub(WorkerDaemonClient) {
+            getForkOptions() >> forkOptions
+            getKeepAliveMode() >> keepAliveMode
+        }
+
+        when:
+        sessionListener.afterStart()
+        manager.reserveIdleClient(forkOptions)
+        manager.reserveNewClient(forkOptions)
+
+        then:
+        1 * mockStarter.startDaemon(forkOptions, _) >> client
+
+        when:
+        sessionListener.beforeComplete()
+        sessionListener.afterStart()
+        Thread.sleep(100)
+
+        then:
+        0 * mockStarter.startDaemon(_, _)
+
+        where:
+        description                        | prestart | keepAliveMode
+        "daemon-scoped workers by default" | null     | KeepAliveMode.DAEMON
+        "session-scoped workers"           | "1"      | KeepAliveMode.SESSION
+    }
+
     def "registers/deregisters a worker daemon expiration with the memory manager"() {
         WorkerDaemonExpiration workerDaemonExpiration
 
         when:
-        def manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo())
+        def manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), executorFactory)
 
         then:
         1 * memoryManager.addMemoryHolder(_) >> { args -> workerDaemonExpiration = args[0] }